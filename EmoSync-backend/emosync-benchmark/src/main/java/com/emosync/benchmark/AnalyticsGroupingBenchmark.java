@@ -0,0 +1,46 @@
+package com.emosync.benchmark;
+
+import com.emosync.DTO.response.DataAnalyticsResponseDTO;
+import com.emosync.entity.EmotionDiary;
+import com.emosync.service.serviceImpl.DataAnalyticsServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DataAnalyticsServiceImpl heatmap and trend grouping over the admin dashboard window
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AnalyticsGroupingBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int diaryCount;
+
+    private List<EmotionDiary> diaries;
+    private LocalDate start;
+    private LocalDate end;
+
+    @Setup
+    public void setup() {
+        end = LocalDate.of(2024, 6, 30);
+        start = end.minusDays(29);
+        diaries = BenchmarkData.diaries(diaryCount, start, end);
+    }
+
+    @Benchmark
+    public DataAnalyticsResponseDTO.EmotionHeatmapData heatmap() {
+        return DataAnalyticsServiceImpl.buildEmotionHeatmap(diaries, start, end);
+    }
+
+    @Benchmark
+    public List<DataAnalyticsResponseDTO.EmotionTrendData> trend() {
+        return DataAnalyticsServiceImpl.buildEmotionTrends(diaries, start, end);
+    }
+}
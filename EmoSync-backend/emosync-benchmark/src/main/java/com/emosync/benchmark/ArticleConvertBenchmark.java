@@ -0,0 +1,36 @@
+package com.emosync.benchmark;
+
+import com.emosync.DTO.response.ArticleSimpleResponseDTO;
+import com.emosync.entity.KnowledgeArticle;
+import com.emosync.service.convert.ArticleConvert;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ArticleConvert list mapping for article pages
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ArticleConvertBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int articleCount;
+
+    private List<KnowledgeArticle> articles;
+
+    @Setup
+    public void setup() {
+        articles = BenchmarkData.articles(articleCount);
+    }
+
+    @Benchmark
+    public List<ArticleSimpleResponseDTO> entityListToSimpleResponseList() {
+        return ArticleConvert.entityListToSimpleResponseList(articles);
+    }
+}
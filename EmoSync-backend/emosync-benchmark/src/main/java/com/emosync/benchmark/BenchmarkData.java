@@ -0,0 +1,95 @@
+package com.emosync.benchmark;
+
+import com.emosync.entity.EmotionDiary;
+import com.emosync.entity.KnowledgeArticle;
+import com.emosync.enumClass.EmotionTypeEnum;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Deterministic fixtures shared by the benchmarks
+ */
+public final class BenchmarkData {
+
+    public static final long SEED = 20240501L;
+
+    private static final String[] TRIGGERS = {"work", "sleep", "family", "exam", "weather", "friends", "health"};
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Diaries spread over the given date range, several per day
+     */
+    public static List<EmotionDiary> diaries(int count, LocalDate start, LocalDate end) {
+        Random random = new Random(SEED);
+        String[] emotions = EmotionTypeEnum.getAllEmotionNames();
+        int span = (int) (end.toEpochDay() - start.toEpochDay()) + 1;
+
+        List<EmotionDiary> diaries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDate date = start.plusDays(random.nextInt(span));
+            EmotionDiary diary = new EmotionDiary();
+            diary.setId((long) i + 1);
+            diary.setDiaryDate(date);
+            diary.setMoodScore(1 + random.nextInt(10));
+            diary.setDominantEmotion(emotions[random.nextInt(emotions.length)]);
+            diary.setEmotionTriggers(TRIGGERS[random.nextInt(TRIGGERS.length)]);
+            diary.setDiaryContent("Benchmark diary entry " + i);
+            diary.setSleepQuality(1 + random.nextInt(5));
+            diary.setStressLevel(1 + random.nextInt(5));
+            diary.setCreatedAt(date.atTime(random.nextInt(24), random.nextInt(60)));
+            diaries.add(diary);
+        }
+        return diaries;
+    }
+
+    public static List<KnowledgeArticle> articles(int count) {
+        Random random = new Random(SEED);
+        List<KnowledgeArticle> articles = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDateTime publishedAt = LocalDateTime.of(2024, 1, 1, 8, 0).plusHours(random.nextInt(8000));
+            KnowledgeArticle article = KnowledgeArticle.builder()
+                    .id(new UUID(SEED, i).toString())
+                    .title("Coping with stress, part " + i)
+                    .summary("A short guide to recognising and easing everyday stress.")
+                    .coverImage("https://example.com/cover/" + i + ".jpg")
+                    .tags("stress,anxiety,self-care")
+                    .readCount(random.nextInt(50_000))
+                    .status(1)
+                    .publishedAt(publishedAt)
+                    .build();
+            article.setCreatedAt(publishedAt.minusDays(1));
+            article.setUpdatedAt(publishedAt);
+            articles.add(article);
+        }
+        return articles;
+    }
+
+    /**
+     * Typical model output for emotion analysis, wrapped in a markdown fence
+     */
+    public static String emotionAnalysisReply() {
+        return """
+                ```json
+                {
+                  "primaryEmotion": "Anxious",
+                  "emotionScore": 72,
+                  "isNegative": true,
+                  "riskLevel": 1,
+                  "keywords": ["deadline", "sleep", "pressure", "work"],
+                  "suggestion": "Try to break the work into smaller steps and rest between them.",
+                  "icon": "😰",
+                  "label": "Anxious",
+                  "riskDescription": "Noticeable worry about upcoming work, no crisis signals.",
+                  "improvementSuggestions": ["Take short breaks", "Keep a regular sleep schedule", "Talk to a colleague"],
+                  "timestamp": "2024-05-01T21:15:00Z"
+                }
+                ```""";
+    }
+}
@@ -0,0 +1,143 @@
+package com.emosync.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Runs the JMH benchmarks and records the results.
+ *
+ * Each run writes benchmark-results/results-{timestamp}.json and latest.json, then
+ * compares scores against benchmark-results/baseline.json. A benchmark slower than
+ * the baseline by more than the threshold is reported as a regression.
+ *
+ * Options:
+ *   [regex]                 only run benchmarks matching the regex
+ *   -results-dir dir        results directory (default benchmark-results)
+ *   -threshold 0.10         allowed relative slowdown (default 10%)
+ *   -update-baseline        store this run as the new baseline
+ *   -fail-on-regression     exit with status 1 when a regression is found
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+        String include = BenchmarkRunner.class.getPackageName() + ".*Benchmark";
+        Path resultsDir = Path.of("benchmark-results");
+        double threshold = 0.10;
+        boolean updateBaseline = false;
+        boolean failOnRegression = false;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "-results-dir" -> resultsDir = Path.of(args[++i]);
+                case "-threshold" -> threshold = Double.parseDouble(args[++i]);
+                case "-update-baseline" -> updateBaseline = true;
+                case "-fail-on-regression" -> failOnRegression = true;
+                default -> include = args[i];
+            }
+        }
+
+        Files.createDirectories(resultsDir);
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        Path resultFile = resultsDir.resolve("results-" + timestamp + ".json");
+
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .include(include)
+                .resultFormat(ResultFormatType.JSON)
+                .result(resultFile.toString());
+        new Runner(options.build()).run();
+
+        Files.copy(resultFile, resultsDir.resolve("latest.json"), StandardCopyOption.REPLACE_EXISTING);
+        System.out.println("Results written to " + resultFile.toAbsolutePath());
+
+        Path baselineFile = resultsDir.resolve("baseline.json");
+        int regressions = 0;
+        if (Files.exists(baselineFile)) {
+            regressions = compare(baselineFile, resultFile, threshold);
+        } else {
+            System.out.println("No baseline found at " + baselineFile + ", skipping comparison");
+        }
+
+        if (updateBaseline) {
+            Files.copy(resultFile, baselineFile, StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("Baseline updated: " + baselineFile.toAbsolutePath());
+        }
+        if (failOnRegression && regressions > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Print a baseline comparison, returns the number of regressions
+     */
+    private static int compare(Path baselineFile, Path resultFile, double threshold) throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        Map<String, Score> baseline = readScores(objectMapper.readTree(baselineFile.toFile()));
+        Map<String, Score> current = readScores(objectMapper.readTree(resultFile.toFile()));
+
+        int regressions = 0;
+        System.out.println();
+        System.out.printf("%-90s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (Map.Entry<String, Score> entry : current.entrySet()) {
+            Score now = entry.getValue();
+            Score before = baseline.get(entry.getKey());
+            if (before == null || before.value() == 0 || !before.unit().equals(now.unit())) {
+                System.out.printf("%-90s %14s %10.3f %-3s %9s%n", entry.getKey(), "-", now.value(), now.unit(), "new");
+                continue;
+            }
+            double change = (now.value() - before.value()) / before.value();
+            // For throughput modes a lower score is worse
+            double slowdown = now.higherIsBetter() ? -change : change;
+            boolean regressed = slowdown > threshold;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-90s %10.3f %-3s %10.3f %-3s %+8.1f%%%s%n",
+                    entry.getKey(), before.value(), before.unit(), now.value(), now.unit(),
+                    change * 100, regressed ? "  REGRESSION" : "");
+        }
+        System.out.printf("%n%d regression(s) beyond %.0f%%%n", regressions, threshold * 100);
+        return regressions;
+    }
+
+    private static Map<String, Score> readScores(JsonNode results) {
+        Map<String, Score> scores = new TreeMap<>();
+        for (JsonNode result : results) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText());
+            JsonNode params = result.path("params");
+            if (params.isObject()) {
+                Map<String, String> sorted = new TreeMap<>();
+                Iterator<Map.Entry<String, JsonNode>> fields = params.fields();
+                while (fields.hasNext()) {
+                    Map.Entry<String, JsonNode> field = fields.next();
+                    sorted.put(field.getKey(), field.getValue().asText());
+                }
+                key.append(new LinkedHashMap<>(sorted));
+            }
+            JsonNode metric = result.path("primaryMetric");
+            String mode = result.path("mode").asText();
+            scores.put(key.toString(), new Score(
+                    metric.path("score").asDouble(),
+                    metric.path("scoreUnit").asText(),
+                    "thrpt".equals(mode)));
+        }
+        return scores;
+    }
+
+    private record Score(double value, String unit, boolean higherIsBetter) {
+    }
+}
@@ -0,0 +1,49 @@
+package com.emosync.benchmark;
+
+import com.emosync.ai.CrisisDetector;
+import com.emosync.util.AhoCorasickMatcher;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inline crisis phrase scan (Aho-Corasick over the shipped phrase list) per chat message
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CrisisDetectorBenchmark {
+
+    private AhoCorasickMatcher<Integer> matcher;
+
+    private final String typical = "Work was okay I guess, but I keep thinking about what my manager said in the meeting "
+            + "and I could not sleep well last night";
+
+    private final String crisis = "I have been feeling so empty lately and honestly I want to end my life, "
+            + "nobody would even notice if I was gone";
+
+    @Setup
+    public void setup() throws IOException {
+        try (InputStream in = CrisisDetector.class.getResourceAsStream("/crisis/phrases.txt")) {
+            List<String> lines = new String(in.readAllBytes(), StandardCharsets.UTF_8).lines().toList();
+            matcher = CrisisDetector.buildMatcher(lines);
+        }
+    }
+
+    @Benchmark
+    public List<AhoCorasickMatcher.Match<Integer>> typicalMessage() {
+        return matcher.findAll(typical);
+    }
+
+    @Benchmark
+    public List<AhoCorasickMatcher.Match<Integer>> crisisMessage() {
+        return matcher.findAll(crisis);
+    }
+}
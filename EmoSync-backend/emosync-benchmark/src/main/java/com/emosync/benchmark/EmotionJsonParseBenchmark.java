@@ -0,0 +1,46 @@
+package com.emosync.benchmark;
+
+import com.emosync.ai.AiStructuredOutput;
+import com.emosync.service.serviceImpl.PsychologicalSupportServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cleaning and parsing of the model's emotion analysis reply
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmotionJsonParseBenchmark {
+
+    private ObjectMapper objectMapper;
+    private String reply;
+    private String cleanedReply;
+
+    @Setup
+    public void setup() {
+        objectMapper = new ObjectMapper();
+        reply = BenchmarkData.emotionAnalysisReply();
+        cleanedReply = PsychologicalSupportServiceImpl.stripJsonMarkup(reply);
+    }
+
+    @Benchmark
+    public String cleanJsonString() {
+        return PsychologicalSupportServiceImpl.stripJsonMarkup(reply);
+    }
+
+    @Benchmark
+    public AiStructuredOutput.EmotionAnalysisResult parse() throws Exception {
+        return objectMapper.readValue(cleanedReply, AiStructuredOutput.EmotionAnalysisResult.class);
+    }
+
+    @Benchmark
+    public AiStructuredOutput.EmotionAnalysisResult cleanAndParse() throws Exception {
+        return objectMapper.readValue(PsychologicalSupportServiceImpl.stripJsonMarkup(reply), AiStructuredOutput.EmotionAnalysisResult.class);
+    }
+}
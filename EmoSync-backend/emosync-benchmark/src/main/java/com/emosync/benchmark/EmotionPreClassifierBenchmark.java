@@ -0,0 +1,48 @@
+package com.emosync.benchmark;
+
+import com.emosync.ai.EmotionPreClassifier;
+import com.emosync.config.EmotionPreClassifierConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local lexicon pre-classification of chat messages (runs before any LLM emotion analysis)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmotionPreClassifierBenchmark {
+
+    private EmotionPreClassifier classifier;
+
+    private final String smallTalk = "ok thanks";
+
+    private final String clearEmotion = "I am so happy today, the exam went well and I feel really proud of myself";
+
+    private final String ambiguous = "Work was okay I guess, but I keep thinking about what my manager said and I am not happy about it";
+
+    @Setup
+    public void setup() {
+        classifier = new EmotionPreClassifier(new EmotionPreClassifierConfig(), new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public EmotionPreClassifier.PreClassification smallTalk() {
+        return classifier.classify(smallTalk);
+    }
+
+    @Benchmark
+    public EmotionPreClassifier.PreClassification clearEmotion() {
+        return classifier.classify(clearEmotion);
+    }
+
+    @Benchmark
+    public EmotionPreClassifier.PreClassification ambiguous() {
+        return classifier.classify(ambiguous);
+    }
+}
@@ -0,0 +1,42 @@
+package com.emosync.benchmark;
+
+import com.emosync.DTO.response.EmotionDiaryStatisticsDTO;
+import com.emosync.entity.EmotionDiary;
+import com.emosync.service.serviceImpl.EmotionDiaryServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EmotionDiaryServiceImpl.calculateStatistics over a user's diaries
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmotionStatisticsBenchmark {
+
+    @Param({"7", "30", "365"})
+    public int days;
+
+    private List<EmotionDiary> diaries;
+
+    @Setup
+    public void setup() {
+        LocalDate end = LocalDate.of(2024, 6, 30);
+        // One diary per day, as enforced by the service
+        diaries = BenchmarkData.diaries(days, end.minusDays(days - 1), end);
+        for (int i = 0; i < diaries.size(); i++) {
+            diaries.get(i).setDiaryDate(end.minusDays(i));
+        }
+    }
+
+    @Benchmark
+    public EmotionDiaryStatisticsDTO calculateStatistics() {
+        return EmotionDiaryServiceImpl.calculateStatistics(diaries, days);
+    }
+}
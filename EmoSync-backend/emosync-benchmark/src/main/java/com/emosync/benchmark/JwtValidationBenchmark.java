@@ -0,0 +1,49 @@
+package com.emosync.benchmark;
+
+import com.emosync.config.JwtConfig;
+import com.emosync.util.JwtTokenUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtTokenUtils.validateToken, executed by the authentication filter on every request
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtValidationBenchmark {
+
+    private JwtTokenUtils jwtTokenUtils;
+    private String validToken;
+    private String tamperedToken;
+
+    @Setup
+    public void setup() {
+        JwtConfig jwtConfig = new JwtConfig();
+        jwtConfig.setSecret("MySuperLongAndSecureSecretKey12345678901234567890");
+        jwtConfig.setExpiration(86_400_000L);
+        jwtConfig.setRefreshExpiration(604_800_000L);
+        jwtTokenUtils = new JwtTokenUtils(jwtConfig);
+
+        validToken = jwtTokenUtils.generateToken(42L, "benchmark_user", 1);
+        // Flip one signature character so verification fails
+        char last = validToken.charAt(validToken.length() - 2);
+        tamperedToken = validToken.substring(0, validToken.length() - 2)
+                + (last == 'A' ? 'B' : 'A')
+                + validToken.charAt(validToken.length() - 1);
+    }
+
+    @Benchmark
+    public JwtTokenUtils.TokenValidationResult validToken() {
+        return jwtTokenUtils.validateToken(validToken);
+    }
+
+    @Benchmark
+    public JwtTokenUtils.TokenValidationResult invalidToken() {
+        return jwtTokenUtils.validateToken(tamperedToken);
+    }
+}
@@ -0,0 +1,50 @@
+package com.emosync.benchmark;
+
+import com.emosync.util.HashedNaiveBayes;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process naive Bayes emotion prediction (the local alternative to an LLM emotion analysis call)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LocalEmotionModelBenchmark {
+
+    private static final String[][] CORPUS = {
+            {"Had a wonderful day with friends, laughed a lot and felt really happy", "Happy"},
+            {"I finally finished the project and I am proud and happy about it", "Happy"},
+            {"Feeling low tonight, I miss my family and cried for a while", "Sad"},
+            {"Everything feels heavy and sad since the breakup", "Sad"},
+            {"I can't stop worrying about the exam tomorrow, my heart is racing", "Anxious"},
+            {"Nervous about the interview, I keep imagining everything going wrong", "Anxious"},
+            {"My coworker took credit for my work again and I am furious", "Angry"},
+            {"Quiet evening, read a book and went to bed early", "Peaceful"}
+    };
+
+    private HashedNaiveBayes model;
+
+    private final String message = "Work was okay I guess, but I keep thinking about what my manager said "
+            + "and I am not happy about it";
+
+    @Setup
+    public void setup() {
+        HashedNaiveBayes.Trainer trainer = HashedNaiveBayes.trainer(65536);
+        for (int i = 0; i < 100; i++) {
+            for (String[] sample : CORPUS) {
+                trainer.add(sample[0], sample[1]);
+            }
+        }
+        model = trainer.build(1.0);
+    }
+
+    @Benchmark
+    public HashedNaiveBayes.Prediction predict() {
+        return model.predict(message);
+    }
+}
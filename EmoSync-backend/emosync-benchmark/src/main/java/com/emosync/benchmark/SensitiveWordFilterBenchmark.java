@@ -0,0 +1,50 @@
+package com.emosync.benchmark;
+
+import com.emosync.ai.AiStructuredOutput;
+import com.emosync.ai.SensitiveWordFilter;
+import com.emosync.util.AhoCorasickMatcher;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local sensitive-word screening (folding + Aho-Corasick over the shipped dictionary)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SensitiveWordFilterBenchmark {
+
+    private AhoCorasickMatcher<Integer> matcher;
+
+    private final String clean = "Just wanted to share that my week has been pretty rough, work deadlines and not sleeping well, "
+            + "but I am trying to stay positive and do a bit of exercise every morning.";
+
+    private final String obfuscated = "Honestly this advice is total sh1t, F.u.c.k this, visit our \uFF4F\uFF4E\uFF4C\uFF49\uFF4E\uFF45 casino "
+            + "and earn money fast";
+
+    @Setup
+    public void setup() throws IOException {
+        try (InputStream in = SensitiveWordFilter.class.getResourceAsStream("/sensitive/words.txt")) {
+            List<String> lines = new String(in.readAllBytes(), StandardCharsets.UTF_8).lines().toList();
+            matcher = SensitiveWordFilter.buildMatcher(lines);
+        }
+    }
+
+    @Benchmark
+    public AiStructuredOutput.SensitiveWordResult cleanText() {
+        return SensitiveWordFilter.check(matcher, clean, '*');
+    }
+
+    @Benchmark
+    public AiStructuredOutput.SensitiveWordResult obfuscatedText() {
+        return SensitiveWordFilter.check(matcher, obfuscated, '*');
+    }
+}
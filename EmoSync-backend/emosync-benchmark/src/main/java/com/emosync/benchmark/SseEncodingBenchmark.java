@@ -0,0 +1,43 @@
+package com.emosync.benchmark;
+
+import com.emosync.ai.ChatSseEvents;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.codec.ServerSentEvent;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-fragment SSE encoding of the chat stream
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SseEncodingBenchmark {
+
+    private ChatSseEvents chatSseEvents;
+
+    /** Typical single-token fragment */
+    private final String fragment = " understand";
+
+    /** Fragment carrying a risk marker */
+    private final String riskFragment = "⚠️ If you are thinking about hurting yourself, please reach out now.";
+
+    @Setup
+    public void setup() {
+        chatSseEvents = new ChatSseEvents(new ObjectMapper());
+    }
+
+    @Benchmark
+    public ServerSentEvent<String> messageEvent() {
+        return chatSseEvents.message(fragment);
+    }
+
+    @Benchmark
+    public ServerSentEvent<String> riskEvent() {
+        return chatSseEvents.message(riskFragment);
+    }
+}
@@ -0,0 +1,25 @@
+package com.emosync.Result;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Keyset (cursor) page: pass nextCursor back to load the following window
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPageResult<T> implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private List<T> records;
+
+    // Cursor for the next window, null when there is nothing more to load
+    private String nextCursor;
+
+    private boolean hasMore;
+}
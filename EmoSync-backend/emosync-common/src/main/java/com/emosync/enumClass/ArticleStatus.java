@@ -11,7 +11,10 @@ public enum ArticleStatus {
 
     DRAFT(0, "Draft"),
     PUBLISHED(1, "Published"),
-    OFFLINE(2, "Offline");
+    OFFLINE(2, "Offline"),
+    PENDING_AUDIT(3, "Pending Audit"),
+    REJECTED(4, "Rejected"),
+    PENDING_REVIEW(5, "Pending Review");
 
     private final Integer code;
     private final String description;
@@ -49,7 +52,7 @@ public enum ArticleStatus {
      * Can publish
      */
     public boolean canPublish() {
-        return this == DRAFT || this == OFFLINE;
+        return this == DRAFT || this == OFFLINE || this == REJECTED || this == PENDING_REVIEW;
     }
 
     /**
@@ -59,10 +62,17 @@ public enum ArticleStatus {
         return this == PUBLISHED;
     }
 
+    /**
+     * Set by the content audit only, never requested directly
+     */
+    public boolean isAuditState() {
+        return this == PENDING_AUDIT || this == REJECTED || this == PENDING_REVIEW;
+    }
+
     /**
      * Can edit
      */
     public boolean canEdit() {
-        return this == DRAFT || this == OFFLINE;
+        return this == DRAFT || this == OFFLINE || this == REJECTED || this == PENDING_REVIEW;
     }
 }
\ No newline at end of file
@@ -0,0 +1,253 @@
+package com.emosync.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aho-Corasick multi-pattern matcher.
+ *
+ * Patterns are compiled into a dense automaton over the characters that occur in
+ * them, so a scan costs one table lookup per input character regardless of how many
+ * patterns there are. Matching is case-insensitive, any run of whitespace matches a
+ * single space, and with wholeWords a match must start and end on a word boundary
+ * ("die" does not match "diet"). Instances are immutable and thread-safe.
+ */
+public final class AhoCorasickMatcher<T> {
+
+    /**
+     * One occurrence; start/end are indexes into the scanned text (end exclusive)
+     */
+    public record Match<T>(int start, int end, String pattern, T value) {
+    }
+
+    private final boolean wholeWords;
+    private final String[] patterns;
+    private final List<T> values;
+
+    /** char -> alphabet class; 0 means the char occurs in no pattern */
+    private final short[] charClass;
+    private final int alphabetSize;
+
+    /** state * alphabetSize + class -> next state */
+    private final int[] transitions;
+
+    /** state -> indexes of the patterns ending in it (suffix outputs included) */
+    private final int[][] outputs;
+
+    private final int maxPatternLength;
+
+    private AhoCorasickMatcher(List<String> patternList, List<T> valueList, boolean wholeWords) {
+        this.wholeWords = wholeWords;
+        this.patterns = patternList.toArray(new String[0]);
+        this.values = List.copyOf(valueList);
+
+        // Alphabet: only characters that appear in patterns get a column
+        this.charClass = new short[Character.MAX_VALUE + 1];
+        int classes = 1;
+        int longest = 0;
+        for (String pattern : patterns) {
+            longest = Math.max(longest, pattern.length());
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = pattern.charAt(i);
+                if (charClass[c] == 0) {
+                    if (classes == Short.MAX_VALUE) {
+                        throw new IllegalArgumentException("Too many distinct pattern characters");
+                    }
+                    charClass[c] = (short) classes++;
+                }
+            }
+        }
+        this.alphabetSize = classes;
+        this.maxPatternLength = Math.max(1, longest);
+
+        // Trie
+        List<Map<Integer, Integer>> trie = new ArrayList<>();
+        List<List<Integer>> ends = new ArrayList<>();
+        trie.add(new HashMap<>());
+        ends.add(new ArrayList<>());
+        for (int p = 0; p < patterns.length; p++) {
+            int state = 0;
+            for (int i = 0; i < patterns[p].length(); i++) {
+                int c = charClass[patterns[p].charAt(i)];
+                Integer next = trie.get(state).get(c);
+                if (next == null) {
+                    next = trie.size();
+                    trie.get(state).put(c, next);
+                    trie.add(new HashMap<>());
+                    ends.add(new ArrayList<>());
+                }
+                state = next;
+            }
+            ends.get(state).add(p);
+        }
+
+        // Breadth-first failure links, folded straight into a complete transition table
+        int states = trie.size();
+        this.transitions = new int[states * alphabetSize];
+        int[] fail = new int[states];
+        List<List<Integer>> output = new ArrayList<>(ends);
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (Map.Entry<Integer, Integer> edge : trie.get(0).entrySet()) {
+            transitions[edge.getKey()] = edge.getValue();
+            queue.add(edge.getValue());
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            List<Integer> merged = new ArrayList<>(output.get(state));
+            merged.addAll(output.get(fail[state]));
+            output.set(state, merged);
+            for (int c = 1; c < alphabetSize; c++) {
+                Integer next = trie.get(state).get(c);
+                if (next != null) {
+                    fail[next] = transitions[fail[state] * alphabetSize + c];
+                    transitions[state * alphabetSize + c] = next;
+                    queue.add(next);
+                } else {
+                    transitions[state * alphabetSize + c] = transitions[fail[state] * alphabetSize + c];
+                }
+            }
+        }
+        this.outputs = new int[states][];
+        for (int s = 0; s < states; s++) {
+            this.outputs[s] = output.get(s).stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    public int size() {
+        return patterns.length;
+    }
+
+    /**
+     * All matches in text order (by end position)
+     */
+    public List<Match<T>> findAll(CharSequence text) {
+        List<Match<T>> matches = null;
+        // Original index of the last maxPatternLength normalized characters
+        int[] positions = new int[maxPatternLength];
+        int normalized = 0;
+        int state = 0;
+        boolean lastSpace = true;
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = normalize(text.charAt(i));
+            if (c == ' ') {
+                if (lastSpace) {
+                    continue;
+                }
+                lastSpace = true;
+            } else {
+                lastSpace = false;
+            }
+            positions[normalized % maxPatternLength] = i;
+            normalized++;
+
+            state = transitions[state * alphabetSize + charClass[c]];
+            int[] ending = outputs[state];
+            for (int p : ending) {
+                String pattern = patterns[p];
+                int start = positions[(normalized - pattern.length()) % maxPatternLength];
+                if (wholeWords && !onWordBoundary(text, start, i + 1, pattern)) {
+                    continue;
+                }
+                if (matches == null) {
+                    matches = new ArrayList<>();
+                }
+                matches.add(new Match<>(start, i + 1, pattern, values.get(p)));
+            }
+        }
+        return matches == null ? Collections.emptyList() : matches;
+    }
+
+    /**
+     * Whether any pattern occurs in text
+     */
+    public boolean matches(CharSequence text) {
+        return !findAll(text).isEmpty();
+    }
+
+    private static boolean onWordBoundary(CharSequence text, int start, int end, String pattern) {
+        if (isWordChar(pattern.charAt(0)) && start > 0 && isWordChar(text.charAt(start - 1))) {
+            return false;
+        }
+        return !isWordChar(pattern.charAt(pattern.length() - 1)) || end >= text.length() || !isWordChar(text.charAt(end));
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c);
+    }
+
+    static char normalize(char c) {
+        if (Character.isWhitespace(c)) {
+            return ' ';
+        }
+        if (c == '\u2019' || c == '\u2018') {
+            return '\'';
+        }
+        return Character.toLowerCase(c);
+    }
+
+    private static String normalizePattern(String pattern) {
+        StringBuilder result = new StringBuilder(pattern.length());
+        boolean lastSpace = true;
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = normalize(pattern.charAt(i));
+            if (c == ' ') {
+                if (lastSpace) {
+                    continue;
+                }
+                lastSpace = true;
+            } else {
+                lastSpace = false;
+            }
+            result.append(c);
+        }
+        int length = result.length();
+        if (length > 0 && result.charAt(length - 1) == ' ') {
+            result.setLength(length - 1);
+        }
+        return result.toString();
+    }
+
+    public static final class Builder<T> {
+
+        private final List<String> patterns = new ArrayList<>();
+        private final List<T> values = new ArrayList<>();
+        private boolean wholeWords = true;
+
+        private Builder() {
+        }
+
+        /**
+         * Add a pattern; blank patterns are ignored
+         */
+        public Builder<T> add(String pattern, T value) {
+            String normalized = pattern == null ? "" : normalizePattern(pattern);
+            if (!normalized.isEmpty()) {
+                patterns.add(normalized);
+                values.add(value);
+            }
+            return this;
+        }
+
+        /**
+         * Require matches to start and end on word boundaries (default true)
+         */
+        public Builder<T> wholeWords(boolean wholeWords) {
+            this.wholeWords = wholeWords;
+            return this;
+        }
+
+        public AhoCorasickMatcher<T> build() {
+            return new AhoCorasickMatcher<>(patterns, values, wholeWords);
+        }
+    }
+}
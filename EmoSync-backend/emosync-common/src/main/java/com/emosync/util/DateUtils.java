@@ -1,6 +1,7 @@
 package com.emosync.util;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 public class DateUtils {
     /**
@@ -20,4 +21,13 @@ public class DateUtils {
             return LocalDate.of(currentYear, currentMonth - 1, 1);
         }
     }
+
+    /**
+     * Current time truncated to whole seconds, the precision of the schema's DATETIME columns.
+     * Values that are later compared with, or replayed against, the stored column then equal
+     * what the database keeps.
+     */
+    public static LocalDateTime nowSeconds() {
+        return LocalDateTime.now().withNano(0);
+    }
 }
@@ -0,0 +1,209 @@
+package com.emosync.util;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Multinomial naive Bayes text classifier over hashed word unigrams and bigrams.
+ *
+ * Features are hashed into a fixed number of buckets, so the model size depends only
+ * on buckets x labels, never on the vocabulary. Training is a single counting pass;
+ * prediction costs one table lookup per feature and label. Instances are immutable
+ * and thread-safe.
+ */
+public final class HashedNaiveBayes {
+
+    private static final int FORMAT_VERSION = 1;
+
+    /**
+     * Most likely label and its posterior probability
+     */
+    public record Prediction(String label, double probability) {
+    }
+
+    private final String[] labels;
+    private final double[] logPriors;
+    /** label * buckets + bucket -> log P(feature | label) */
+    private final float[] logLikelihoods;
+    private final int buckets;
+
+    private HashedNaiveBayes(String[] labels, double[] logPriors, float[] logLikelihoods, int buckets) {
+        this.labels = labels;
+        this.logPriors = logPriors;
+        this.logLikelihoods = logLikelihoods;
+        this.buckets = buckets;
+    }
+
+    public static Trainer trainer(int buckets) {
+        return new Trainer(buckets);
+    }
+
+    public List<String> labels() {
+        return List.of(labels);
+    }
+
+    public Prediction predict(String text) {
+        int[] features = features(text, buckets);
+        double[] scores = new double[labels.length];
+        double best = Double.NEGATIVE_INFINITY;
+        int bestLabel = 0;
+        for (int l = 0; l < labels.length; l++) {
+            double score = logPriors[l];
+            int offset = l * buckets;
+            for (int feature : features) {
+                score += logLikelihoods[offset + feature];
+            }
+            scores[l] = score;
+            if (score > best) {
+                best = score;
+                bestLabel = l;
+            }
+        }
+        // Softmax relative to the best score
+        double total = 0;
+        for (double score : scores) {
+            total += Math.exp(score - best);
+        }
+        return new Prediction(labels[bestLabel], 1.0 / total);
+    }
+
+    public void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(FORMAT_VERSION);
+        out.writeInt(buckets);
+        out.writeInt(labels.length);
+        for (int l = 0; l < labels.length; l++) {
+            out.writeUTF(labels[l]);
+            out.writeDouble(logPriors[l]);
+        }
+        for (float value : logLikelihoods) {
+            out.writeFloat(value);
+        }
+    }
+
+    public static HashedNaiveBayes readFrom(DataInputStream in) throws IOException {
+        int version = in.readInt();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported model format version: " + version);
+        }
+        int buckets = in.readInt();
+        int labelCount = in.readInt();
+        String[] labels = new String[labelCount];
+        double[] logPriors = new double[labelCount];
+        for (int l = 0; l < labelCount; l++) {
+            labels[l] = in.readUTF();
+            logPriors[l] = in.readDouble();
+        }
+        float[] logLikelihoods = new float[labelCount * buckets];
+        for (int i = 0; i < logLikelihoods.length; i++) {
+            logLikelihoods[i] = in.readFloat();
+        }
+        return new HashedNaiveBayes(labels, logPriors, logLikelihoods, buckets);
+    }
+
+    /**
+     * Hashed unigram and bigram buckets of a text (a feature may repeat)
+     */
+    static int[] features(String text, int buckets) {
+        List<String> tokens = tokenize(text);
+        int[] features = new int[tokens.size() * 2];
+        int count = 0;
+        String previous = null;
+        for (String token : tokens) {
+            features[count++] = Math.floorMod(mix(token.hashCode()), buckets);
+            if (previous != null) {
+                features[count++] = Math.floorMod(mix(previous.hashCode() * 31 + token.hashCode() + 0x9E3779B9), buckets);
+            }
+            previous = token;
+        }
+        return count == features.length ? features : Arrays.copyOf(features, count);
+    }
+
+    private static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        StringBuilder token = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? Character.toLowerCase(text.charAt(i)) : ' ';
+            if (c == '\u2019') {
+                c = '\'';
+            }
+            if (Character.isLetterOrDigit(c) || (c == '\'' && token.length() > 0)) {
+                token.append(c);
+            } else if (token.length() > 0) {
+                tokens.add(token.toString());
+                token.setLength(0);
+            }
+        }
+        return tokens;
+    }
+
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        return h ^ (h >>> 16);
+    }
+
+    public static final class Trainer {
+
+        private final int buckets;
+        private final Map<String, long[]> featureCounts = new LinkedHashMap<>();
+        private final Map<String, long[]> documentCounts = new LinkedHashMap<>();
+        private long documents;
+
+        private Trainer(int buckets) {
+            if (buckets <= 0) {
+                throw new IllegalArgumentException("buckets must be positive");
+            }
+            this.buckets = buckets;
+        }
+
+        public Trainer add(String text, String label) {
+            long[] counts = featureCounts.computeIfAbsent(label, l -> new long[buckets]);
+            for (int feature : features(text, buckets)) {
+                counts[feature]++;
+            }
+            documentCounts.computeIfAbsent(label, l -> new long[1])[0]++;
+            documents++;
+            return this;
+        }
+
+        public long size() {
+            return documents;
+        }
+
+        /**
+         * Build the model with additive (Laplace) smoothing alpha
+         */
+        public HashedNaiveBayes build(double alpha) {
+            if (documents == 0) {
+                throw new IllegalStateException("No training documents");
+            }
+            String[] labels = featureCounts.keySet().toArray(new String[0]);
+            double[] logPriors = new double[labels.length];
+            float[] logLikelihoods = new float[labels.length * buckets];
+            for (int l = 0; l < labels.length; l++) {
+                logPriors[l] = Math.log((double) documentCounts.get(labels[l])[0] / documents);
+                long[] counts = featureCounts.get(labels[l]);
+                long total = 0;
+                for (long count : counts) {
+                    total += count;
+                }
+                double denominator = Math.log(total + alpha * buckets);
+                for (int b = 0; b < buckets; b++) {
+                    logLikelihoods[l * buckets + b] = (float) (Math.log(counts[b] + alpha) - denominator);
+                }
+            }
+            return new HashedNaiveBayes(labels, logPriors, logLikelihoods, buckets);
+        }
+    }
+}
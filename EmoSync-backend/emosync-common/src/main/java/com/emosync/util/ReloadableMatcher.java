@@ -0,0 +1,88 @@
+package com.emosync.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * {@link AhoCorasickMatcher} built from a line-based dictionary resource and rebuilt when
+ * the file changes.
+ *
+ * Owners call {@link #reloadIfChanged()} on a schedule. A new matcher is swapped in only
+ * after it was built successfully, so a broken edit keeps the previous one active.
+ * Resources that are not plain files (e.g. packaged inside the jar) are loaded once.
+ */
+@Slf4j
+public final class ReloadableMatcher<T> {
+
+    private final String name;
+    private final ResourceLoader resourceLoader;
+    private final Supplier<String> location;
+    private final Function<List<String>, AhoCorasickMatcher<T>> builder;
+
+    private volatile AhoCorasickMatcher<T> matcher = AhoCorasickMatcher.<T>builder().build();
+    private volatile long loadedLastModified = -1;
+
+    /**
+     * @param name     used in log messages, e.g. "Crisis phrase list"
+     * @param location resource location, read on every load so configuration changes apply
+     * @param builder  builds the matcher from the resource's lines
+     */
+    public ReloadableMatcher(String name, ResourceLoader resourceLoader, Supplier<String> location,
+                             Function<List<String>, AhoCorasickMatcher<T>> builder) {
+        this.name = name;
+        this.resourceLoader = resourceLoader;
+        this.location = location;
+        this.builder = builder;
+    }
+
+    /**
+     * Matcher currently in use; empty until the first successful load
+     */
+    public AhoCorasickMatcher<T> get() {
+        return matcher;
+    }
+
+    /**
+     * Reload when the underlying file changed since the last load
+     */
+    public void reloadIfChanged() {
+        long lastModified;
+        try {
+            lastModified = resourceLoader.getResource(location.get()).lastModified();
+        } catch (IOException e) {
+            return;
+        }
+        if (lastModified != loadedLastModified) {
+            reload();
+        }
+    }
+
+    /**
+     * Load the resource and swap in a new matcher; the old one stays active on failure
+     */
+    public synchronized void reload() {
+        String current = location.get();
+        Resource resource = resourceLoader.getResource(current);
+        try (InputStream in = resource.getInputStream()) {
+            List<String> lines = new String(in.readAllBytes(), StandardCharsets.UTF_8).lines().toList();
+            AhoCorasickMatcher<T> loaded = builder.apply(lines);
+            matcher = loaded;
+            try {
+                loadedLastModified = resource.lastModified();
+            } catch (IOException e) {
+                loadedLastModified = -1;
+            }
+            log.info("{} loaded from {}, entries: {}", name, current, loaded.size());
+        } catch (Exception e) {
+            log.error("Failed to load {} from {}, keeping {} entries", name, current, matcher.size(), e);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.emosync.datagen;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Prepared INSERT that flushes and commits every batchSize rows
+ */
+final class BatchWriter implements AutoCloseable {
+
+    private final Connection connection;
+    private final PreparedStatement statement;
+    private final int batchSize;
+    private final AtomicLong rowCounter;
+    private int pending;
+
+    BatchWriter(Connection connection, String sql, int batchSize, AtomicLong rowCounter) throws SQLException {
+        this.connection = connection;
+        this.statement = connection.prepareStatement(sql);
+        this.batchSize = batchSize;
+        this.rowCounter = rowCounter;
+    }
+
+    PreparedStatement row() {
+        return statement;
+    }
+
+    /**
+     * Queue the current parameters as one row
+     */
+    void add() throws SQLException {
+        statement.addBatch();
+        if (++pending >= batchSize) {
+            flush();
+        }
+    }
+
+    void flush() throws SQLException {
+        if (pending == 0) {
+            return;
+        }
+        statement.executeBatch();
+        connection.commit();
+        rowCounter.addAndGet(pending);
+        pending = 0;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            flush();
+        } finally {
+            statement.close();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.emosync.datagen;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * State shared by all generator workers
+ */
+final class DataGenContext {
+
+    final DataGenOptions options;
+    final LocalDateTime now = LocalDateTime.now().withNano(0);
+    final String passwordHash;
+
+    /** Next free primary key per table; workers reserve ranges with getAndAdd */
+    final AtomicLong nextUserId;
+    final AtomicLong nextDiaryId;
+    final AtomicLong nextTaskId;
+    final AtomicLong nextSessionId;
+    final AtomicLong nextMessageId;
+    final AtomicLong nextFavoriteId;
+
+    /** Rows written per table */
+    final Map<String, AtomicLong> rowCounts = new LinkedHashMap<>();
+
+    List<String> articleIds;
+    Distributions.Zipf articlePopularity;
+
+    DataGenContext(DataGenOptions options, String passwordHash, Map<String, Long> maxIds) {
+        this.options = options;
+        this.passwordHash = passwordHash;
+        this.nextUserId = new AtomicLong(maxIds.get("user") + 1);
+        this.nextDiaryId = new AtomicLong(maxIds.get("emotion_diary") + 1);
+        this.nextTaskId = new AtomicLong(maxIds.get("ai_analysis_task") + 1);
+        this.nextSessionId = new AtomicLong(maxIds.get("consultation_session") + 1);
+        this.nextMessageId = new AtomicLong(maxIds.get("consultation_message") + 1);
+        this.nextFavoriteId = new AtomicLong(maxIds.get("user_favorite") + 1);
+        for (String table : List.of("user", "knowledge_article", "emotion_diary", "ai_analysis_task",
+                "consultation_session", "consultation_message", "user_favorite")) {
+            rowCounts.put(table, new AtomicLong());
+        }
+    }
+
+    AtomicLong rows(String table) {
+        return rowCounts.get(table);
+    }
+}
@@ -0,0 +1,120 @@
+package com.emosync.datagen;
+
+/**
+ * Dataset generator command line options
+ */
+public class DataGenOptions {
+
+    String jdbcUrl = "jdbc:mysql://localhost:3306/EmoSync_db?useUnicode=true&characterEncoding=utf-8"
+            + "&useSSL=false&serverTimezone=GMT%2b8&allowPublicKeyRetrieval=true";
+    String dbUser = "root";
+    String dbPassword = "rt123456";
+
+    /** Regular users to create */
+    long users = 10_000;
+
+    /** Target diary count across all users (one per user per day at most) */
+    long diaries = 500_000;
+
+    /** Average consultation sessions per user */
+    double sessionsPerUser = 3;
+
+    /** Average messages per session */
+    double messagesPerSession = 12;
+
+    /** Knowledge articles to create */
+    int articles = 2_000;
+
+    /** Average favorites per user */
+    double favoritesPerUser = 4;
+
+    /** Fraction of diaries with a stored AI analysis (and an AI task record) */
+    double aiAnalysisRatio = 0.6;
+
+    /** Days of history to spread data over */
+    int historyDays = 730;
+
+    /** Password for every generated account */
+    String userPassword = "123456";
+
+    int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+    int batchSize = 5_000;
+
+    /** Users per worker task */
+    int chunkSize = 2_000;
+
+    long seed = 42;
+
+    static DataGenOptions parse(String[] args) {
+        DataGenOptions options = new DataGenOptions();
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            switch (arg) {
+                case "--jdbc-url" -> options.jdbcUrl = value(args, ++i, arg);
+                case "--db-user" -> options.dbUser = value(args, ++i, arg);
+                case "--db-password" -> options.dbPassword = value(args, ++i, arg);
+                case "--users" -> options.users = Long.parseLong(value(args, ++i, arg));
+                case "--diaries" -> options.diaries = Long.parseLong(value(args, ++i, arg));
+                case "--sessions-per-user" -> options.sessionsPerUser = Double.parseDouble(value(args, ++i, arg));
+                case "--messages-per-session" -> options.messagesPerSession = Double.parseDouble(value(args, ++i, arg));
+                case "--articles" -> options.articles = Integer.parseInt(value(args, ++i, arg));
+                case "--favorites-per-user" -> options.favoritesPerUser = Double.parseDouble(value(args, ++i, arg));
+                case "--ai-analysis-ratio" -> options.aiAnalysisRatio = Double.parseDouble(value(args, ++i, arg));
+                case "--history-days" -> options.historyDays = Integer.parseInt(value(args, ++i, arg));
+                case "--user-password" -> options.userPassword = value(args, ++i, arg);
+                case "--threads" -> options.threads = Integer.parseInt(value(args, ++i, arg));
+                case "--batch-size" -> options.batchSize = Integer.parseInt(value(args, ++i, arg));
+                case "--chunk-size" -> options.chunkSize = Integer.parseInt(value(args, ++i, arg));
+                case "--seed" -> options.seed = Long.parseLong(value(args, ++i, arg));
+                case "--help", "-h" -> {
+                    printUsage();
+                    System.exit(0);
+                }
+                default -> throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+        if (options.diaries > options.users * options.historyDays) {
+            throw new IllegalArgumentException("--diaries exceeds users x history-days (one diary per user per day)");
+        }
+        return options;
+    }
+
+    /**
+     * JDBC URL with batch rewriting enabled, so a batch becomes one multi-row INSERT
+     */
+    String batchJdbcUrl() {
+        if (jdbcUrl.contains("rewriteBatchedStatements")) {
+            return jdbcUrl;
+        }
+        return jdbcUrl + (jdbcUrl.contains("?") ? "&" : "?") + "rewriteBatchedStatements=true";
+    }
+
+    private static String value(String[] args, int index, String name) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + name);
+        }
+        return args[index];
+    }
+
+    static void printUsage() {
+        System.out.println("""
+                Usage: DataGenerator [options]
+                  --jdbc-url <url>               Target database (default local EmoSync_db)
+                  --db-user <user>               Database user (default root)
+                  --db-password <password>       Database password
+                  --users <n>                    Regular users to create (default 10000)
+                  --diaries <n>                  Target diary rows (default 500000)
+                  --sessions-per-user <avg>      Consultation sessions per user (default 3)
+                  --messages-per-session <avg>   Messages per session (default 12)
+                  --articles <n>                 Knowledge articles (default 2000)
+                  --favorites-per-user <avg>     Favorites per user (default 4)
+                  --ai-analysis-ratio <0..1>     Diaries with AI analysis + task (default 0.6)
+                  --history-days <n>             Days of history (default 730)
+                  --user-password <password>     Password of generated accounts (default 123456)
+                  --threads <n>                  Writer threads (default CPU count)
+                  --batch-size <n>               Rows per JDBC batch (default 5000)
+                  --chunk-size <n>               Users per work unit (default 2000)
+                  --seed <n>                     Random seed (default 42)
+                """);
+    }
+}
@@ -0,0 +1,228 @@
+package com.emosync.datagen;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Synthetic dataset generator.
+ *
+ * Fills an EmoSync database with production-scale, realistically shaped data: users with
+ * log-normal activity, daily diaries with coherent mood/sleep/stress, AI analysis history,
+ * consultation sessions with alternating messages, and power-law article popularity.
+ * Ids are allocated after the current MAX(id) of each table, so it can run against a
+ * database that already holds the seed data.
+ *
+ * <pre>
+ * mvn -pl emosync-datagen package
+ * mvn -pl emosync-datagen exec:java -Dexec.args="--users 1000000 --diaries 50000000 --threads 16"
+ * </pre>
+ */
+public class DataGenerator {
+
+    private static final String[] ARTICLE_TOPICS = {
+            "Anxiety", "Sleep", "Stress", "Loneliness", "Self-esteem", "Mindfulness",
+            "Relationships", "Burnout", "Grief", "Motivation", "Anger", "Gratitude"
+    };
+
+    private static final String[] ARTICLE_FORMATS = {
+            "How to Cope with %s", "Understanding %s", "%s: A Practical Guide",
+            "Five Small Steps Against %s", "What Science Says About %s", "Living Well with %s"
+    };
+
+    public static void main(String[] args) throws Exception {
+        DataGenOptions options = DataGenOptions.parse(args);
+        long started = System.nanoTime();
+
+        Map<String, Long> maxIds = new LinkedHashMap<>();
+        List<Long> categoryIds;
+        Long authorId;
+        try (Connection connection = DriverManager.getConnection(
+                options.batchJdbcUrl(), options.dbUser, options.dbPassword)) {
+            for (String table : List.of("user", "emotion_diary", "ai_analysis_task",
+                    "consultation_session", "consultation_message", "user_favorite")) {
+                maxIds.put(table, queryLong(connection, "SELECT COALESCE(MAX(id), 0) FROM `" + table + "`"));
+            }
+            categoryIds = ensureCategories(connection);
+            authorId = queryNullableLong(connection, "SELECT MIN(id) FROM `user` WHERE user_type = 2");
+        }
+
+        // One hash for every account: BCrypt is deliberately slow, hashing per user would dominate the run
+        String passwordHash = new BCryptPasswordEncoder(10).encode(options.userPassword);
+        DataGenContext context = new DataGenContext(options, passwordHash, maxIds);
+
+        System.out.printf("Generating %,d users, ~%,d diaries, %,d articles with %d threads (seed %d)%n",
+                options.users, options.diaries, options.articles, options.threads, options.seed);
+
+        context.articleIds = writeArticles(context, categoryIds, authorId);
+        context.articlePopularity = new Distributions.Zipf(Math.max(1, context.articleIds.size()), 1.1);
+
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "datagen-progress");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reporter.scheduleAtFixedRate(() -> printProgress(context, started), 5, 5, TimeUnit.SECONDS);
+
+        ExecutorService pool = Executors.newFixedThreadPool(options.threads);
+        try {
+            double diariesPerUser = options.users == 0 ? 0 : (double) options.diaries / options.users;
+            List<Future<Void>> futures = new ArrayList<>();
+            long firstUserId = context.nextUserId.getAndAdd(options.users);
+            for (long offset = 0; offset < options.users; offset += options.chunkSize) {
+                int count = (int) Math.min(options.chunkSize, options.users - offset);
+                futures.add(pool.submit(new UserChunkWriter(context, firstUserId + offset, count, diariesPerUser)));
+            }
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+            reporter.shutdownNow();
+        }
+
+        printProgress(context, started);
+        System.out.println("Done. Generated accounts log in with password '" + options.userPassword + "'.");
+    }
+
+    // ==================== Reference data ====================
+
+    private static List<Long> ensureCategories(Connection connection) throws SQLException {
+        List<Long> ids = queryIds(connection, "SELECT id FROM knowledge_category WHERE status = 1");
+        if (!ids.isEmpty()) {
+            return ids;
+        }
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO knowledge_category (parent_id, category_name, description, sort_order, status) VALUES (0, ?, ?, ?, 1)")) {
+            String[] names = {"Mental Health Basics", "Emotion Management", "Stress Relief", "Interpersonal Relationships"};
+            for (int i = 0; i < names.length; i++) {
+                statement.setString(1, names[i]);
+                statement.setString(2, names[i] + " articles");
+                statement.setInt(3, (i + 1) * 10);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+        return queryIds(connection, "SELECT id FROM knowledge_category WHERE status = 1");
+    }
+
+    private static List<String> writeArticles(DataGenContext context, List<Long> categoryIds, Long authorId) throws SQLException {
+        DataGenOptions options = context.options;
+        SplittableRandom random = new SplittableRandom(options.seed);
+        List<String> ids = new ArrayList<>(options.articles);
+        AtomicLong counter = context.rows("knowledge_article");
+
+        try (Connection connection = DriverManager.getConnection(
+                options.batchJdbcUrl(), options.dbUser, options.dbPassword)) {
+            connection.setAutoCommit(false);
+            try (BatchWriter articles = new BatchWriter(connection,
+                    "INSERT INTO knowledge_article (id, category_id, title, summary, content, tags, author_id, read_count, "
+                            + "status, published_at, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                    options.batchSize, counter)) {
+                for (int i = 0; i < options.articles; i++) {
+                    String id = new UUID(random.nextLong(), random.nextLong()).toString();
+                    String topic = ARTICLE_TOPICS[random.nextInt(ARTICLE_TOPICS.length)];
+                    String title = String.format(ARTICLE_FORMATS[random.nextInt(ARTICLE_FORMATS.length)], topic)
+                            + " #" + (i + 1);
+                    LocalDateTime publishedAt = context.now.minusMinutes(random.nextLong(options.historyDays * 1440L));
+                    double statusRoll = random.nextDouble();
+                    int status = statusRoll < 0.9 ? 1 : (statusRoll < 0.97 ? 0 : 2);
+
+                    PreparedStatement row = articles.row();
+                    row.setString(1, id);
+                    row.setLong(2, categoryIds.get(random.nextInt(categoryIds.size())));
+                    row.setString(3, title);
+                    row.setString(4, "Practical advice about " + topic.toLowerCase() + " in everyday life.");
+                    row.setString(5, articleContent(topic));
+                    row.setString(6, topic.toLowerCase() + ",mental health");
+                    if (authorId != null) {
+                        row.setLong(7, authorId);
+                    } else {
+                        row.setNull(7, Types.BIGINT);
+                    }
+                    row.setInt(8, (int) Math.min(10_000_000, Math.round(Distributions.pareto(random, 1.2) * 20)));
+                    row.setInt(9, status);
+                    row.setTimestamp(10, status == 1 ? Timestamp.valueOf(publishedAt) : null);
+                    row.setTimestamp(11, Timestamp.valueOf(publishedAt));
+                    row.setTimestamp(12, Timestamp.valueOf(publishedAt));
+                    articles.add();
+                    if (status == 1) {
+                        // Only published articles can be favorited
+                        ids.add(id);
+                    }
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static String articleContent(String topic) {
+        return "<p>" + topic + " is something many people experience. This article explains where it comes from "
+                + "and what you can do about it.</p><h3>Recognising the signs</h3><ul><li>Changes in sleep</li>"
+                + "<li>Difficulty concentrating</li><li>Withdrawing from others</li></ul><h3>What helps</h3>"
+                + "<ol><li>Regular routines</li><li>Talking to someone you trust</li><li>Gentle exercise</li>"
+                + "<li>Seeking professional help when needed</li></ol>";
+    }
+
+    // ==================== Helpers ====================
+
+    private static void printProgress(DataGenContext context, long started) {
+        double seconds = (System.nanoTime() - started) / 1e9;
+        long total = 0;
+        StringBuilder line = new StringBuilder(String.format("[%6.0fs]", seconds));
+        for (Map.Entry<String, AtomicLong> entry : context.rowCounts.entrySet()) {
+            long rows = entry.getValue().get();
+            total += rows;
+            line.append(String.format(" %s=%,d", entry.getKey(), rows));
+        }
+        line.append(String.format(" | %,.0f rows/s", total / Math.max(seconds, 0.001)));
+        System.out.println(line);
+    }
+
+    private static long queryLong(Connection connection, String sql) throws SQLException {
+        Long value = queryNullableLong(connection, sql);
+        return value == null ? 0 : value;
+    }
+
+    private static Long queryNullableLong(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            if (!resultSet.next()) {
+                return null;
+            }
+            long value = resultSet.getLong(1);
+            return resultSet.wasNull() ? null : value;
+        }
+    }
+
+    private static List<Long> queryIds(Connection connection, String sql) throws SQLException {
+        List<Long> ids = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            while (resultSet.next()) {
+                ids.add(resultSet.getLong(1));
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,155 @@
+package com.emosync.datagen;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Random distributions used to shape the generated data
+ */
+public final class Distributions {
+
+    /** Emotions by category, ordered roughly by real-world frequency */
+    static final String[] POSITIVE = {"Peaceful", "Happy", "Satisfied", "Grateful", "Hopeful", "Excited", "Love"};
+    static final String[] NEGATIVE = {"Anxious", "Troubled", "Sad", "Lonely", "Disappointed", "Angry", "Fearful", "Desperate"};
+    static final String[] NEUTRAL = {"Thoughtful", "Confused", "Bored", "Nostalgic"};
+
+    /** Relative likelihood of writing a diary / starting a chat at each hour (evening peak) */
+    private static final double[] HOUR_WEIGHTS = {
+            2, 1, 0.5, 0.3, 0.2, 0.3, 0.8, 2, 3, 3, 3, 3,
+            4, 3, 3, 3, 3, 4, 5, 6, 8, 10, 10, 6
+    };
+    private static final double[] HOUR_CDF = cumulative(HOUR_WEIGHTS);
+
+    private Distributions() {
+    }
+
+    /**
+     * Log-normal with median 1, used for per-user activity levels
+     */
+    static double lognormal(SplittableRandom random, double sigma) {
+        return Math.exp(sigma * gaussian(random));
+    }
+
+    /**
+     * Mean of {@link #lognormal} for the given sigma, used to normalise activity
+     */
+    static double lognormalMean(double sigma) {
+        return Math.exp(sigma * sigma / 2);
+    }
+
+    static double gaussian(SplittableRandom random) {
+        // Box-Muller
+        double u1 = 1.0 - random.nextDouble();
+        double u2 = random.nextDouble();
+        return Math.sqrt(-2 * Math.log(u1)) * Math.cos(2 * Math.PI * u2);
+    }
+
+    /**
+     * Poisson-distributed count (Knuth for small means, normal approximation above)
+     */
+    static int poisson(SplittableRandom random, double mean) {
+        if (mean <= 0) {
+            return 0;
+        }
+        if (mean > 30) {
+            return Math.max(0, (int) Math.round(mean + Math.sqrt(mean) * gaussian(random)));
+        }
+        double limit = Math.exp(-mean);
+        double product = random.nextDouble();
+        int count = 0;
+        while (product > limit) {
+            product *= random.nextDouble();
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Pareto value with minimum 1 (heavy-tailed read counts)
+     */
+    static double pareto(SplittableRandom random, double alpha) {
+        return Math.pow(1.0 - random.nextDouble(), -1.0 / alpha);
+    }
+
+    static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    static int eveningHour(SplittableRandom random) {
+        return sample(HOUR_CDF, random);
+    }
+
+    /**
+     * Dominant emotion consistent with the mood score
+     */
+    static String emotionForMood(SplittableRandom random, int moodScore) {
+        String[] pool;
+        double roll = random.nextDouble();
+        if (moodScore >= 7) {
+            pool = roll < 0.85 ? POSITIVE : NEUTRAL;
+        } else if (moodScore <= 4) {
+            pool = roll < 0.85 ? NEGATIVE : NEUTRAL;
+        } else {
+            pool = roll < 0.5 ? NEUTRAL : (roll < 0.75 ? POSITIVE : NEGATIVE);
+        }
+        return pool[zipfIndex(random, pool.length, 1.0)];
+    }
+
+    /**
+     * Small Zipf draw by rejection-free inversion over n items
+     */
+    static int zipfIndex(SplittableRandom random, int n, double exponent) {
+        double total = 0;
+        for (int i = 1; i <= n; i++) {
+            total += 1.0 / Math.pow(i, exponent);
+        }
+        double target = random.nextDouble() * total;
+        for (int i = 1; i <= n; i++) {
+            target -= 1.0 / Math.pow(i, exponent);
+            if (target <= 0) {
+                return i - 1;
+            }
+        }
+        return n - 1;
+    }
+
+    /**
+     * Precomputed Zipf sampler for large populations (article popularity)
+     */
+    static final class Zipf {
+        private final double[] cdf;
+
+        Zipf(int n, double exponent) {
+            double[] weights = new double[n];
+            for (int i = 0; i < n; i++) {
+                weights[i] = 1.0 / Math.pow(i + 1, exponent);
+            }
+            this.cdf = cumulative(weights);
+        }
+
+        int next(SplittableRandom random) {
+            return sample(cdf, random);
+        }
+    }
+
+    private static double[] cumulative(double[] weights) {
+        double[] cdf = new double[weights.length];
+        double sum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            sum += weights[i];
+            cdf[i] = sum;
+        }
+        for (int i = 0; i < cdf.length; i++) {
+            cdf[i] /= sum;
+        }
+        return cdf;
+    }
+
+    private static int sample(double[] cdf, SplittableRandom random) {
+        int index = Arrays.binarySearch(cdf, random.nextDouble());
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return Math.min(index, cdf.length - 1);
+    }
+}
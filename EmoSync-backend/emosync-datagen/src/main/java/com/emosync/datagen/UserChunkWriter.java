@@ -0,0 +1,339 @@
+package com.emosync.datagen;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+
+/**
+ * Generates a contiguous range of users together with everything they own:
+ * diaries, AI analysis tasks, consultation sessions with messages, and favorites.
+ */
+final class UserChunkWriter implements Callable<Void> {
+
+    private static final double ACTIVITY_SIGMA = 1.0;
+
+    private static final String[] TRIGGERS = {
+            "work deadline", "poor sleep", "family argument", "exam", "weather", "friends",
+            "health worries", "money", "commute", "social media", "exercise", "good news"
+    };
+
+    private static final String[] DIARY_SENTENCES = {
+            "Today was long and I felt drained by the evening.",
+            "I managed to finish my tasks and felt a little proud.",
+            "I kept worrying about things I cannot control.",
+            "Had a nice talk with a friend, it helped a lot.",
+            "Couldn't focus at work, my mind kept wandering.",
+            "Went for a walk after dinner and felt calmer.",
+            "Felt lonely at home tonight.",
+            "Slept badly and everything felt harder than it should.",
+            "Something small made me laugh today.",
+            "I am nervous about tomorrow."
+    };
+
+    private static final String[] USER_MESSAGES = {
+            "I don't know why I feel so tired all the time.",
+            "Work has been overwhelming lately.",
+            "I had an argument with my partner and I can't stop thinking about it.",
+            "I feel a bit better than yesterday.",
+            "How can I stop overthinking at night?",
+            "Nobody seems to understand what I'm going through.",
+            "I tried the breathing exercise and it helped a little.",
+            "I'm worried about my exams next week."
+    };
+
+    private static final String[] AI_MESSAGES = {
+            "It sounds like you've been carrying a lot. Would you like to tell me more about what's been happening?",
+            "That must be really hard. It's okay to feel this way, and I'm here to listen.",
+            "Thank you for sharing that with me. What do you think is weighing on you the most right now?",
+            "It's great that you noticed a small improvement. What helped you today?",
+            "One thing that can help at night is writing your thoughts down before bed. Would you like to try it?",
+            "Let's take a slow breath together: in for four seconds, hold for four, and out for six."
+    };
+
+    private static final String[] SESSION_TITLES = {
+            "Feeling stressed", "Trouble sleeping", "Work pressure", "Relationship worries",
+            "Just want to talk", "Exam anxiety", "Feeling low", "Evening check-in"
+    };
+
+    private final DataGenContext context;
+    private final long firstUserId;
+    private final int userCount;
+    private final double diariesPerUser;
+
+    UserChunkWriter(DataGenContext context, long firstUserId, int userCount, double diariesPerUser) {
+        this.context = context;
+        this.firstUserId = firstUserId;
+        this.userCount = userCount;
+        this.diariesPerUser = diariesPerUser;
+    }
+
+    @Override
+    public Void call() throws SQLException {
+        DataGenOptions options = context.options;
+        SplittableRandom random = new SplittableRandom(options.seed * 1_000_003L + firstUserId);
+
+        try (Connection connection = DriverManager.getConnection(
+                options.batchJdbcUrl(), options.dbUser, options.dbPassword)) {
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                // Rows are inserted children-before-parents across batches; keys are generated consistently
+                statement.execute("SET foreign_key_checks = 0");
+                statement.execute("SET unique_checks = 0");
+            }
+
+            int batch = options.batchSize;
+            try (BatchWriter users = new BatchWriter(connection,
+                    "INSERT INTO `user` (id, username, email, password, nickname, gender, birthday, user_type, status, created_at, updated_at) "
+                            + "VALUES (?, ?, ?, ?, ?, ?, ?, 1, 1, ?, ?)", batch, context.rows("user"));
+                 BatchWriter diaries = new BatchWriter(connection,
+                         "INSERT INTO emotion_diary (id, user_id, diary_date, mood_score, dominant_emotion, emotion_triggers, diary_content, "
+                                 + "sleep_quality, stress_level, ai_emotion_analysis, ai_analysis_updated_at, created_at, updated_at) "
+                                 + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", batch, context.rows("emotion_diary"));
+                 BatchWriter tasks = new BatchWriter(connection,
+                         "INSERT INTO ai_analysis_task (id, diary_id, user_id, status, task_type, priority, retry_count, max_retry_count, "
+                                 + "error_message, started_at, completed_at, created_at, updated_at) "
+                                 + "VALUES (?, ?, ?, ?, ?, ?, ?, 3, ?, ?, ?, ?, ?)", batch, context.rows("ai_analysis_task"));
+                 BatchWriter sessions = new BatchWriter(connection,
+                         "INSERT INTO consultation_session (id, user_id, session_title, started_at, last_emotion_analysis, last_emotion_updated_at) "
+                                 + "VALUES (?, ?, ?, ?, ?, ?)", batch, context.rows("consultation_session"));
+                 BatchWriter messages = new BatchWriter(connection,
+                         "INSERT INTO consultation_message (id, session_id, sender_type, message_type, content, emotion_tag, ai_model, created_at) "
+                                 + "VALUES (?, ?, ?, 1, ?, ?, ?, ?)", batch, context.rows("consultation_message"));
+                 BatchWriter favorites = new BatchWriter(connection,
+                         "INSERT INTO user_favorite (id, user_id, article_id, created_at) VALUES (?, ?, ?, ?)",
+                         batch, context.rows("user_favorite"))) {
+
+                for (int i = 0; i < userCount; i++) {
+                    long userId = firstUserId + i;
+                    double activity = Distributions.lognormal(random, ACTIVITY_SIGMA)
+                            / Distributions.lognormalMean(ACTIVITY_SIGMA);
+                    // Most accounts are older; at least 20% of the history window remains after joining
+                    int joinOffset = (int) (options.historyDays * 0.8 * Math.pow(random.nextDouble(), 1.5));
+                    LocalDate joinDate = context.now.toLocalDate().minusDays(options.historyDays - 1L - joinOffset);
+
+                    writeUser(users, random, userId, joinDate);
+                    writeDiaries(diaries, tasks, random, userId, joinDate, activity);
+                    writeSessions(sessions, messages, random, userId, joinDate, activity);
+                    writeFavorites(favorites, random, userId, joinDate, activity);
+                }
+            }
+        }
+        return null;
+    }
+
+    // ==================== Users ====================
+
+    private void writeUser(BatchWriter writer, SplittableRandom random, long userId, LocalDate joinDate) throws SQLException {
+        PreparedStatement row = writer.row();
+        Timestamp createdAt = Timestamp.valueOf(joinDate.atTime(Distributions.eveningHour(random), random.nextInt(60)));
+        row.setLong(1, userId);
+        row.setString(2, "user" + userId);
+        row.setString(3, "user" + userId + "@datagen.emosync.com");
+        row.setString(4, context.passwordHash);
+        row.setString(5, "User " + userId);
+        row.setInt(6, random.nextInt(3));
+        row.setObject(7, LocalDate.of(1970 + random.nextInt(38), 1 + random.nextInt(12), 1 + random.nextInt(28)));
+        row.setTimestamp(8, createdAt);
+        row.setTimestamp(9, createdAt);
+        writer.add();
+    }
+
+    // ==================== Diaries ====================
+
+    private void writeDiaries(BatchWriter diaries, BatchWriter tasks, SplittableRandom random,
+                              long userId, LocalDate joinDate, double activity) throws SQLException {
+        LocalDate today = context.now.toLocalDate();
+        int window = (int) (today.toEpochDay() - joinDate.toEpochDay()) + 1;
+        int target = Math.min(window, (int) Math.round(diariesPerUser * activity));
+        if (target <= 0) {
+            return;
+        }
+        double probability = (double) target / window;
+
+        // Personal baseline and a slow mood cycle make each user's history coherent
+        double baseline = 6 + 1.5 * Distributions.gaussian(random);
+        double cyclePhase = random.nextDouble() * 2 * Math.PI;
+
+        for (LocalDate date = joinDate; !date.isAfter(today); date = date.plusDays(1)) {
+            if (random.nextDouble() >= probability) {
+                continue;
+            }
+            double weekday = date.getDayOfWeek() == DayOfWeek.MONDAY ? -0.5
+                    : (date.getDayOfWeek().getValue() >= 6 ? 0.5 : 0);
+            double cycle = Math.sin(date.toEpochDay() * 2 * Math.PI / 60 + cyclePhase);
+            int mood = Distributions.clamp((int) Math.round(baseline + weekday + cycle
+                    + 1.5 * Distributions.gaussian(random)), 1, 10);
+            int sleep = Distributions.clamp((int) Math.round(3 + (mood - 5.5) / 3
+                    + 0.8 * Distributions.gaussian(random)), 1, 5);
+            int stress = Distributions.clamp((int) Math.round(3 - (mood - 5.5) / 3
+                    + 0.8 * Distributions.gaussian(random)), 1, 5);
+            String emotion = Distributions.emotionForMood(random, mood);
+            LocalDateTime createdAt = date.atTime(Distributions.eveningHour(random), random.nextInt(60), random.nextInt(60));
+            boolean analysed = random.nextDouble() < context.options.aiAnalysisRatio;
+            LocalDateTime analysedAt = createdAt.plusSeconds(3 + random.nextInt(40));
+
+            long diaryId = context.nextDiaryId.getAndIncrement();
+            PreparedStatement row = diaries.row();
+            row.setLong(1, diaryId);
+            row.setLong(2, userId);
+            row.setObject(3, date);
+            row.setInt(4, mood);
+            row.setString(5, emotion);
+            row.setString(6, TRIGGERS[random.nextInt(TRIGGERS.length)]);
+            row.setString(7, DIARY_SENTENCES[random.nextInt(DIARY_SENTENCES.length)]
+                    + " " + DIARY_SENTENCES[random.nextInt(DIARY_SENTENCES.length)]);
+            row.setInt(8, sleep);
+            row.setInt(9, stress);
+            if (analysed) {
+                row.setString(10, analysisJson(emotion, mood, analysedAt));
+                row.setTimestamp(11, Timestamp.valueOf(analysedAt));
+            } else {
+                row.setNull(10, Types.VARCHAR);
+                row.setNull(11, Types.TIMESTAMP);
+            }
+            row.setTimestamp(12, Timestamp.valueOf(createdAt));
+            row.setTimestamp(13, Timestamp.valueOf(analysed ? analysedAt : createdAt));
+            diaries.add();
+
+            if (analysed) {
+                writeTask(tasks, random, diaryId, userId, createdAt, analysedAt);
+            }
+        }
+    }
+
+    private void writeTask(BatchWriter tasks, SplittableRandom random, long diaryId, long userId,
+                           LocalDateTime createdAt, LocalDateTime completedAt) throws SQLException {
+        double roll = random.nextDouble();
+        String status = roll < 0.95 ? "COMPLETED" : (roll < 0.98 ? "FAILED" : "PENDING");
+        String taskType = random.nextDouble() < 0.9 ? "AUTO" : "MANUAL";
+
+        PreparedStatement row = tasks.row();
+        row.setLong(1, context.nextTaskId.getAndIncrement());
+        row.setLong(2, diaryId);
+        row.setLong(3, userId);
+        row.setString(4, status);
+        row.setString(5, taskType);
+        row.setInt(6, "AUTO".equals(taskType) ? 1 : 2);
+        row.setInt(7, "FAILED".equals(status) ? 3 : 0);
+        row.setString(8, "FAILED".equals(status) ? "AI analysis service timeout" : null);
+        row.setTimestamp(9, "PENDING".equals(status) ? null : Timestamp.valueOf(createdAt.plusSeconds(1)));
+        row.setTimestamp(10, "COMPLETED".equals(status) ? Timestamp.valueOf(completedAt) : null);
+        row.setTimestamp(11, Timestamp.valueOf(createdAt));
+        row.setTimestamp(12, Timestamp.valueOf(completedAt));
+        tasks.add();
+    }
+
+    // ==================== Sessions ====================
+
+    private void writeSessions(BatchWriter sessions, BatchWriter messages, SplittableRandom random,
+                               long userId, LocalDate joinDate, double activity) throws SQLException {
+        DataGenOptions options = context.options;
+        int sessionCount = Distributions.poisson(random, options.sessionsPerUser * activity);
+        int window = (int) (context.now.toLocalDate().toEpochDay() - joinDate.toEpochDay()) + 1;
+
+        for (int s = 0; s < sessionCount; s++) {
+            LocalDateTime startedAt = joinDate.plusDays(random.nextInt(window))
+                    .atTime(Distributions.eveningHour(random), random.nextInt(60), random.nextInt(60));
+            int mood = Distributions.clamp((int) Math.round(4.5 + 2 * Distributions.gaussian(random)), 1, 10);
+            String sessionEmotion = Distributions.emotionForMood(random, mood);
+            boolean analysed = random.nextDouble() < 0.7;
+
+            long sessionId = context.nextSessionId.getAndIncrement();
+            PreparedStatement row = sessions.row();
+            row.setLong(1, sessionId);
+            row.setLong(2, userId);
+            row.setString(3, SESSION_TITLES[random.nextInt(SESSION_TITLES.length)]);
+            row.setTimestamp(4, Timestamp.valueOf(startedAt));
+
+            // Two messages per turn: user then assistant
+            int turns = Math.max(1, Distributions.poisson(random, options.messagesPerSession / 2));
+            LocalDateTime messageTime = startedAt;
+            for (int t = 0; t < turns; t++) {
+                messageTime = messageTime.plusSeconds(20 + random.nextInt(180));
+                writeMessage(messages, sessionId, 1, USER_MESSAGES[random.nextInt(USER_MESSAGES.length)],
+                        random.nextDouble() < 0.4 ? sessionEmotion : null, null, messageTime);
+                messageTime = messageTime.plusSeconds(3 + random.nextInt(20));
+                writeMessage(messages, sessionId, 2, AI_MESSAGES[random.nextInt(AI_MESSAGES.length)],
+                        null, "deepseek-chat", messageTime);
+            }
+
+            if (analysed) {
+                row.setString(5, analysisJson(sessionEmotion, mood, messageTime));
+                row.setTimestamp(6, Timestamp.valueOf(messageTime));
+            } else {
+                row.setNull(5, Types.VARCHAR);
+                row.setNull(6, Types.TIMESTAMP);
+            }
+            sessions.add();
+        }
+    }
+
+    private void writeMessage(BatchWriter messages, long sessionId, int senderType, String content,
+                              String emotionTag, String aiModel, LocalDateTime createdAt) throws SQLException {
+        PreparedStatement row = messages.row();
+        row.setLong(1, context.nextMessageId.getAndIncrement());
+        row.setLong(2, sessionId);
+        row.setInt(3, senderType);
+        row.setString(4, content);
+        row.setString(5, emotionTag);
+        row.setString(6, aiModel);
+        row.setTimestamp(7, Timestamp.valueOf(createdAt));
+        messages.add();
+    }
+
+    // ==================== Favorites ====================
+
+    private void writeFavorites(BatchWriter favorites, SplittableRandom random,
+                                long userId, LocalDate joinDate, double activity) throws SQLException {
+        if (context.articleIds.isEmpty()) {
+            return;
+        }
+        int count = Math.min(context.articleIds.size() / 2,
+                Distributions.poisson(random, context.options.favoritesPerUser * activity));
+        int window = (int) (context.now.toLocalDate().toEpochDay() - joinDate.toEpochDay()) + 1;
+        Set<Integer> chosen = new HashSet<>();
+        while (chosen.size() < count) {
+            // Popularity follows a power law over article rank
+            int articleIndex = context.articlePopularity.next(random);
+            if (!chosen.add(articleIndex)) {
+                continue;
+            }
+            PreparedStatement row = favorites.row();
+            row.setLong(1, context.nextFavoriteId.getAndIncrement());
+            row.setLong(2, userId);
+            row.setString(3, context.articleIds.get(articleIndex));
+            row.setTimestamp(4, Timestamp.valueOf(joinDate.plusDays(random.nextInt(window))
+                    .atTime(Distributions.eveningHour(random), random.nextInt(60))));
+            favorites.add();
+        }
+    }
+
+    // ==================== Helpers ====================
+
+    /**
+     * Compact EmotionAnalysisResult JSON consistent with the mood
+     */
+    private static String analysisJson(String emotion, int mood, LocalDateTime at) {
+        boolean negative = mood <= 4;
+        int riskLevel = mood <= 2 ? 2 : (negative ? 1 : 0);
+        return "{\"primaryEmotion\":\"" + emotion + "\",\"emotionScore\":" + (mood * 10)
+                + ",\"isNegative\":" + negative + ",\"riskLevel\":" + riskLevel
+                + ",\"keywords\":[\"" + emotion.toLowerCase() + "\"]"
+                + ",\"suggestion\":\"Take a few minutes for yourself today\""
+                + ",\"icon\":\"\",\"label\":\"" + emotion + "\""
+                + ",\"riskDescription\":\"" + (negative ? "Some negative emotion present" : "Stable emotional state") + "\""
+                + ",\"improvementSuggestions\":[\"Keep a regular sleep schedule\",\"Talk to someone you trust\"]"
+                + ",\"timestamp\":\"" + at + "\"}";
+    }
+}
@@ -0,0 +1,52 @@
+package com.emosync.loadtest;
+
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Simulated administrator refreshing the analytics dashboard
+ */
+public class AdminUser implements Runnable {
+
+    private static final String[][] ANALYTICS = {
+            {"GET /data-analytics/overview", "/data-analytics/overview?days=30"},
+            {"GET /data-analytics/emotion-heatmap", "/data-analytics/emotion-heatmap?days=30"},
+            {"GET /data-analytics/emotion-trend", "/data-analytics/emotion-trend?days=30"},
+            {"GET /data-analytics/consultation-stats", "/data-analytics/consultation-stats?days=30"},
+            {"GET /data-analytics/user-activity", "/data-analytics/user-activity?days=30"}
+    };
+
+    /** Dashboard refresh interval */
+    private static final long REFRESH_INTERVAL_MS = 5000;
+
+    private final ApiClient client;
+    private final LoadTestOptions options;
+    private final Random random;
+    private final long deadlineNanos;
+    private String token;
+
+    public AdminUser(ApiClient client, LoadTestOptions options, long seed, long deadlineNanos) {
+        this.client = client;
+        this.options = options;
+        this.random = new Random(seed);
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    @Override
+    public void run() {
+        while (System.nanoTime() < deadlineNanos && !Thread.currentThread().isInterrupted()) {
+            if (token == null) {
+                ApiClient.ApiResult result = client.post("POST /user/login", "/user/login", null,
+                        Map.of("username", options.adminUsername, "password", options.adminPassword));
+                token = result.ok() && result.data() != null ? result.data().path("token").asText(null) : null;
+                if (token == null) {
+                    VirtualUser.sleep(1000);
+                    continue;
+                }
+            }
+            String[] call = ANALYTICS[random.nextInt(ANALYTICS.length)];
+            client.get(call[0], call[1], token);
+            VirtualUser.sleep(REFRESH_INTERVAL_MS);
+        }
+    }
+}
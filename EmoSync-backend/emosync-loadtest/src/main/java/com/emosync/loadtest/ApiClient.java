@@ -0,0 +1,175 @@
+package com.emosync.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Thin HTTP client for the EmoSync API.
+ * Every call is timed and recorded against its endpoint name.
+ */
+public class ApiClient {
+
+    private static final String SUCCESS_CODE = "200";
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final String apiBase;
+    private final MetricsRegistry metrics;
+
+    public ApiClient(String baseUrl, ObjectMapper objectMapper, MetricsRegistry metrics) {
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+        this.objectMapper = objectMapper;
+        this.apiBase = baseUrl.replaceAll("/+$", "") + "/api";
+        this.metrics = metrics;
+    }
+
+    /**
+     * Response body parsed as Result, null data on failure
+     */
+    public record ApiResult(boolean ok, JsonNode data) {
+    }
+
+    public ApiResult get(String endpoint, String path, String token) {
+        return send(endpoint, request(path, token).GET().build());
+    }
+
+    public ApiResult post(String endpoint, String path, String token, Object body) {
+        return send(endpoint, request(path, token)
+                .header("Content-Type", "application/json")
+                .POST(jsonBody(body))
+                .build());
+    }
+
+    public ApiResult delete(String endpoint, String path, String token) {
+        return send(endpoint, request(path, token).DELETE().build());
+    }
+
+    /**
+     * Multipart POST with a single JSON part (used by registration)
+     */
+    public ApiResult postJsonPart(String endpoint, String path, String partName, Object body) {
+        String boundary = "----emosync" + UUID.randomUUID();
+        String payload = "--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"" + partName + "\"\r\n"
+                + "Content-Type: application/json\r\n\r\n"
+                + toJson(body) + "\r\n"
+                + "--" + boundary + "--\r\n";
+        return send(endpoint, request(path, null)
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofString(payload, StandardCharsets.UTF_8))
+                .build());
+    }
+
+    /**
+     * Consume an SSE chat stream to completion.
+     * Records total stream time under the endpoint and time to first message event
+     * under "{endpoint} (first token)".
+     */
+    public boolean stream(String endpoint, String path, String token, Object body) {
+        HttpRequest httpRequest = request(path, token)
+                .header("Content-Type", "application/json")
+                .header("Accept", "text/event-stream")
+                .timeout(Duration.ofMinutes(2))
+                .POST(jsonBody(body))
+                .build();
+
+        long start = System.nanoTime();
+        long firstToken = -1;
+        boolean httpOk = false;
+        boolean streamOk = false;
+        try {
+            HttpResponse<InputStream> response = httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofInputStream());
+            httpOk = response.statusCode() / 100 == 2;
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(response.body(), StandardCharsets.UTF_8))) {
+                String event = null;
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.startsWith("event:")) {
+                        event = line.substring(6).trim();
+                    } else if (line.isEmpty()) {
+                        if ("message".equals(event) || "risk-warning".equals(event)) {
+                            if (firstToken < 0) {
+                                firstToken = System.nanoTime() - start;
+                            }
+                        } else if ("done".equals(event)) {
+                            streamOk = firstToken >= 0;
+                            break;
+                        }
+                        // "error" and "busy" leave streamOk false
+                        event = null;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            httpOk = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            httpOk = false;
+        }
+        metrics.record(endpoint, System.nanoTime() - start, httpOk, streamOk);
+        if (firstToken >= 0) {
+            metrics.record(endpoint + " (first token)", firstToken, true, true);
+        }
+        return streamOk;
+    }
+
+    private ApiResult send(String endpoint, HttpRequest httpRequest) {
+        long start = System.nanoTime();
+        boolean httpOk = false;
+        boolean businessOk = false;
+        JsonNode data = null;
+        try {
+            HttpResponse<byte[]> response = httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofByteArray());
+            httpOk = response.statusCode() / 100 == 2;
+            if (httpOk && response.body().length > 0) {
+                JsonNode root = objectMapper.readTree(response.body());
+                businessOk = SUCCESS_CODE.equals(root.path("code").asText());
+                data = root.get("data");
+            }
+        } catch (IOException e) {
+            httpOk = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            httpOk = false;
+        }
+        metrics.record(endpoint, System.nanoTime() - start, httpOk, businessOk);
+        return new ApiResult(httpOk && businessOk, data);
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(apiBase + path))
+                .timeout(Duration.ofSeconds(30));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private HttpRequest.BodyPublisher jsonBody(Object body) {
+        return HttpRequest.BodyPublishers.ofString(toJson(body), StandardCharsets.UTF_8);
+    }
+
+    private String toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Failed to serialize request body", e);
+        }
+    }
+}
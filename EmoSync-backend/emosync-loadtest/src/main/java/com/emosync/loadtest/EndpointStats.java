@@ -0,0 +1,79 @@
+package com.emosync.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Latency samples and outcome counts for one endpoint
+ */
+public class EndpointStats {
+
+    private final String name;
+    private long[] latenciesMicros = new long[1024];
+    private int count;
+    private long errors;
+    private long httpErrors;
+
+    public EndpointStats(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Record one request
+     *
+     * @param latencyNanos end-to-end latency
+     * @param httpOk       transport and HTTP status succeeded
+     * @param businessOk   Result code was success
+     */
+    public synchronized void record(long latencyNanos, boolean httpOk, boolean businessOk) {
+        if (count == latenciesMicros.length) {
+            latenciesMicros = Arrays.copyOf(latenciesMicros, count * 2);
+        }
+        latenciesMicros[count++] = latencyNanos / 1000;
+        if (!httpOk) {
+            httpErrors++;
+            errors++;
+        } else if (!businessOk) {
+            errors++;
+        }
+    }
+
+    public synchronized Summary summarize(double seconds) {
+        long[] sorted = Arrays.copyOf(latenciesMicros, count);
+        Arrays.sort(sorted);
+        return new Summary(
+                name,
+                count,
+                seconds > 0 ? count / seconds : 0,
+                percentile(sorted, 0.50),
+                percentile(sorted, 0.99),
+                sorted.length > 0 ? sorted[sorted.length - 1] / 1000.0 : 0,
+                errors,
+                httpErrors,
+                count > 0 ? (double) errors / count : 0
+        );
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1000.0;
+    }
+
+    /**
+     * Per-endpoint report row, latencies in milliseconds
+     */
+    public record Summary(
+            String endpoint,
+            long requests,
+            double throughputPerSec,
+            double p50Ms,
+            double p99Ms,
+            double maxMs,
+            long errors,
+            long httpErrors,
+            double errorRate
+    ) {
+    }
+}
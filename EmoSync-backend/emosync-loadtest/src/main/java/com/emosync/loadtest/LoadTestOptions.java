@@ -0,0 +1,113 @@
+package com.emosync.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Load test command line options
+ */
+public class LoadTestOptions {
+
+    /** Server base URL, without the /api prefix */
+    String baseUrl = "http://localhost:8080";
+
+    /** Number of concurrent virtual users */
+    int users = 20;
+
+    /** Measured run duration */
+    Duration duration = Duration.ofSeconds(60);
+
+    /** Warm-up period excluded from the report */
+    Duration warmup = Duration.ofSeconds(10);
+
+    /** Pause between operations of a single virtual user */
+    Duration thinkTime = Duration.ofMillis(200);
+
+    /** Test account username prefix, accounts are {prefix}{index} */
+    String userPrefix = "loaduser";
+
+    /** Test account password */
+    String password = "123456";
+
+    /** Register missing test accounts before the run */
+    boolean register = false;
+
+    /** Administrator account used for analytics traffic (optional) */
+    String adminUsername;
+    String adminPassword;
+
+    /** Seed for the traffic mix */
+    long seed = 42;
+
+    /** Optional JSON report output */
+    Path reportFile;
+
+    /** Optional server jar to start with the stub-llm profile */
+    Path serverJar;
+
+    /** Extra arguments passed to the started server */
+    String serverArgs = "";
+
+    static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            switch (arg) {
+                case "--base-url" -> options.baseUrl = value(args, ++i, arg);
+                case "--users" -> options.users = Integer.parseInt(value(args, ++i, arg));
+                case "--duration" -> options.duration = Duration.ofSeconds(Long.parseLong(value(args, ++i, arg)));
+                case "--warmup" -> options.warmup = Duration.ofSeconds(Long.parseLong(value(args, ++i, arg)));
+                case "--think-ms" -> options.thinkTime = Duration.ofMillis(Long.parseLong(value(args, ++i, arg)));
+                case "--user-prefix" -> options.userPrefix = value(args, ++i, arg);
+                case "--password" -> options.password = value(args, ++i, arg);
+                case "--register" -> options.register = true;
+                case "--admin-username" -> options.adminUsername = value(args, ++i, arg);
+                case "--admin-password" -> options.adminPassword = value(args, ++i, arg);
+                case "--seed" -> options.seed = Long.parseLong(value(args, ++i, arg));
+                case "--report" -> options.reportFile = Path.of(value(args, ++i, arg));
+                case "--server-jar" -> options.serverJar = Path.of(value(args, ++i, arg));
+                case "--server-args" -> options.serverArgs = value(args, ++i, arg);
+                case "--help", "-h" -> {
+                    printUsage();
+                    System.exit(0);
+                }
+                default -> throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+        if (options.users < 1) {
+            throw new IllegalArgumentException("--users must be at least 1");
+        }
+        return options;
+    }
+
+    boolean hasAdmin() {
+        return adminUsername != null && adminPassword != null;
+    }
+
+    private static String value(String[] args, int index, String name) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + name);
+        }
+        return args[index];
+    }
+
+    static void printUsage() {
+        System.out.println("""
+                Usage: LoadTestRunner [options]
+                  --base-url <url>          Server base URL (default http://localhost:8080)
+                  --users <n>               Concurrent virtual users (default 20)
+                  --duration <seconds>      Measured duration (default 60)
+                  --warmup <seconds>        Warm-up excluded from the report (default 10)
+                  --think-ms <millis>       Pause between operations per user (default 200)
+                  --user-prefix <prefix>    Test account prefix (default loaduser)
+                  --password <password>     Test account password (default 123456)
+                  --register                Register missing test accounts first
+                  --admin-username <name>   Admin account for analytics traffic
+                  --admin-password <pass>   Admin password
+                  --seed <n>                Traffic mix seed (default 42)
+                  --report <file>           Write JSON report
+                  --server-jar <jar>        Start the server with the stub-llm profile
+                  --server-args <args>      Extra server arguments (e.g. datasource URL)
+                """);
+    }
+}
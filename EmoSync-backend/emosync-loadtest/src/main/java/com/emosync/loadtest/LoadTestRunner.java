@@ -0,0 +1,153 @@
+package com.emosync.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EmoSync end-to-end load test.
+ *
+ * Runs a weighted mix of user traffic (login, diary writes, statistics, article
+ * browsing, favorites, chat streams) plus optional admin analytics against a running
+ * server, then prints throughput, p50/p99 latency and error rate per endpoint.
+ * Start the server with the stub-llm profile (or pass --server-jar) so chat latency
+ * does not depend on an external provider.
+ *
+ * <pre>
+ * mvn -pl emosync-loadtest -am package
+ * mvn -pl emosync-loadtest exec:java -Dexec.args="--base-url http://localhost:8080 --users 50 --duration 120"
+ * </pre>
+ */
+public class LoadTestRunner {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options;
+        try {
+            options = LoadTestOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            LoadTestOptions.printUsage();
+            System.exit(2);
+            return;
+        }
+
+        ServerLauncher server = options.serverJar != null
+                ? ServerLauncher.start(options.serverJar, options.serverArgs, options.baseUrl)
+                : null;
+        try {
+            new LoadTestRunner().run(options);
+        } finally {
+            if (server != null) {
+                server.close();
+            }
+        }
+    }
+
+    private void run(LoadTestOptions options) throws InterruptedException, IOException {
+        ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        MetricsRegistry metrics = new MetricsRegistry();
+        ApiClient client = new ApiClient(options.baseUrl, objectMapper, metrics);
+
+        if (options.register) {
+            registerUsers(client, options);
+        }
+
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + options.warmup.toNanos() + options.duration.toNanos();
+        int workers = options.users + (options.hasAdmin() ? 1 : 0);
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+
+        for (int i = 0; i < options.users; i++) {
+            executor.submit(new VirtualUser(client, options, username(options, i), options.seed + i, deadline));
+        }
+        if (options.hasAdmin()) {
+            executor.submit(new AdminUser(client, options, options.seed - 1, deadline));
+        }
+        executor.shutdown();
+
+        System.out.printf("Running %d users against %s: %ds warm-up, %ds measured%n",
+                options.users, options.baseUrl, options.warmup.toSeconds(), options.duration.toSeconds());
+        Thread.sleep(options.warmup.toMillis());
+        metrics.startRecording();
+        Thread.sleep(options.duration.toMillis());
+        metrics.stopRecording();
+
+        // Let in-flight requests (notably chat streams) finish before exiting
+        if (!executor.awaitTermination(2, TimeUnit.MINUTES)) {
+            executor.shutdownNow();
+        }
+
+        List<EndpointStats.Summary> summaries = metrics.summaries();
+        printReport(summaries, metrics.recordedSeconds());
+        if (options.reportFile != null) {
+            writeReport(objectMapper, options, summaries, metrics.recordedSeconds());
+        }
+    }
+
+    private void registerUser(ApiClient client, LoadTestOptions options, int index) {
+        String username = username(options, index);
+        Map<String, Object> registerData = new LinkedHashMap<>();
+        registerData.put("username", username);
+        registerData.put("email", username + "@loadtest.emosync.com");
+        registerData.put("password", options.password);
+        registerData.put("confirmPassword", options.password);
+        registerData.put("nickname", username);
+        registerData.put("userType", "1");
+        // Fails harmlessly when the account already exists
+        client.postJsonPart("POST /user/add", "/user/add", "registerData", registerData);
+    }
+
+    private void registerUsers(ApiClient client, LoadTestOptions options) {
+        System.out.printf("Registering %d test accounts%n", options.users);
+        for (int i = 0; i < options.users; i++) {
+            registerUser(client, options, i);
+        }
+    }
+
+    private static String username(LoadTestOptions options, int index) {
+        return String.format("%s%04d", options.userPrefix, index);
+    }
+
+    // ==================== Report ====================
+
+    private void printReport(List<EndpointStats.Summary> summaries, double seconds) {
+        long totalRequests = 0;
+        long totalErrors = 0;
+        System.out.println();
+        System.out.printf("%-46s %9s %9s %10s %10s %10s %8s%n",
+                "Endpoint", "Requests", "Req/s", "p50 (ms)", "p99 (ms)", "max (ms)", "Errors");
+        for (EndpointStats.Summary s : summaries) {
+            System.out.printf("%-46s %9d %9.1f %10.1f %10.1f %10.1f %7.2f%%%n",
+                    s.endpoint(), s.requests(), s.throughputPerSec(), s.p50Ms(), s.p99Ms(), s.maxMs(),
+                    s.errorRate() * 100);
+            if (!s.endpoint().endsWith("(first token)")) {
+                totalRequests += s.requests();
+                totalErrors += s.errors();
+            }
+        }
+        System.out.printf("%nTotal: %d requests in %.1fs (%.1f req/s), %d errors%n",
+                totalRequests, seconds, seconds > 0 ? totalRequests / seconds : 0, totalErrors);
+    }
+
+    private void writeReport(ObjectMapper objectMapper, LoadTestOptions options,
+                             List<EndpointStats.Summary> summaries, double seconds) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generatedAt", Instant.now().toString());
+        report.put("baseUrl", options.baseUrl);
+        report.put("users", options.users);
+        report.put("measuredSeconds", seconds);
+        report.put("seed", options.seed);
+        report.put("endpoints", new ArrayList<>(summaries));
+        objectMapper.writeValue(options.reportFile.toFile(), report);
+        System.out.println("Report written to " + options.reportFile.toAbsolutePath());
+    }
+}
@@ -0,0 +1,49 @@
+package com.emosync.loadtest;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-endpoint statistics; samples taken during warm-up are discarded
+ */
+public class MetricsRegistry {
+
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+    private volatile boolean recording;
+    private volatile long recordingStartedAt;
+    private volatile long recordingStoppedAt;
+
+    public void record(String endpoint, long latencyNanos, boolean httpOk, boolean businessOk) {
+        if (!recording) {
+            return;
+        }
+        stats.computeIfAbsent(endpoint, EndpointStats::new).record(latencyNanos, httpOk, businessOk);
+    }
+
+    public void startRecording() {
+        recordingStartedAt = System.nanoTime();
+        recording = true;
+    }
+
+    public void stopRecording() {
+        recording = false;
+        recordingStoppedAt = System.nanoTime();
+    }
+
+    public double recordedSeconds() {
+        return (recordingStoppedAt - recordingStartedAt) / 1_000_000_000.0;
+    }
+
+    public List<EndpointStats.Summary> summaries() {
+        double seconds = recordedSeconds();
+        List<EndpointStats.Summary> result = new ArrayList<>();
+        for (EndpointStats endpointStats : stats.values()) {
+            result.add(endpointStats.summarize(seconds));
+        }
+        result.sort(Comparator.comparing(EndpointStats.Summary::endpoint));
+        return result;
+    }
+}
@@ -0,0 +1,96 @@
+package com.emosync.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts emosync-server with the stub-llm profile and waits until it answers HTTP
+ */
+public class ServerLauncher implements AutoCloseable {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+
+    private final Process process;
+
+    private ServerLauncher(Process process) {
+        this.process = process;
+    }
+
+    public static ServerLauncher start(Path serverJar, String serverArgs, String baseUrl) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-jar");
+        command.add(serverJar.toAbsolutePath().toString());
+        command.add("--spring.profiles.active=stub-llm");
+        int port = URI.create(baseUrl).getPort();
+        if (port > 0) {
+            command.add("--server.port=" + port);
+        }
+        if (serverArgs != null && !serverArgs.isBlank()) {
+            command.addAll(Arrays.asList(serverArgs.trim().split("\\s+")));
+        }
+
+        Path log = Path.of("loadtest-server.log");
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        System.out.println("Started server (pid " + process.pid() + "), log: " + log.toAbsolutePath());
+
+        ServerLauncher launcher = new ServerLauncher(process);
+        try {
+            launcher.awaitReady(baseUrl);
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            launcher.close();
+            throw e;
+        }
+        return launcher;
+    }
+
+    /**
+     * Any HTTP response (even 401) means the servlet container is accepting requests
+     */
+    private void awaitReady(String baseUrl) throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+        HttpRequest probe = HttpRequest.newBuilder(URI.create(baseUrl.replaceAll("/+$", "") + "/actuator/health"))
+                .timeout(Duration.ofSeconds(2))
+                .GET()
+                .build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IOException("Server exited during startup with code " + process.exitValue());
+            }
+            try {
+                client.send(probe, HttpResponse.BodyHandlers.discarding());
+                System.out.println("Server is ready");
+                return;
+            } catch (IOException e) {
+                Thread.sleep(1000);
+            }
+        }
+        throw new IOException("Server did not become ready within " + STARTUP_TIMEOUT);
+    }
+
+    @Override
+    public void close() {
+        process.destroy();
+        try {
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            process.destroyForcibly();
+        }
+    }
+}
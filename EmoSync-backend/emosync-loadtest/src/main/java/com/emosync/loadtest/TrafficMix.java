@@ -0,0 +1,48 @@
+package com.emosync.loadtest;
+
+import java.util.Random;
+
+/**
+ * Weighted operation mix for a regular user session.
+ * Weights approximate evening traffic: mostly browsing and diary reads, with
+ * fewer (but far more expensive) chat streams.
+ */
+public enum TrafficMix {
+
+    LOGIN(2),
+    ARTICLE_PAGE(30),
+    ARTICLE_READ(15),
+    DIARY_STATISTICS(15),
+    DIARY_WRITE(12),
+    FAVORITE_TOGGLE(8),
+    FAVORITE_PAGE(5),
+    SESSION_LIST(7),
+    CHAT_STREAM(8);
+
+    private static final int TOTAL_WEIGHT;
+
+    static {
+        int total = 0;
+        for (TrafficMix operation : values()) {
+            total += operation.weight;
+        }
+        TOTAL_WEIGHT = total;
+    }
+
+    private final int weight;
+
+    TrafficMix(int weight) {
+        this.weight = weight;
+    }
+
+    public static TrafficMix next(Random random) {
+        int roll = random.nextInt(TOTAL_WEIGHT);
+        for (TrafficMix operation : values()) {
+            roll -= operation.weight;
+            if (roll < 0) {
+                return operation;
+            }
+        }
+        return ARTICLE_PAGE;
+    }
+}
@@ -0,0 +1,178 @@
+package com.emosync.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * One simulated user running the traffic mix until the deadline
+ */
+public class VirtualUser implements Runnable {
+
+    private static final String[] EMOTIONS = {
+            "Happy", "Peaceful", "Anxious", "Sad", "Thoughtful", "Grateful", "Lonely", "Troubled"
+    };
+
+    private static final String[] MESSAGES = {
+            "I couldn't sleep well again last night and I feel exhausted.",
+            "Work has been really stressful this week, I keep worrying about deadlines.",
+            "I had a nice walk today and felt a bit calmer.",
+            "Sometimes I feel like nobody understands me.",
+            "I argued with my family and now I feel guilty.",
+            "I'm nervous about my exam tomorrow."
+    };
+
+    /** Chat turns before a new session is started */
+    private static final int TURNS_PER_SESSION = 5;
+
+    private final ApiClient client;
+    private final LoadTestOptions options;
+    private final String username;
+    private final Random random;
+    private final long deadlineNanos;
+
+    private String token;
+    private final List<String> knownArticleIds = new ArrayList<>();
+    private final Set<String> favorites = new HashSet<>();
+    private String chatSessionId;
+    private int chatTurns;
+
+    public VirtualUser(ApiClient client, LoadTestOptions options, String username, long seed, long deadlineNanos) {
+        this.client = client;
+        this.options = options;
+        this.username = username;
+        this.random = new Random(seed);
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    @Override
+    public void run() {
+        // Spread start-up so logins do not arrive as a single burst
+        sleep(random.nextInt((int) Math.max(1, options.thinkTime.toMillis() * 5)));
+        while (System.nanoTime() < deadlineNanos && !Thread.currentThread().isInterrupted()) {
+            if (token == null && !login()) {
+                sleep(1000);
+                continue;
+            }
+            execute(TrafficMix.next(random));
+            sleep(options.thinkTime.toMillis());
+        }
+    }
+
+    private void execute(TrafficMix operation) {
+        switch (operation) {
+            case LOGIN -> login();
+            case ARTICLE_PAGE -> browseArticles();
+            case ARTICLE_READ -> readArticle();
+            case DIARY_STATISTICS -> client.get("GET /emotion-diary/statistics",
+                    "/emotion-diary/statistics?days=" + (random.nextBoolean() ? 7 : 30), token);
+            case DIARY_WRITE -> writeDiary();
+            case FAVORITE_TOGGLE -> toggleFavorite();
+            case FAVORITE_PAGE -> client.get("GET /knowledge/favorite/page",
+                    "/knowledge/favorite/page?currentPage=1&size=10", token);
+            case SESSION_LIST -> client.get("GET /psychological-chat/sessions",
+                    "/psychological-chat/sessions?currentPage=1&size=10", token);
+            case CHAT_STREAM -> chat();
+        }
+    }
+
+    // ==================== Operations ====================
+
+    private boolean login() {
+        ApiClient.ApiResult result = client.post("POST /user/login", "/user/login", null,
+                Map.of("username", username, "password", options.password));
+        if (result.ok() && result.data() != null) {
+            token = result.data().path("token").asText(null);
+        }
+        return token != null;
+    }
+
+    private void browseArticles() {
+        int page = 1 + random.nextInt(5);
+        ApiClient.ApiResult result = client.get("GET /knowledge/article/page",
+                "/knowledge/article/page?status=1&currentPage=" + page + "&size=10", token);
+        if (result.ok() && result.data() != null) {
+            for (JsonNode record : result.data().path("records")) {
+                String id = record.path("id").asText(null);
+                if (id != null && !knownArticleIds.contains(id) && knownArticleIds.size() < 200) {
+                    knownArticleIds.add(id);
+                }
+            }
+        }
+    }
+
+    private void readArticle() {
+        String id = randomArticle();
+        if (id == null) {
+            browseArticles();
+            return;
+        }
+        client.get("GET /knowledge/article/{id}", "/knowledge/article/" + id, token);
+        client.post("POST /knowledge/article/{id}/read", "/knowledge/article/" + id + "/read", token, Map.of());
+    }
+
+    private void toggleFavorite() {
+        String id = randomArticle();
+        if (id == null) {
+            browseArticles();
+            return;
+        }
+        if (favorites.remove(id)) {
+            client.delete("DELETE /knowledge/favorite/{id}", "/knowledge/favorite/" + id, token);
+        } else {
+            ApiClient.ApiResult result = client.post("POST /knowledge/favorite/{id}",
+                    "/knowledge/favorite/" + id, token, Map.of());
+            if (result.ok()) {
+                favorites.add(id);
+            }
+        }
+    }
+
+    private void writeDiary() {
+        Map<String, Object> diary = new HashMap<>();
+        diary.put("diaryDate", LocalDate.now().minusDays(random.nextInt(60)).toString());
+        diary.put("moodScore", 1 + random.nextInt(10));
+        diary.put("dominantEmotion", EMOTIONS[random.nextInt(EMOTIONS.length)]);
+        diary.put("emotionTriggers", "work, sleep");
+        diary.put("diaryContent", MESSAGES[random.nextInt(MESSAGES.length)]);
+        diary.put("sleepQuality", 1 + random.nextInt(5));
+        diary.put("stressLevel", 1 + random.nextInt(5));
+        client.post("POST /emotion-diary", "/emotion-diary?isEditMode=true", token, diary);
+    }
+
+    private void chat() {
+        if (chatSessionId == null || chatTurns >= TURNS_PER_SESSION) {
+            ApiClient.ApiResult result = client.post("POST /psychological-chat/session/start",
+                    "/psychological-chat/session/start", token,
+                    Map.of("sessionTitle", "Load test", "initialMessage", MESSAGES[random.nextInt(MESSAGES.length)]));
+            if (!result.ok() || result.data() == null) {
+                return;
+            }
+            chatSessionId = result.data().path("sessionId").asText(null);
+            chatTurns = 0;
+            if (chatSessionId == null) {
+                return;
+            }
+        }
+        chatTurns++;
+        client.stream("POST /psychological-chat/stream", "/psychological-chat/stream", token,
+                Map.of("sessionId", chatSessionId,
+                        "userMessage", MESSAGES[random.nextInt(MESSAGES.length)] + " (" + chatTurns + ")"));
+    }
+
+    private String randomArticle() {
+        return knownArticleIds.isEmpty() ? null : knownArticleIds.get(random.nextInt(knownArticleIds.size()));
+    }
+
+    static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -25,7 +25,7 @@ public class ArticleListQueryDTO {
     @Schema(description = "Author ID", example = "1")
     private Long authorId;
 
-    @Schema(description = "Status", example = "1", allowableValues = {"0", "1", "2"})
+    @Schema(description = "Status", example = "1", allowableValues = {"0", "1", "2", "3", "4", "5"})
     private Integer status;
 
     @Schema(description = "Start date (yyyy-MM-dd)", example = "2024-01-01")
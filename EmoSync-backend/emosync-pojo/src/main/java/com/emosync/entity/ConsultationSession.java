@@ -25,12 +25,41 @@ public class ConsultationSession  {
     @Column(name = "started_at")
     private LocalDateTime startedAt;
 
-    @Column(name = "last_emotion_analysis", columnDefinition = "JSON")
+    /**
+     * Emotion snapshot, written only through single-column UPDATEs (EmotionSnapshotService)
+     * so that saving the session for other reasons never overwrites a newer snapshot
+     */
+    @Column(name = "last_emotion_analysis", columnDefinition = "JSON", updatable = false)
     private String lastEmotionAnalysis;
 
-    @Column(name = "last_emotion_updated_at")
+    @Column(name = "last_emotion_updated_at", updatable = false)
     private LocalDateTime lastEmotionUpdatedAt;
 
+    /**
+     * Denormalised message statistics, maintained by atomic UPDATE statements on every message write.
+     * Not updatable through the entity, so saving a stale session never overwrites them.
+     * Null means not yet computed; the counter repair job fills it in.
+     */
+    @Column(name = "message_count", updatable = false)
+    private Integer messageCount;
+
+    @Column(name = "last_message_at", updatable = false)
+    private LocalDateTime lastMessageAt;
+
+    @Column(name = "last_message_preview", length = 200, updatable = false)
+    private String lastMessagePreview;
+
+    /** First emotion tag seen in the session (shown as the primary emotion) */
+    @Column(name = "top_emotion_tag", length = 50, updatable = false)
+    private String topEmotionTag;
+
+    /**
+     * Set when the session is queued for background deletion. Such sessions are hidden from
+     * lists and closed for chat until the delete job removes them; written only by UPDATE statements.
+     */
+    @Column(name = "deleted_at", updatable = false)
+    private LocalDateTime deletedAt;
+
     // FK to User
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
@@ -60,6 +89,23 @@ public class ConsultationSession  {
         return java.time.Duration.between(startedAt, endTime).toMinutes();
     }
 
+    /**
+     * Check if the denormalised message statistics have been computed
+     */
+    public boolean hasMessageStats() {
+        return messageCount != null;
+    }
+
+    /**
+     * Message preview stored in lastMessagePreview (first 100 characters)
+     */
+    public static String previewOf(String content) {
+        if (content == null) {
+            return "";
+        }
+        return content.length() > 100 ? content.substring(0, 100) + "..." : content;
+    }
+
     /**
      * Check if there is emotion analysis data
      */
@@ -0,0 +1,58 @@
+package com.emosync.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Index entry of one compressed block in a message archive segment.
+ * A segment is an append-only file per user per month; each block holds the archived
+ * messages of one session from that month.
+ */
+@Entity
+@Table(name = "message_archive_block", indexes = {
+        @Index(name = "idx_archive_session", columnList = "session_id, first_created_at"),
+        @Index(name = "idx_archive_user", columnList = "user_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MessageArchiveBlock {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "session_id", nullable = false)
+    private Long sessionId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    /**
+     * Segment month, format yyyy-MM
+     */
+    @Column(name = "segment_month", length = 7, nullable = false)
+    private String segmentMonth;
+
+    @Column(name = "file_offset", nullable = false)
+    private Long fileOffset;
+
+    @Column(name = "byte_length", nullable = false)
+    private Integer byteLength;
+
+    @Column(name = "message_count", nullable = false)
+    private Integer messageCount;
+
+    @Column(name = "first_created_at")
+    private LocalDateTime firstCreatedAt;
+
+    @Column(name = "last_created_at")
+    private LocalDateTime lastCreatedAt;
+
+    @Column(name = "archived_at")
+    private LocalDateTime archivedAt;
+}
@@ -79,7 +79,7 @@ public class AiStructuredOutput {
      *
      * @param hasSensitiveWords Whether sensitive words exist
      * @param sensitiveWords    Detected sensitive words
-     * @param severity          Severity level (low / medium / high)
+     * @param severity          Severity level (none / low / medium / high)
      * @param filteredContent   Content after replacement
      */
     public record SensitiveWordResult(
@@ -0,0 +1,114 @@
+package com.emosync.ai;
+
+import com.emosync.Result.Result;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Chat SSE Events
+ * Encodes chat stream fragments and status changes as server-sent events.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatSseEvents {
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Create SSE error event
+     */
+    public ServerSentEvent<String> error(String errorMessage) {
+        return ServerSentEvent.<String>builder()
+                .event("error")
+                .data(toSseData(Result.error(errorMessage)))
+                .build();
+    }
+
+    /**
+     * Create SSE session event (session created by the start-and-stream endpoint)
+     */
+    public ServerSentEvent<String> session(String sessionId) {
+        Map<String, Object> sessionData = new HashMap<>();
+        sessionData.put("sessionId", sessionId);
+        return ServerSentEvent.<String>builder()
+                .event("session")
+                .data(toSseData(Result.success(sessionData)))
+                .build();
+    }
+
+    /**
+     * Create SSE message event
+     */
+    public ServerSentEvent<String> message(String fragment) {
+        Map<String, Object> messageData = new HashMap<>();
+        messageData.put("content", fragment);
+
+        // Check if it's a risk warning
+        if (fragment.contains("⚠️") || fragment.contains("💡")) {
+            messageData.put("type", "risk");
+            return ServerSentEvent.<String>builder()
+                    .event("risk-warning")
+                    .data(toSseData(Result.success(messageData)))
+                    .build();
+        } else {
+            messageData.put("type", "normal");
+            return ServerSentEvent.<String>builder()
+                    .event("message")
+                    .data(toSseData(Result.success(messageData)))
+                    .build();
+        }
+    }
+
+    /**
+     * Create SSE busy event (stream queued or rejected by the stream limiter)
+     */
+    public ServerSentEvent<String> busy(String status, String reason, int position) {
+        Map<String, Object> busyData = new HashMap<>();
+        busyData.put("status", status);
+        if (reason != null) {
+            busyData.put("reason", reason);
+        }
+        if (position > 0) {
+            busyData.put("position", position);
+        }
+
+        String message = "QUEUED".equals(status)
+                ? "Service is busy, your message is queued"
+                : "Service is busy, please try again later";
+
+        return ServerSentEvent.<String>builder()
+                .event("busy")
+                .data(toSseData(Result.error("429", message, busyData)))
+                .build();
+    }
+
+    /**
+     * Create SSE done event
+     */
+    public ServerSentEvent<String> done() {
+        return ServerSentEvent.<String>builder()
+                .event("done")
+                .data("{}")
+                .build();
+    }
+
+    /**
+     * Convert object to SSE data format (JSON string)
+     */
+    private String toSseData(Object data) {
+        try {
+            return objectMapper.writeValueAsString(data);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to convert SSE data", e);
+            return "{\"code\":500,\"message\":\"Data formatting failed\"}";
+        }
+    }
+}
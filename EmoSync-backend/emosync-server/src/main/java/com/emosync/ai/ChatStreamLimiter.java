@@ -0,0 +1,358 @@
+package com.emosync.ai;
+
+import com.emosync.config.ChatStreamLimitConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Chat Stream Limiter
+ *
+ * Bounds concurrently active chat streams per user and globally.
+ * Streams that cannot start immediately wait in per-user queues which are
+ * served round-robin, so one user with many pending streams cannot starve others.
+ */
+@Slf4j
+@Component
+public class ChatStreamLimiter {
+
+    public static final String REASON_USER_QUEUE_FULL = "USER_QUEUE_FULL";
+    public static final String REASON_QUEUE_FULL = "QUEUE_FULL";
+    public static final String REASON_TIMEOUT = "QUEUE_TIMEOUT";
+
+    private final ChatStreamLimitConfig config;
+
+    private final Object lock = new Object();
+
+    /** Active stream count per user */
+    private final Map<Long, Integer> activeByUser = new HashMap<>();
+
+    /** Waiting streams per user, iteration order is the round-robin order */
+    private final LinkedHashMap<Long, Deque<Waiter>> waitingByUser = new LinkedHashMap<>();
+
+    private int activeStreams;
+    private int waitingStreams;
+
+    private final Counter admittedCounter;
+    private final Counter queuedCounter;
+    private final Timer queueWaitTimer;
+    private final MeterRegistry meterRegistry;
+
+    public ChatStreamLimiter(ChatStreamLimitConfig config, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.meterRegistry = meterRegistry;
+        this.admittedCounter = Counter.builder("emosync.chat.stream.admitted")
+                .description("Chat streams granted a slot")
+                .register(meterRegistry);
+        this.queuedCounter = Counter.builder("emosync.chat.stream.queued")
+                .description("Chat streams that had to wait for a slot")
+                .register(meterRegistry);
+        this.queueWaitTimer = Timer.builder("emosync.chat.stream.queue.wait")
+                .description("Time chat streams spent waiting for a slot")
+                .register(meterRegistry);
+        Gauge.builder("emosync.chat.stream.active", this, ChatStreamLimiter::getActiveStreams)
+                .description("Currently active chat streams")
+                .register(meterRegistry);
+        Gauge.builder("emosync.chat.stream.waiting", this, ChatStreamLimiter::getWaitingStreams)
+                .description("Chat streams currently waiting for a slot")
+                .register(meterRegistry);
+    }
+
+    // ==================== Admission ====================
+
+    /**
+     * Request a stream slot for the user
+     */
+    public Admission admit(Long userId) {
+        if (!config.isEnabled()) {
+            Waiter waiter = new Waiter(userId);
+            waiter.future.complete(new Permit(userId, false));
+            return new Admission(AdmissionStatus.GRANTED, 0, null, waiter);
+        }
+
+        Waiter waiter = new Waiter(userId);
+        List<Waiter> granted;
+        Admission admission;
+        synchronized (lock) {
+            int userActive = activeByUser.getOrDefault(userId, 0);
+            Deque<Waiter> userQueue = waitingByUser.get(userId);
+            boolean userHasQueue = userQueue != null && !userQueue.isEmpty();
+
+            // Grant immediately only if nobody is already waiting ahead of us
+            if (!userHasQueue && waitingStreams == 0
+                    && userActive < config.getMaxStreamsPerUser()
+                    && activeStreams < config.getMaxGlobalStreams()) {
+                waiter.permit = acquire(userId);
+                waiter.future.complete(waiter.permit);
+                admittedCounter.increment();
+                return new Admission(AdmissionStatus.GRANTED, 0, null, waiter);
+            }
+
+            if (userHasQueue && userQueue.size() >= config.getMaxQueuedPerUser()) {
+                return reject(userId, REASON_USER_QUEUE_FULL, waiter);
+            }
+            if (waitingStreams >= config.getMaxQueueSize()) {
+                return reject(userId, REASON_QUEUE_FULL, waiter);
+            }
+
+            waitingByUser.computeIfAbsent(userId, k -> new ArrayDeque<>()).addLast(waiter);
+            waitingStreams++;
+
+            // Waiters ahead may only be blocked by their own per-user limit; hand out free slots now
+            granted = dispatch();
+            if (granted.contains(waiter)) {
+                admission = new Admission(AdmissionStatus.GRANTED, 0, null, waiter);
+            } else {
+                queuedCounter.increment();
+                int position = positionOf(waiter);
+                log.info("Chat stream queued, userId: {}, position: {}", userId, position);
+                admission = new Admission(AdmissionStatus.QUEUED, position, null, waiter);
+            }
+        }
+        completeGranted(granted);
+        return admission;
+    }
+
+    /**
+     * 1-based place of a queued waiter in the round-robin order, caller must hold the lock.
+     * Each rotation serves one stream per waiting user, so the waiter is reached in the round of
+     * its index in its own queue; per-user limits can still reorder it later.
+     */
+    private int positionOf(Waiter waiter) {
+        int round = waitingByUser.get(waiter.userId).size() - 1;
+        int ahead = 0;
+        boolean beforeUser = true;
+        for (Map.Entry<Long, Deque<Waiter>> entry : waitingByUser.entrySet()) {
+            if (entry.getKey().equals(waiter.userId)) {
+                beforeUser = false;
+                ahead += round;
+                continue;
+            }
+            int size = entry.getValue().size();
+            ahead += Math.min(size, round) + (beforeUser && size > round ? 1 : 0);
+        }
+        return ahead + 1;
+    }
+
+    private Admission reject(Long userId, String reason, Waiter waiter) {
+        log.warn("Chat stream rejected, userId: {}, reason: {}", userId, reason);
+        recordRejection(reason);
+        return new Admission(AdmissionStatus.REJECTED, 0, reason, waiter);
+    }
+
+    private void recordRejection(String reason) {
+        meterRegistry.counter("emosync.chat.stream.rejected", "reason", reason).increment();
+    }
+
+    /**
+     * Take a slot, caller must hold the lock
+     */
+    private Permit acquire(Long userId) {
+        activeStreams++;
+        activeByUser.merge(userId, 1, Integer::sum);
+        return new Permit(userId, true);
+    }
+
+    private void release(Permit permit) {
+        List<Waiter> granted;
+        synchronized (lock) {
+            activeStreams--;
+            activeByUser.computeIfPresent(permit.userId, (k, v) -> v > 1 ? v - 1 : null);
+            granted = dispatch();
+        }
+        completeGranted(granted);
+    }
+
+    /**
+     * Hand free slots to waiting streams round-robin across users, caller must hold the lock
+     */
+    private List<Waiter> dispatch() {
+        List<Waiter> granted = new ArrayList<>();
+        while (waitingStreams > 0 && activeStreams < config.getMaxGlobalStreams()) {
+            Waiter next = pollNextEligible();
+            if (next == null) {
+                break;
+            }
+            next.permit = acquire(next.userId);
+            granted.add(next);
+        }
+        return granted;
+    }
+
+    private Waiter pollNextEligible() {
+        Iterator<Map.Entry<Long, Deque<Waiter>>> it = waitingByUser.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Long, Deque<Waiter>> entry = it.next();
+            Long userId = entry.getKey();
+            if (activeByUser.getOrDefault(userId, 0) >= config.getMaxStreamsPerUser()) {
+                continue;
+            }
+            Deque<Waiter> queue = entry.getValue();
+            Waiter waiter = queue.pollFirst();
+            waitingStreams--;
+            it.remove();
+            // Move the user to the back of the rotation
+            if (!queue.isEmpty()) {
+                waitingByUser.put(userId, queue);
+            }
+            return waiter;
+        }
+        return null;
+    }
+
+    /**
+     * Complete futures outside the lock so subscribers never run while it is held
+     */
+    private void completeGranted(List<Waiter> granted) {
+        for (Waiter waiter : granted) {
+            admittedCounter.increment();
+            queueWaitTimer.record(System.nanoTime() - waiter.enqueuedAt, TimeUnit.NANOSECONDS);
+            waiter.future.complete(waiter.permit);
+        }
+    }
+
+    private void cancel(Waiter waiter) {
+        Permit grantedPermit = null;
+        synchronized (lock) {
+            Deque<Waiter> queue = waitingByUser.get(waiter.userId);
+            if (queue != null && queue.remove(waiter)) {
+                waitingStreams--;
+                if (queue.isEmpty()) {
+                    waitingByUser.remove(waiter.userId);
+                }
+            } else {
+                grantedPermit = waiter.permit;
+            }
+        }
+        if (grantedPermit != null) {
+            grantedPermit.release();
+        }
+    }
+
+    public int getActiveStreams() {
+        synchronized (lock) {
+            return activeStreams;
+        }
+    }
+
+    public int getWaitingStreams() {
+        synchronized (lock) {
+            return waitingStreams;
+        }
+    }
+
+    // ==================== Types ====================
+
+    public enum AdmissionStatus {
+        GRANTED,
+        QUEUED,
+        REJECTED
+    }
+
+    /**
+     * Result of a slot request
+     */
+    public class Admission {
+        private final AdmissionStatus status;
+        private final int position;
+        private final String reason;
+        private final Waiter waiter;
+
+        private Admission(AdmissionStatus status, int position, String reason, Waiter waiter) {
+            this.status = status;
+            this.position = position;
+            this.reason = reason;
+            this.waiter = waiter;
+        }
+
+        public AdmissionStatus getStatus() {
+            return status;
+        }
+
+        /**
+         * Place in the round-robin order at admission time (1-based), 0 when not queued
+         */
+        public int getPosition() {
+            return position;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        /**
+         * Wait for the slot; cancelling the subscription gives up the place in the queue.
+         * Fails with {@link StreamRejectedException} when the queue timeout elapses.
+         */
+        public Mono<Permit> awaitPermit() {
+            if (status == AdmissionStatus.REJECTED) {
+                return Mono.error(new StreamRejectedException(reason));
+            }
+            return Mono.fromFuture(waiter.future, true)
+                    .doOnCancel(() -> cancel(waiter))
+                    .timeout(Duration.ofMillis(config.getQueueTimeoutMs()))
+                    .onErrorMap(TimeoutException.class, e -> {
+                        log.warn("Chat stream queue timeout, userId: {}", waiter.userId);
+                        recordRejection(REASON_TIMEOUT);
+                        return new StreamRejectedException(REASON_TIMEOUT);
+                    });
+        }
+    }
+
+    /**
+     * Held slot, released exactly once
+     */
+    public class Permit {
+        private final Long userId;
+        private final AtomicBoolean released;
+
+        private Permit(Long userId, boolean tracked) {
+            this.userId = userId;
+            this.released = new AtomicBoolean(!tracked);
+        }
+
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                ChatStreamLimiter.this.release(this);
+            }
+        }
+    }
+
+    private class Waiter {
+        private final Long userId;
+        private final long enqueuedAt = System.nanoTime();
+        private final CompletableFuture<Permit> future = new CompletableFuture<>();
+        private Permit permit;
+
+        private Waiter(Long userId) {
+            this.userId = userId;
+        }
+    }
+
+    /**
+     * Raised when a stream cannot obtain a slot
+     */
+    public static class StreamRejectedException extends RuntimeException {
+        private final String reason;
+
+        public StreamRejectedException(String reason) {
+            super("Chat stream rejected: " + reason);
+            this.reason = reason;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+    }
+}
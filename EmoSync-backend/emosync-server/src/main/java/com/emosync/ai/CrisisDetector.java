@@ -0,0 +1,134 @@
+package com.emosync.ai;
+
+import com.emosync.config.CrisisDetectorConfig;
+import com.emosync.util.AhoCorasickMatcher;
+import com.emosync.util.ReloadableMatcher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Crisis Detector
+ *
+ * Inline multi-phrase scan of user text (Aho-Corasick, one table lookup per
+ * character) against a hot-reloadable crisis phrase list. Runs on every chat
+ * message and diary entry without any LLM involvement.
+ */
+@Slf4j
+@Component
+public class CrisisDetector {
+
+    /**
+     * Highest matched risk level and the phrases that matched
+     */
+    public record Detection(int riskLevel, List<String> phrases) {
+
+        public static final Detection NONE = new Detection(0, List.of());
+
+        public boolean matched() {
+            return riskLevel > 0;
+        }
+    }
+
+    private final CrisisDetectorConfig config;
+    private final MeterRegistry meterRegistry;
+    private final ReloadableMatcher<Integer> phrases;
+
+    public CrisisDetector(CrisisDetectorConfig config, ResourceLoader resourceLoader, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.meterRegistry = meterRegistry;
+        this.phrases = new ReloadableMatcher<>("Crisis phrase list", resourceLoader,
+                config::getPhrasesLocation, CrisisDetector::buildMatcher);
+    }
+
+    @PostConstruct
+    public void init() {
+        reload();
+    }
+
+    /**
+     * Scan text for crisis phrases
+     */
+    public Detection detect(String text) {
+        if (!config.isEnabled() || text == null || text.isEmpty()) {
+            return Detection.NONE;
+        }
+        List<AhoCorasickMatcher.Match<Integer>> matches = phrases.get().findAll(text);
+        if (matches.isEmpty()) {
+            return Detection.NONE;
+        }
+        int riskLevel = 0;
+        Set<String> phrases = new LinkedHashSet<>();
+        for (AhoCorasickMatcher.Match<Integer> match : matches) {
+            riskLevel = Math.max(riskLevel, match.value());
+            phrases.add(match.pattern());
+        }
+        Counter.builder("emosync.crisis.detector.matches")
+                .description("Texts matching the crisis phrase list, by highest risk level")
+                .tag("riskLevel", String.valueOf(riskLevel))
+                .register(meterRegistry)
+                .increment();
+        return new Detection(riskLevel, List.copyOf(phrases));
+    }
+
+    /**
+     * Whether a detection is severe enough to raise a crisis flag
+     */
+    public boolean isAlert(Detection detection) {
+        return detection.riskLevel() >= config.getAlertRiskLevel();
+    }
+
+    /**
+     * Reload the phrase list when the underlying file changed
+     */
+    @Scheduled(initialDelayString = "${crisis.detector.reload-interval-ms:30000}",
+            fixedDelayString = "${crisis.detector.reload-interval-ms:30000}")
+    public void reloadIfChanged() {
+        phrases.reloadIfChanged();
+    }
+
+    /**
+     * Reload the phrase list now, regardless of its modification time
+     */
+    public void reload() {
+        phrases.reload();
+    }
+
+    /**
+     * Build a matcher from "riskLevel|phrase" lines ('#' starts a comment)
+     */
+    public static AhoCorasickMatcher<Integer> buildMatcher(List<String> lines) {
+        AhoCorasickMatcher.Builder<Integer> builder = AhoCorasickMatcher.builder();
+        List<String> invalid = new ArrayList<>();
+        for (String raw : lines) {
+            String line = raw.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            int separator = line.indexOf('|');
+            if (separator <= 0) {
+                invalid.add(line);
+                continue;
+            }
+            try {
+                int riskLevel = Integer.parseInt(line.substring(0, separator).trim());
+                builder.add(line.substring(separator + 1), riskLevel);
+            } catch (NumberFormatException e) {
+                invalid.add(line);
+            }
+        }
+        if (!invalid.isEmpty()) {
+            log.warn("Ignored invalid crisis phrase lines: {}", invalid);
+        }
+        return builder.build();
+    }
+}
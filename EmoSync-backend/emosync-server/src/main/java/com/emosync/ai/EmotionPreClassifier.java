@@ -0,0 +1,286 @@
+package com.emosync.ai;
+
+import com.emosync.config.EmotionPreClassifierConfig;
+import com.emosync.enumClass.EmotionTypeEnum;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Emotion Pre-Classifier
+ *
+ * Scores a chat message against a weighted emotion lexicon (seeded from the
+ * EmotionTypeEnum vocabulary) before any LLM call. Small talk skips emotion
+ * analysis, clear single-emotion messages get a local result, and everything
+ * ambiguous or potentially risky is routed to the LLM.
+ */
+@Slf4j
+@Component
+public class EmotionPreClassifier {
+
+    public enum Route {
+        /** No emotional content, keep the previous snapshot */
+        SKIP,
+        /** Confident local result */
+        LOCAL,
+        /** Ambiguous or elevated risk, ask the LLM */
+        LLM
+    }
+
+    /**
+     * Classification outcome; result is set only for LOCAL
+     */
+    public record PreClassification(Route route, String reason, double confidence,
+                                    AiStructuredOutput.EmotionAnalysisResult result) {
+    }
+
+    private record Term(EmotionTypeEnum emotion, double weight) {
+    }
+
+    /** Word -> emotion and weight */
+    private static final Map<String, Term> LEXICON = new HashMap<>();
+
+    /** Words and phrases that always send the message to the LLM */
+    private static final List<String> RISK_PHRASES = List.of(
+            "suicide", "suicidal", "kill myself", "killing myself", "want to die", "wanna die",
+            "end it all", "end my life", "self harm", "selfharm", "hurt myself", "cut myself",
+            "cutting myself", "overdose", "no reason to live", "better off dead", "can't go on", "cant go on");
+
+    private static final Set<String> NEGATORS = Set.of(
+            "not", "no", "never", "dont", "don't", "isnt", "isn't", "wasnt", "wasn't", "cant", "can't",
+            "cannot", "hardly", "nor", "without", "neither");
+
+    private static final Set<String> INTENSIFIERS = Set.of(
+            "very", "so", "really", "extremely", "totally", "completely", "super", "too", "incredibly");
+
+    private static final Set<String> SMALL_TALK = Set.of(
+            "ok", "okay", "k", "kk", "thanks", "thank", "thx", "ty", "you", "hi", "hello", "hey", "yes",
+            "yeah", "yep", "no", "nope", "sure", "bye", "goodbye", "got", "it", "cool", "alright", "fine",
+            "lol", "haha", "hmm", "good", "morning", "night", "evening", "see", "later", "great", "nice",
+            "right", "i", "understood", "noted", "please", "much", "a", "lot");
+
+    static {
+        // Enum vocabulary first, full weight
+        for (EmotionTypeEnum emotion : EmotionTypeEnum.values()) {
+            LEXICON.put(emotion.getEmotionName().toLowerCase(Locale.ROOT), new Term(emotion, 1.0));
+        }
+        lexicon(EmotionTypeEnum.HAPPY, 1.0, "glad", "joy", "joyful", "cheerful", "delighted");
+        lexicon(EmotionTypeEnum.HAPPY, 0.6, "fun", "smile", "smiling", "awesome", "wonderful");
+        lexicon(EmotionTypeEnum.EXCITED, 1.0, "thrilled", "pumped", "eager", "ecstatic");
+        lexicon(EmotionTypeEnum.GRATEFUL, 1.0, "thankful", "appreciate", "appreciated", "blessed");
+        lexicon(EmotionTypeEnum.LOVE, 1.0, "adore", "loved", "loving");
+        lexicon(EmotionTypeEnum.SATISFIED, 1.0, "content", "proud", "accomplished", "fulfilled");
+        lexicon(EmotionTypeEnum.PEACEFUL, 1.0, "calm", "relaxed", "serene", "rested");
+        lexicon(EmotionTypeEnum.HOPEFUL, 1.0, "optimistic", "motivated");
+        lexicon(EmotionTypeEnum.HOPEFUL, 0.6, "hope");
+        lexicon(EmotionTypeEnum.ANGRY, 1.0, "mad", "furious", "rage", "pissed", "outraged");
+        lexicon(EmotionTypeEnum.ANGRY, 0.7, "annoyed", "irritated", "frustrated", "hate");
+        lexicon(EmotionTypeEnum.SAD, 1.0, "unhappy", "upset", "miserable", "heartbroken", "crying", "cry", "depressed");
+        lexicon(EmotionTypeEnum.SAD, 0.5, "down", "tears");
+        lexicon(EmotionTypeEnum.ANXIOUS, 1.0, "anxiety", "worried", "nervous", "stressed", "panic", "overwhelmed", "tense");
+        lexicon(EmotionTypeEnum.ANXIOUS, 0.7, "worry", "stress", "pressure");
+        lexicon(EmotionTypeEnum.FEARFUL, 1.0, "afraid", "scared", "terrified", "frightened", "fear");
+        lexicon(EmotionTypeEnum.DISAPPOINTED, 1.0, "letdown", "disheartened");
+        lexicon(EmotionTypeEnum.DISAPPOINTED, 0.7, "failed", "failure");
+        lexicon(EmotionTypeEnum.LONELY, 1.0, "isolated", "lonesome");
+        lexicon(EmotionTypeEnum.LONELY, 0.7, "alone", "nobody");
+        lexicon(EmotionTypeEnum.TROUBLED, 1.0, "struggling", "bothered", "uneasy");
+        lexicon(EmotionTypeEnum.TROUBLED, 0.6, "trouble", "problem", "problems");
+        lexicon(EmotionTypeEnum.DESPERATE, 1.0, "hopeless", "helpless", "worthless", "despair");
+        lexicon(EmotionTypeEnum.DESPERATE, 0.6, "empty", "numb");
+        lexicon(EmotionTypeEnum.CONFUSED, 1.0, "unsure", "uncertain", "puzzled");
+        lexicon(EmotionTypeEnum.CONFUSED, 0.6, "lost");
+        lexicon(EmotionTypeEnum.BORED, 1.0, "boring", "meh");
+        lexicon(EmotionTypeEnum.THOUGHTFUL, 0.7, "thinking", "wondering", "reflecting", "pondering");
+        lexicon(EmotionTypeEnum.NOSTALGIC, 0.7, "miss", "missing", "memories", "remember");
+    }
+
+    private static void lexicon(EmotionTypeEnum emotion, double weight, String... words) {
+        for (String word : words) {
+            LEXICON.put(word, new Term(emotion, weight));
+        }
+    }
+
+    private final EmotionPreClassifierConfig config;
+    private final MeterRegistry meterRegistry;
+    private final Timer classifyTimer;
+
+    public EmotionPreClassifier(EmotionPreClassifierConfig config, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.meterRegistry = meterRegistry;
+        this.classifyTimer = Timer.builder("emosync.emotion.preclassifier.duration")
+                .description("Time spent classifying a message locally")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Classify a message and record the routing decision
+     * (emosync.emotion.preclassifier{route, reason}; route != llm counts LLM calls avoided)
+     */
+    public PreClassification route(String message) {
+        PreClassification classification;
+        if (!config.isEnabled()) {
+            classification = new PreClassification(Route.LLM, "disabled", 0, null);
+        } else {
+            long started = System.nanoTime();
+            classification = classify(message);
+            classifyTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+        Counter.builder("emosync.emotion.preclassifier")
+                .description("Chat messages by emotion analysis route")
+                .tag("route", classification.route().name().toLowerCase(Locale.ROOT))
+                .tag("reason", classification.reason())
+                .register(meterRegistry)
+                .increment();
+        log.debug("Emotion pre-classification: route={}, reason={}, confidence={}",
+                classification.route(), classification.reason(), classification.confidence());
+        return classification;
+    }
+
+    /**
+     * Pure lexicon classification (no metrics)
+     */
+    public PreClassification classify(String message) {
+        if (message == null || message.isBlank()) {
+            return new PreClassification(Route.SKIP, "empty", 1.0, null);
+        }
+        String normalized = message.toLowerCase(Locale.ROOT).replace('\u2019', '\'');
+
+        for (String phrase : RISK_PHRASES) {
+            if (normalized.contains(phrase)) {
+                return new PreClassification(Route.LLM, "risk", 0, null);
+            }
+        }
+
+        String[] tokens = normalized.split("[^\\p{L}\\p{N}']+");
+        List<String> words = new ArrayList<>(tokens.length);
+        for (String token : tokens) {
+            if (!token.isEmpty()) {
+                words.add(token);
+            }
+        }
+        if (words.isEmpty()) {
+            // Emoji / punctuation only: nothing the lexicon can judge
+            return new PreClassification(Route.LLM, "ambiguous", 0, null);
+        }
+        if (words.size() <= config.getMaxTrivialTokens() && SMALL_TALK.containsAll(words)) {
+            return new PreClassification(Route.SKIP, "trivial", 1.0, null);
+        }
+
+        Map<EmotionTypeEnum, Double> scores = new EnumMap<>(EmotionTypeEnum.class);
+        List<String> keywords = new ArrayList<>();
+        double negated = 0;
+        boolean intensified = false;
+        for (int i = 0; i < words.size(); i++) {
+            Term term = LEXICON.get(words.get(i));
+            if (term == null) {
+                continue;
+            }
+            // A negation shortly before flips meaning in ways a lexicon cannot follow
+            if (precededBy(words, i, NEGATORS)) {
+                negated += term.weight();
+                continue;
+            }
+            double weight = term.weight();
+            if (precededBy(words, i, INTENSIFIERS)) {
+                weight *= 1.5;
+                intensified = true;
+            }
+            scores.merge(term.emotion(), weight, Double::sum);
+            keywords.add(words.get(i));
+        }
+
+        if (scores.isEmpty()) {
+            return new PreClassification(Route.LLM, "ambiguous", 0, null);
+        }
+
+        EmotionTypeEnum top = null;
+        double topScore = 0;
+        double total = negated;
+        for (Map.Entry<EmotionTypeEnum, Double> entry : scores.entrySet()) {
+            total += entry.getValue();
+            if (entry.getValue() > topScore) {
+                top = entry.getKey();
+                topScore = entry.getValue();
+            }
+        }
+        double confidence = topScore / total;
+
+        int riskLevel = estimateRisk(top, topScore, intensified);
+        if (riskLevel >= config.getLlmRiskLevel()) {
+            return new PreClassification(Route.LLM, "risk", confidence, null);
+        }
+        if (confidence < config.getMinConfidence() || topScore < config.getMinEvidence()) {
+            return new PreClassification(Route.LLM, "ambiguous", confidence, null);
+        }
+        return new PreClassification(Route.LOCAL, "confident", confidence,
+                toResult(top, topScore, riskLevel, keywords));
+    }
+
+    private static boolean precededBy(List<String> words, int index, Set<String> markers) {
+        for (int j = Math.max(0, index - 2); j < index; j++) {
+            if (markers.contains(words.get(j))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Risk scale of the LLM analysis: 0 normal, 1 mild, 2 warning, 3 crisis
+     */
+    private static int estimateRisk(EmotionTypeEnum emotion, double score, boolean intensified) {
+        if (emotion == EmotionTypeEnum.DESPERATE) {
+            return 2;
+        }
+        if (emotion.isNegative() && (intensified || score >= 2.0)) {
+            return 1;
+        }
+        return 0;
+    }
+
+    /**
+     * Analysis result in the LLM format (also used for local model predictions)
+     */
+    static AiStructuredOutput.EmotionAnalysisResult toResult(EmotionTypeEnum emotion, double score,
+                                                             int riskLevel, List<String> keywords) {
+        int emotionScore = (int) Math.min(95, Math.round(50 + 15 * score));
+        String suggestion;
+        List<String> improvements;
+        if (emotion.isPositive()) {
+            suggestion = "It's great to hear this. Take a moment to notice what helped you feel this way.";
+            improvements = List.of("Write down what went well today", "Share the good moment with someone", "Keep up the routines that help");
+        } else if (emotion.isNegative()) {
+            suggestion = "Thank you for sharing how you feel. It is okay to feel this way; let's take it one step at a time.";
+            improvements = List.of("Try a few minutes of slow breathing", "Talk to someone you trust", "Be gentle with yourself today");
+        } else {
+            suggestion = "Your emotional state looks relatively stable. Take things step by step.";
+            improvements = List.of("Maintain regular sleep schedule", "Do some light exercise", "Talk to friends");
+        }
+        return new AiStructuredOutput.EmotionAnalysisResult(
+                emotion.getEmotionName(),
+                emotionScore,
+                emotion.isNegative(),
+                riskLevel,
+                List.copyOf(keywords),
+                suggestion,
+                emotion.getIcon(),
+                emotion.getEmotionName(),
+                riskLevel == 0 ? "No significant psychological risk detected at the moment." : "Some emotional distress detected.",
+                improvements,
+                Instant.now().toString()
+        );
+    }
+}
@@ -0,0 +1,314 @@
+package com.emosync.ai;
+
+import com.emosync.config.LocalEmotionModelConfig;
+import com.emosync.enumClass.EmotionTypeEnum;
+import com.emosync.repository.EmotionDiaryRepository;
+import com.emosync.util.HashedNaiveBayes;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local Emotion Model
+ *
+ * Two multinomial naive Bayes models over hashed word n-grams (primaryEmotion and
+ * riskLevel), distilled from the AI analyses stored on diaries. Predictions run
+ * in-process in microseconds; every text that still reaches the LLM is compared
+ * with the local prediction so the agreement rate shows when low-risk traffic can
+ * be shifted off the paid API (chat.local-emotion-model.first-pass).
+ */
+@Slf4j
+@Component
+public class LocalEmotionModel {
+
+    /**
+     * Local prediction with the model probabilities
+     */
+    public record Prediction(EmotionTypeEnum emotion, double emotionConfidence, int riskLevel, double riskConfidence) {
+
+        public AiStructuredOutput.EmotionAnalysisResult toResult() {
+            // Confidence 0-1 maps onto the lexicon score scale used for emotionScore
+            return EmotionPreClassifier.toResult(emotion, emotionConfidence * 3, riskLevel, List.of());
+        }
+    }
+
+    /**
+     * Outcome of a training run; accuracies are measured on the held-out diaries
+     */
+    public record TrainingReport(long samples, long holdoutSamples, double emotionAccuracy,
+                                 double riskAccuracy, Instant trainedAt) {
+    }
+
+    private record Models(HashedNaiveBayes emotion, HashedNaiveBayes risk, TrainingReport report) {
+    }
+
+    private record Sample(String text, String emotion, String risk) {
+    }
+
+    private static final int FILE_VERSION = 1;
+
+    private final LocalEmotionModelConfig config;
+    private final EmotionDiaryRepository emotionDiaryRepository;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    private volatile Models models;
+
+    private final AtomicLong compared = new AtomicLong();
+    private final AtomicLong emotionAgreed = new AtomicLong();
+    private final AtomicLong riskAgreed = new AtomicLong();
+
+    public LocalEmotionModel(LocalEmotionModelConfig config, EmotionDiaryRepository emotionDiaryRepository,
+                             ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.emotionDiaryRepository = emotionDiaryRepository;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+
+        for (String target : List.of("emotion", "risk")) {
+            Gauge.builder("emosync.emotion.local_model.agreement.rate", this,
+                            model -> model.agreementRate(target))
+                    .description("Share of LLM analyses the local model agreed with since startup")
+                    .tag("target", target)
+                    .register(meterRegistry);
+            Gauge.builder("emosync.emotion.local_model.holdout.accuracy", this,
+                            model -> model.holdoutAccuracy(target))
+                    .description("Accuracy of the current local model on held-out diaries")
+                    .tag("target", target)
+                    .register(meterRegistry);
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        Path path = Paths.get(config.getModelPath());
+        if (!Files.exists(path)) {
+            log.info("No local emotion model at {}, it will be trained by the scheduled job", path);
+            return;
+        }
+        try {
+            models = read(path);
+            log.info("Local emotion model loaded from {}: {}", path, models.report());
+        } catch (Exception e) {
+            log.warn("Failed to load local emotion model from {}: {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * Predict emotion and risk, or null when no model is available
+     */
+    public Prediction predict(String text) {
+        Models current = models;
+        if (!config.isEnabled() || current == null || text == null || text.isBlank()) {
+            return null;
+        }
+        HashedNaiveBayes.Prediction emotion = current.emotion().predict(text);
+        HashedNaiveBayes.Prediction risk = current.risk().predict(text);
+        return new Prediction(EmotionTypeEnum.getByEmotionName(emotion.label()), emotion.probability(),
+                Integer.parseInt(risk.label()), risk.probability());
+    }
+
+    /**
+     * Whether the prediction answers on its own instead of the LLM
+     * (emosync.emotion.local_model.route{route}; a sample of eligible texts still goes to the LLM)
+     */
+    public boolean acceptFirstPass(Prediction prediction) {
+        boolean accepted = config.isFirstPass()
+                && prediction.emotionConfidence() >= config.getMinConfidence()
+                && prediction.riskConfidence() >= config.getMinConfidence()
+                && prediction.riskLevel() <= config.getFirstPassMaxRiskLevel()
+                && ThreadLocalRandom.current().nextDouble() >= config.getShadowSampleRate();
+        Counter.builder("emosync.emotion.local_model.route")
+                .description("Emotion analyses answered by the local model or the LLM")
+                .tag("route", accepted ? "local" : "llm")
+                .register(meterRegistry)
+                .increment();
+        return accepted;
+    }
+
+    /**
+     * Compare a local prediction with the LLM analysis of the same text
+     */
+    public void recordAgreement(Prediction prediction, AiStructuredOutput.EmotionAnalysisResult llmResult) {
+        EmotionTypeEnum llmEmotion = EmotionTypeEnum.getByEmotionName(llmResult.primaryEmotion());
+        if (llmEmotion == null) {
+            return;
+        }
+        boolean emotionAgrees = llmEmotion == prediction.emotion();
+        boolean riskAgrees = llmResult.riskLevel() == prediction.riskLevel();
+        compared.incrementAndGet();
+        if (emotionAgrees) {
+            emotionAgreed.incrementAndGet();
+        }
+        if (riskAgrees) {
+            riskAgreed.incrementAndGet();
+        }
+        countAgreement("emotion", emotionAgrees);
+        countAgreement("risk", riskAgrees);
+    }
+
+    /**
+     * Train on all analysed diaries and swap in the new model; the current one stays
+     * active when there are too few samples
+     */
+    public synchronized TrainingReport train() throws IOException {
+        HashedNaiveBayes.Trainer emotionTrainer = HashedNaiveBayes.trainer(config.getFeatureBuckets());
+        HashedNaiveBayes.Trainer riskTrainer = HashedNaiveBayes.trainer(config.getFeatureBuckets());
+        List<Sample> holdout = new ArrayList<>();
+
+        long afterId = 0;
+        while (true) {
+            List<Object[]> rows = emotionDiaryRepository.findAnalysedAfter(afterId,
+                    PageRequest.of(0, config.getTrainingPageSize()));
+            for (Object[] row : rows) {
+                Long id = (Long) row[0];
+                afterId = id;
+                Sample sample = toSample((String) row[1], (String) row[2]);
+                if (sample == null) {
+                    continue;
+                }
+                if (Math.floorMod(id, 100) < config.getHoldoutPercent()) {
+                    holdout.add(sample);
+                } else {
+                    emotionTrainer.add(sample.text(), sample.emotion());
+                    riskTrainer.add(sample.text(), sample.risk());
+                }
+            }
+            if (rows.size() < config.getTrainingPageSize()) {
+                break;
+            }
+        }
+
+        if (emotionTrainer.size() < config.getMinTrainingSamples()) {
+            log.info("Local emotion model not trained, labelled diaries: {}, required: {}",
+                    emotionTrainer.size(), config.getMinTrainingSamples());
+            return models != null ? models.report() : null;
+        }
+
+        HashedNaiveBayes emotion = emotionTrainer.build(1.0);
+        HashedNaiveBayes risk = riskTrainer.build(1.0);
+        long emotionHits = 0;
+        long riskHits = 0;
+        for (Sample sample : holdout) {
+            if (emotion.predict(sample.text()).label().equals(sample.emotion())) {
+                emotionHits++;
+            }
+            if (risk.predict(sample.text()).label().equals(sample.risk())) {
+                riskHits++;
+            }
+        }
+        TrainingReport report = new TrainingReport(emotionTrainer.size(), holdout.size(),
+                holdout.isEmpty() ? Double.NaN : (double) emotionHits / holdout.size(),
+                holdout.isEmpty() ? Double.NaN : (double) riskHits / holdout.size(),
+                Instant.now());
+
+        Models trained = new Models(emotion, risk, report);
+        write(Paths.get(config.getModelPath()), trained);
+        models = trained;
+        return report;
+    }
+
+    /**
+     * Labelled sample from a stored analysis; analyses without keywords are skipped because
+     * they are fallbacks or local predictions, not LLM output
+     */
+    private Sample toSample(String content, String analysisJson) {
+        if (content == null || content.isBlank()) {
+            return null;
+        }
+        try {
+            JsonNode analysis = objectMapper.readTree(analysisJson);
+            EmotionTypeEnum emotion = EmotionTypeEnum.getByEmotionName(analysis.path("primaryEmotion").asText(null));
+            JsonNode keywords = analysis.path("keywords");
+            int riskLevel = analysis.path("riskLevel").asInt(-1);
+            if (emotion == null || !keywords.isArray() || keywords.isEmpty() || riskLevel < 0 || riskLevel > 3) {
+                return null;
+            }
+            return new Sample(content, emotion.getEmotionName(), String.valueOf(riskLevel));
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private void countAgreement(String target, boolean agrees) {
+        Counter.builder("emosync.emotion.local_model.agreement")
+                .description("Local model predictions compared with the LLM analysis")
+                .tag("target", target)
+                .tag("outcome", agrees ? "agree" : "disagree")
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private double agreementRate(String target) {
+        long total = compared.get();
+        if (total == 0) {
+            return Double.NaN;
+        }
+        return (double) ("risk".equals(target) ? riskAgreed.get() : emotionAgreed.get()) / total;
+    }
+
+    private double holdoutAccuracy(String target) {
+        Models current = models;
+        if (current == null) {
+            return Double.NaN;
+        }
+        return "risk".equals(target) ? current.report().riskAccuracy() : current.report().emotionAccuracy();
+    }
+
+    // ==================== Model file ====================
+
+    private static void write(Path path, Models models) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            TrainingReport report = models.report();
+            out.writeInt(FILE_VERSION);
+            out.writeLong(report.samples());
+            out.writeLong(report.holdoutSamples());
+            out.writeDouble(report.emotionAccuracy());
+            out.writeDouble(report.riskAccuracy());
+            out.writeLong(report.trainedAt().toEpochMilli());
+            models.emotion().writeTo(out);
+            models.risk().writeTo(out);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static Models read(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            int version = in.readInt();
+            if (version != FILE_VERSION) {
+                throw new IOException("Unsupported model file version: " + version);
+            }
+            TrainingReport report = new TrainingReport(in.readLong(), in.readLong(), in.readDouble(),
+                    in.readDouble(), Instant.ofEpochMilli(in.readLong()));
+            return new Models(HashedNaiveBayes.readFrom(in), HashedNaiveBayes.readFrom(in), report);
+        }
+    }
+}
@@ -85,6 +85,16 @@ public class PromptManager {
 
 
 
+    /**
+     * Header of the user context injected into the first reply of a session
+     */
+    public static final String SESSION_CONTEXT_PROMPT =
+            "Background about this user, gathered when the session started. "
+                    + "Use it to personalise your reply; do not list it back to the user, "
+                    + "and do not call tools to fetch the same information for this reply.\n\n";
+
+
+
     /**
      * Crisis Detection Prompt
      */
@@ -125,6 +135,33 @@ public class PromptManager {
                     + "Output must be clean JSON only, no markdown, no explanation.";
 
 
+    /**
+     * Batched content audit prompt for knowledge articles
+     */
+    public static final String CONTENT_AUDIT_SYSTEM_PROMPT =
+            "You are a content safety reviewer for a mental health knowledge platform.\n\n"
+                    + "You receive several articles, each starting with a line \"### Article <id>\". "
+                    + "Some words in them were flagged by a keyword filter; decide in context whether each article "
+                    + "is acceptable to publish.\n\n"
+                    + "Reject content that contains:\n"
+                    + "1. Encouragement or instructions for suicide, self-harm or eating disorders\n"
+                    + "2. Harassment, hate or abusive language\n"
+                    + "3. Sexual content\n"
+                    + "4. Spam, advertising, gambling or illegal trade\n"
+                    + "5. Dangerous medical advice (e.g. stopping medication without a doctor)\n"
+                    + "Discussing these topics in a supportive, educational way is acceptable.\n\n"
+                    + "Output Requirements:\n"
+                    + "Return a JSON array with one object per article, in any order:\n"
+                    + "- id: the article id\n"
+                    + "- isPass: true/false\n"
+                    + "- riskLevel: 0-3\n"
+                    + "- violationTypes: list of violated categories (empty if none)\n"
+                    + "- riskScore: 0.0-1.0\n"
+                    + "- suggestion: short advice for the author\n"
+                    + "- reason: short explanation\n\n"
+                    + "Reply ONLY with the clean JSON array, without markdown or any other text.";
+
+
     /**
      * Emoji mapping generator
      */
@@ -0,0 +1,386 @@
+package com.emosync.ai;
+
+import com.emosync.config.LlmRoutingConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.ModelOptionsUtils;
+import org.springframework.ai.openai.OpenAiChatOptions;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Routing Chat Model
+ *
+ * Spreads calls over several OpenAI-compatible endpoints, preferring the one with the
+ * lowest latency moving average among the healthy ones. Short blocking calls (emotion
+ * analyses) are hedged: when the first endpoint has not answered within its recent
+ * p95 latency the same prompt goes to the next endpoint and the first answer wins.
+ * Streams are not hedged but fail over when an endpoint errors before the first token.
+ */
+@Slf4j
+public class RoutingChatModel implements ChatModel {
+
+    /**
+     * An endpoint with its delegate model and observed latency / health
+     */
+    public static final class Endpoint {
+
+        private final String name;
+        private final ChatModel delegate;
+        /** Model requested from this endpoint, null keeps the prompt's model */
+        private final String model;
+
+        private final long[] samples;
+        private int sampleCount;
+        private int nextSample;
+
+        private volatile double callEwmaMs;
+        private volatile double streamEwmaMs;
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        private volatile long downUntil;
+
+        public Endpoint(String name, ChatModel delegate, String model, int latencySamples) {
+            this.name = name;
+            this.delegate = delegate;
+            this.model = model == null || model.isBlank() ? null : model;
+            this.samples = new long[Math.max(1, latencySamples)];
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        private boolean isHealthy(long now) {
+            return now >= downUntil;
+        }
+
+        private synchronized void addSample(long millis) {
+            samples[nextSample] = millis;
+            nextSample = (nextSample + 1) % samples.length;
+            sampleCount = Math.min(sampleCount + 1, samples.length);
+        }
+
+        /**
+         * Latency quantile of the recent calls, or -1 with too few samples
+         */
+        private synchronized long quantile(double quantile) {
+            if (sampleCount < 10) {
+                return -1;
+            }
+            long[] sorted = Arrays.copyOf(samples, sampleCount);
+            Arrays.sort(sorted);
+            return sorted[Math.min(sampleCount - 1, (int) Math.ceil(quantile * sampleCount) - 1)];
+        }
+    }
+
+    private final LlmRoutingConfig config;
+    private final List<Endpoint> endpoints;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService executor;
+
+    public RoutingChatModel(LlmRoutingConfig config, List<Endpoint> endpoints, MeterRegistry meterRegistry) {
+        if (endpoints.isEmpty()) {
+            throw new IllegalArgumentException("LLM routing needs at least one endpoint");
+        }
+        this.config = config;
+        this.endpoints = List.copyOf(endpoints);
+        this.meterRegistry = meterRegistry;
+
+        // Bounded and without a queue: when every thread is busy, calls go out without a hedge
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(0, Math.max(2, config.getHedgePoolSize()),
+                60, TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "llm-routing-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        for (Endpoint endpoint : this.endpoints) {
+            Gauge.builder("emosync.llm.endpoint.healthy", endpoint,
+                            e -> e.isHealthy(System.currentTimeMillis()) ? 1 : 0)
+                    .description("Whether the LLM endpoint is in rotation")
+                    .tag("endpoint", endpoint.name)
+                    .register(meterRegistry);
+            Gauge.builder("emosync.llm.endpoint.latency.ewma", endpoint, e -> e.callEwmaMs)
+                    .description("Moving average of blocking call latency (ms)")
+                    .tag("endpoint", endpoint.name)
+                    .tag("mode", "call")
+                    .register(meterRegistry);
+            Gauge.builder("emosync.llm.endpoint.latency.ewma", endpoint, e -> e.streamEwmaMs)
+                    .description("Moving average of time to first streamed response (ms)")
+                    .tag("endpoint", endpoint.name)
+                    .tag("mode", "stream")
+                    .register(meterRegistry);
+        }
+        log.info("LLM routing over endpoints: {}", this.endpoints.stream().map(Endpoint::getName).toList());
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public ChatOptions getDefaultOptions() {
+        return endpoints.get(0).delegate.getDefaultOptions();
+    }
+
+    @Override
+    public ChatResponse call(Prompt prompt) {
+        List<Endpoint> candidates = rank(false);
+        if (config.isHedgeEnabled() && candidates.size() > 1
+                && prompt.getContents().length() <= config.getHedgeMaxPromptChars()) {
+            return hedgedCall(prompt, candidates);
+        }
+        return callWithFailover(prompt, candidates);
+    }
+
+    @Override
+    public Flux<ChatResponse> stream(Prompt prompt) {
+        List<Endpoint> candidates = rank(true);
+        return streamFrom(prompt, candidates, 0);
+    }
+
+    // ==================== Blocking calls ====================
+
+    /**
+     * Call the best endpoint on the caller's thread, and the second one if it fails
+     */
+    private ChatResponse callWithFailover(Prompt prompt, List<Endpoint> candidates) {
+        RuntimeException last = null;
+        for (Endpoint endpoint : candidates.subList(0, Math.min(2, candidates.size()))) {
+            try {
+                return callEndpoint(endpoint, prompt);
+            } catch (RuntimeException e) {
+                last = e;
+                log.warn("LLM call failed on endpoint {}, {}", endpoint.name, e.getMessage());
+            }
+        }
+        throw last;
+    }
+
+    /**
+     * Send to the first endpoint; after its hedge delay, or as soon as it fails, also to the second.
+     * Without a free pool thread the call is not hedged.
+     */
+    private ChatResponse hedgedCall(Prompt prompt, List<Endpoint> candidates) {
+        Endpoint first = candidates.get(0);
+        Endpoint second = candidates.get(1);
+        CompletableFuture<ChatResponse> primary;
+        try {
+            primary = CompletableFuture.supplyAsync(() -> callEndpoint(first, prompt), executor);
+        } catch (RejectedExecutionException e) {
+            countHedge("skipped");
+            return callWithFailover(prompt, candidates);
+        }
+        long delay = hedgeDelay(first);
+        try {
+            ChatResponse response = primary.get(delay, TimeUnit.MILLISECONDS);
+            countHedge("not_needed");
+            return response;
+        } catch (TimeoutException e) {
+            // Slow: race the second endpoint
+        } catch (ExecutionException e) {
+            // Failed before the hedge delay: fail over immediately
+            log.warn("LLM call failed on endpoint {}, failing over to {}", first.name, second.name);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the LLM", e);
+        }
+
+        CompletableFuture<ChatResponse> hedge;
+        try {
+            hedge = CompletableFuture.supplyAsync(() -> callEndpoint(second, prompt), executor);
+        } catch (RejectedExecutionException e) {
+            // Pool saturated: keep waiting for the first endpoint, fail over on this thread if it fails
+            countHedge("skipped");
+            try {
+                return primary.join();
+            } catch (CompletionException failed) {
+                log.warn("LLM call failed on endpoint {}, failing over to {}", first.name, second.name);
+                return callEndpoint(second, prompt);
+            }
+        }
+        CompletableFuture<ChatResponse> winner = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        for (CompletableFuture<ChatResponse> attempt : List.of(primary, hedge)) {
+            attempt.whenComplete((response, error) -> {
+                if (error == null) {
+                    winner.complete(response);
+                } else if (failures.incrementAndGet() == 2) {
+                    winner.completeExceptionally(error);
+                }
+            });
+        }
+
+        try {
+            ChatResponse response = winner.join();
+            boolean primaryWon = primary.isDone() && !primary.isCompletedExceptionally() && primary.join() == response;
+            // The slower request runs to completion, so its latency still feeds the statistics
+            countHedge(primaryWon ? "primary_won" : "hedge_won");
+            return response;
+        } catch (CompletionException e) {
+            countHedge("failed");
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private ChatResponse callEndpoint(Endpoint endpoint, Prompt prompt) {
+        long start = System.nanoTime();
+        try {
+            ChatResponse response = endpoint.delegate.call(forEndpoint(endpoint, prompt));
+            long elapsed = System.nanoTime() - start;
+            endpoint.addSample(TimeUnit.NANOSECONDS.toMillis(elapsed));
+            endpoint.callEwmaMs = ewma(endpoint.callEwmaMs, elapsed);
+            recordSuccess(endpoint, "call", elapsed);
+            return response;
+        } catch (RuntimeException e) {
+            recordFailure(endpoint, "call", System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    private long hedgeDelay(Endpoint endpoint) {
+        long quantile = endpoint.quantile(config.getHedgeQuantile());
+        if (quantile < 0) {
+            return config.getMaxHedgeDelayMs();
+        }
+        return Math.max(config.getMinHedgeDelayMs(), Math.min(config.getMaxHedgeDelayMs(), quantile));
+    }
+
+    // ==================== Streaming ====================
+
+    /**
+     * Stream from candidates[index]; an error before the first response moves on to the next candidate
+     */
+    private Flux<ChatResponse> streamFrom(Prompt prompt, List<Endpoint> candidates, int index) {
+        Endpoint endpoint = candidates.get(index);
+        return Flux.defer(() -> {
+            long start = System.nanoTime();
+            AtomicBoolean started = new AtomicBoolean();
+            return endpoint.delegate.stream(forEndpoint(endpoint, prompt))
+                    .doOnNext(response -> {
+                        if (started.compareAndSet(false, true)) {
+                            long elapsed = System.nanoTime() - start;
+                            endpoint.streamEwmaMs = ewma(endpoint.streamEwmaMs, elapsed);
+                            recordSuccess(endpoint, "stream", elapsed);
+                        }
+                    })
+                    .onErrorResume(error -> {
+                        if (started.get()) {
+                            // Tokens were already sent to the client; a retry would repeat them
+                            recordFailure(endpoint, "stream", System.nanoTime() - start);
+                            return Flux.error(error);
+                        }
+                        recordFailure(endpoint, "stream", System.nanoTime() - start);
+                        if (index + 1 >= Math.min(2, candidates.size())) {
+                            return Flux.error(error);
+                        }
+                        log.warn("LLM stream failed on endpoint {} before the first token, failing over to {}",
+                                endpoint.name, candidates.get(index + 1).name);
+                        return streamFrom(prompt, candidates, index + 1);
+                    });
+        });
+    }
+
+    // ==================== Selection ====================
+
+    /**
+     * Healthy endpoints by latency moving average (all endpoints when none is healthy);
+     * occasionally a random healthy endpoint goes first so every endpoint keeps being measured
+     */
+    private List<Endpoint> rank(boolean stream) {
+        long now = System.currentTimeMillis();
+        List<Endpoint> healthy = new ArrayList<>();
+        for (Endpoint endpoint : endpoints) {
+            if (endpoint.isHealthy(now)) {
+                healthy.add(endpoint);
+            }
+        }
+        List<Endpoint> ranked = healthy.isEmpty() ? new ArrayList<>(endpoints) : healthy;
+        ranked.sort(Comparator.comparingDouble(e -> stream ? e.streamEwmaMs : e.callEwmaMs));
+        if (ranked.size() > 1 && ThreadLocalRandom.current().nextDouble() < config.getProbeRate()) {
+            ranked.add(0, ranked.remove(ThreadLocalRandom.current().nextInt(1, ranked.size())));
+        }
+        return ranked;
+    }
+
+    private double ewma(double current, long elapsedNanos) {
+        double millis = elapsedNanos / 1_000_000.0;
+        return current == 0 ? millis : current + config.getEwmaAlpha() * (millis - current);
+    }
+
+    private void recordSuccess(Endpoint endpoint, String mode, long elapsedNanos) {
+        endpoint.consecutiveFailures.set(0);
+        timer(endpoint, mode, "success").record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void recordFailure(Endpoint endpoint, String mode, long elapsedNanos) {
+        timer(endpoint, mode, "error").record(elapsedNanos, TimeUnit.NANOSECONDS);
+        if (endpoint.consecutiveFailures.incrementAndGet() >= config.getFailureThreshold()) {
+            endpoint.consecutiveFailures.set(0);
+            endpoint.downUntil = System.currentTimeMillis() + config.getCooldownMs();
+            log.warn("LLM endpoint {} taken out of rotation for {} ms after {} consecutive failures",
+                    endpoint.name, config.getCooldownMs(), config.getFailureThreshold());
+        }
+    }
+
+    private Timer timer(Endpoint endpoint, String mode, String outcome) {
+        return Timer.builder("emosync.llm.endpoint.latency")
+                .description("LLM endpoint latency (blocking call, or time to first streamed response)")
+                .tag("endpoint", endpoint.name)
+                .tag("mode", mode)
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    private void countHedge(String outcome) {
+        Counter.builder("emosync.llm.hedge")
+                .description("Hedged LLM calls by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Prompt with the endpoint's model, when it has its own
+     */
+    private static Prompt forEndpoint(Endpoint endpoint, Prompt prompt) {
+        if (endpoint.model == null) {
+            return prompt;
+        }
+        OpenAiChatOptions options;
+        if (prompt.getOptions() instanceof OpenAiChatOptions openAiOptions) {
+            options = openAiOptions.copy();
+        } else if (prompt.getOptions() != null) {
+            options = ModelOptionsUtils.copyToTarget(prompt.getOptions(), ChatOptions.class, OpenAiChatOptions.class);
+        } else {
+            options = new OpenAiChatOptions();
+        }
+        options.setModel(endpoint.model);
+        return new Prompt(prompt.getInstructions(), options);
+    }
+}
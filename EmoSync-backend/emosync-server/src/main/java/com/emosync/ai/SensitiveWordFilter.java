@@ -0,0 +1,247 @@
+package com.emosync.ai;
+
+import com.emosync.config.SensitiveWordConfig;
+import com.emosync.util.AhoCorasickMatcher;
+import com.emosync.util.ReloadableMatcher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Sensitive Word Filter
+ *
+ * Local producer of {@link AiStructuredOutput.SensitiveWordResult}: text is folded
+ * (full-width forms, accents, homoglyphs, leetspeak digits; symbols and zero-width
+ * characters inserted into words are dropped) and scanned with an Aho-Corasick
+ * automaton built from a hot-reloadable dictionary. Only content whose severity
+ * falls between the review and reject thresholds needs an AI audit.
+ */
+@Slf4j
+@Component
+public class SensitiveWordFilter {
+
+    public static final String SEVERITY_NONE = "none";
+    public static final String SEVERITY_LOW = "low";
+    public static final String SEVERITY_MEDIUM = "medium";
+    public static final String SEVERITY_HIGH = "high";
+
+    /**
+     * What to do with screened content
+     */
+    public enum Verdict {
+        /** No or only low-severity words: accept (with filtered content) */
+        PASS,
+        /** Borderline: escalate to AI audit */
+        REVIEW,
+        /** Clearly violating: reject without AI audit */
+        REJECT
+    }
+
+    /** char -> folded char; 0 means the char is dropped */
+    private static final char[] FOLD = buildFoldTable();
+
+    private final SensitiveWordConfig config;
+    private final MeterRegistry meterRegistry;
+    private final ReloadableMatcher<Integer> dictionary;
+
+    public SensitiveWordFilter(SensitiveWordConfig config, ResourceLoader resourceLoader, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.meterRegistry = meterRegistry;
+        this.dictionary = new ReloadableMatcher<>("Sensitive word dictionary", resourceLoader,
+                config::getDictionaryLocation, SensitiveWordFilter::buildMatcher);
+    }
+
+    @PostConstruct
+    public void init() {
+        reload();
+    }
+
+    /**
+     * Screen text against the dictionary
+     */
+    public AiStructuredOutput.SensitiveWordResult check(String text) {
+        if (!config.isEnabled() || text == null || text.isEmpty()) {
+            return new AiStructuredOutput.SensitiveWordResult(false, List.of(), SEVERITY_NONE, text);
+        }
+        AiStructuredOutput.SensitiveWordResult result = check(dictionary.get(), text, config.getMaskChar());
+        if (result.hasSensitiveWords()) {
+            Counter.builder("emosync.content.sensitive.matches")
+                    .description("Texts containing sensitive words, by highest severity")
+                    .tag("severity", result.severity())
+                    .register(meterRegistry)
+                    .increment();
+        }
+        return result;
+    }
+
+    /**
+     * Verdict for a screening result, based on the configured thresholds
+     */
+    public Verdict verdict(AiStructuredOutput.SensitiveWordResult result) {
+        int level = severityLevel(result.severity());
+        if (level > 0 && level >= severityLevel(config.getRejectSeverity())) {
+            return Verdict.REJECT;
+        }
+        if (level > 0 && level >= severityLevel(config.getReviewSeverity())) {
+            return Verdict.REVIEW;
+        }
+        return Verdict.PASS;
+    }
+
+    /**
+     * Scan text with a matcher built by {@link #buildMatcher}
+     */
+    public static AiStructuredOutput.SensitiveWordResult check(AhoCorasickMatcher<Integer> matcher, String text, char maskChar) {
+        // Folded text plus, for each folded char, its index in the original text
+        int[] positions = new int[text.length()];
+        StringBuilder folded = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = FOLD[text.charAt(i)];
+            if (c != 0) {
+                positions[folded.length()] = i;
+                folded.append(c);
+            }
+        }
+
+        List<AhoCorasickMatcher.Match<Integer>> matches = matcher.findAll(folded);
+        if (matches.isEmpty()) {
+            return new AiStructuredOutput.SensitiveWordResult(false, List.of(), SEVERITY_NONE, text);
+        }
+
+        int level = 0;
+        Set<String> words = new LinkedHashSet<>();
+        char[] filtered = text.toCharArray();
+        for (AhoCorasickMatcher.Match<Integer> match : matches) {
+            level = Math.max(level, match.value());
+            words.add(match.pattern());
+            int end = positions[match.end() - 1];
+            for (int i = positions[match.start()]; i <= end; i++) {
+                if (!Character.isWhitespace(filtered[i])) {
+                    filtered[i] = maskChar;
+                }
+            }
+        }
+        return new AiStructuredOutput.SensitiveWordResult(true, List.copyOf(words), severityName(level), new String(filtered));
+    }
+
+    /**
+     * Reload the dictionary when the underlying file changed
+     */
+    @Scheduled(initialDelayString = "${content.sensitive-words.reload-interval-ms:30000}",
+            fixedDelayString = "${content.sensitive-words.reload-interval-ms:30000}")
+    public void reloadIfChanged() {
+        dictionary.reloadIfChanged();
+    }
+
+    /**
+     * Reload the dictionary now, regardless of its modification time
+     */
+    public void reload() {
+        dictionary.reload();
+    }
+
+    /**
+     * Build a matcher from "severity|word" lines ('#' starts a comment)
+     */
+    public static AhoCorasickMatcher<Integer> buildMatcher(List<String> lines) {
+        AhoCorasickMatcher.Builder<Integer> builder = AhoCorasickMatcher.builder();
+        List<String> invalid = new ArrayList<>();
+        for (String raw : lines) {
+            String line = raw.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            int separator = line.indexOf('|');
+            int level = separator > 0 ? severityLevel(line.substring(0, separator).trim()) : 0;
+            if (level == 0) {
+                invalid.add(line);
+                continue;
+            }
+            // Dictionary words go through the same folding as the scanned text
+            builder.add(fold(line.substring(separator + 1)), level);
+        }
+        if (!invalid.isEmpty()) {
+            log.warn("Ignored invalid sensitive word lines: {}", invalid);
+        }
+        return builder.build();
+    }
+
+    private static String fold(String text) {
+        StringBuilder folded = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = FOLD[text.charAt(i)];
+            if (c != 0) {
+                folded.append(c);
+            }
+        }
+        return folded.toString();
+    }
+
+    private static int severityLevel(String severity) {
+        if (severity == null) {
+            return 0;
+        }
+        return switch (severity.toLowerCase()) {
+            case SEVERITY_LOW -> 1;
+            case SEVERITY_MEDIUM -> 2;
+            case SEVERITY_HIGH -> 3;
+            default -> 0;
+        };
+    }
+
+    private static String severityName(int level) {
+        return switch (level) {
+            case 1 -> SEVERITY_LOW;
+            case 2 -> SEVERITY_MEDIUM;
+            case 3 -> SEVERITY_HIGH;
+            default -> SEVERITY_NONE;
+        };
+    }
+
+    private static char[] buildFoldTable() {
+        // Homoglyphs (Cyrillic, Greek) and leetspeak, as pairs: source, target
+        String substitutions = "\u0430a\u0435e\u043eo\u0440p\u0441c\u0443y\u0445x\u0456i\u0458j\u0455s"
+                + "\u03b1a\u03b5e\u03b9i\u03bak\u03bdv\u03bfo\u03c1p\u03c4t\u03c5u"
+                + "0o1i3e4a5s7t@a$s";
+        char[] table = new char[Character.MAX_VALUE + 1];
+        for (int i = 0; i <= Character.MAX_VALUE; i++) {
+            char c = (char) i;
+            if (c == '\u3000' || Character.isWhitespace(c)) {
+                table[i] = ' ';
+                continue;
+            }
+            // Full-width ASCII variants
+            if (c >= '\uFF01' && c <= '\uFF5E') {
+                c = (char) (c - 0xFEE0);
+            }
+            c = Character.toLowerCase(c);
+            // Accented letters: keep the base letter
+            if (c > 0x7F && Character.isLetter(c)) {
+                String decomposed = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD);
+                if (decomposed.length() > 1 && decomposed.charAt(0) < 0x80) {
+                    c = decomposed.charAt(0);
+                }
+            }
+            int substitution = substitutions.indexOf(c);
+            while (substitution >= 0 && substitution % 2 != 0) {
+                substitution = substitutions.indexOf(c, substitution + 1);
+            }
+            if (substitution >= 0) {
+                c = substitutions.charAt(substitution + 1);
+            }
+            // Symbols, punctuation, combining marks and zero-width characters are dropped
+            table[i] = Character.isLetterOrDigit(c) ? c : 0;
+        }
+        return table;
+    }
+}
@@ -0,0 +1,219 @@
+package com.emosync.ai;
+
+import com.emosync.config.StubLlmConfig;
+import com.emosync.enumClass.EmotionTypeEnum;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.MessageType;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Stub Chat Model
+ *
+ * Local stand-in for the OpenAI chat model, active with the "stub-llm" profile.
+ * Replies are derived from a hash of the prompt so the same input always produces
+ * the same output; latency, throughput and failures are driven by {@link StubLlmConfig}.
+ */
+@Slf4j
+@Component
+@Profile("stub-llm")
+@RequiredArgsConstructor
+public class StubChatModel implements ChatModel {
+
+    private static final String[] REPLY_WORDS = {
+            "I", "hear", "you,", "and", "it", "sounds", "like", "today", "has", "been", "heavy.",
+            "It", "is", "okay", "to", "feel", "this", "way.", "Would", "you", "like", "to", "tell",
+            "me", "more", "about", "what", "happened?", "Taking", "a", "slow", "breath", "can",
+            "help.", "You", "are", "not", "alone", "in", "this.", "Small", "steps", "still", "count."
+    };
+
+    private static final String[] KEYWORDS = {
+            "work", "sleep", "family", "friends", "stress", "school", "future", "health", "rest", "change"
+    };
+
+    private static final String[] SUGGESTIONS = {
+            "Take a short walk", "Write down three things you noticed today", "Talk to someone you trust",
+            "Keep a regular sleep schedule", "Try a breathing exercise", "Drink some water and rest"
+    };
+
+    private final StubLlmConfig config;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Shared source for error injection, seeded so runs are repeatable
+     */
+    private Random failureRandom;
+
+    @Override
+    public ChatResponse call(Prompt prompt) {
+        injectFailure();
+        sleep(config.getCallLatencyMs());
+        return toResponse(generate(prompt));
+    }
+
+    @Override
+    public Flux<ChatResponse> stream(Prompt prompt) {
+        return Flux.defer(() -> {
+            injectFailure();
+            List<String> tokens = tokenize(generate(prompt));
+            Duration tokenInterval = Duration.ofNanos((long) (1_000_000_000L / Math.max(config.getTokensPerSecond(), 0.001)));
+            Duration firstTokenDelay = Duration.ofMillis(config.getTimeToFirstTokenMs()).minus(tokenInterval);
+
+            return Flux.fromIterable(tokens)
+                    .delayElements(tokenInterval)
+                    .delaySubscription(firstTokenDelay.isNegative() ? Duration.ZERO : firstTokenDelay)
+                    .map(this::toResponse);
+        });
+    }
+
+    // ==================== Content Generation ====================
+
+    private String generate(Prompt prompt) {
+        long promptSeed = config.getSeed() ^ hash(prompt);
+        Random random = new Random(promptSeed);
+
+        if (isEmotionAnalysis(prompt)) {
+            return generateEmotionAnalysis(random);
+        }
+        return generateReply(random);
+    }
+
+    private boolean isEmotionAnalysis(Prompt prompt) {
+        return prompt.getInstructions().stream()
+                .anyMatch(message -> message.getMessageType() == MessageType.SYSTEM
+                        && PromptManager.EMOTION_ANALYSIS_SYSTEM_PROMPT.equals(message.getText()));
+    }
+
+    private String generateReply(Random random) {
+        StringBuilder reply = new StringBuilder();
+        int start = random.nextInt(REPLY_WORDS.length);
+        for (int i = 0; i < config.getReplyTokens(); i++) {
+            if (i > 0) {
+                reply.append(' ');
+            }
+            reply.append(REPLY_WORDS[(start + i + random.nextInt(3)) % REPLY_WORDS.length]);
+        }
+        return reply.toString();
+    }
+
+    /**
+     * Build JSON matching {@link AiStructuredOutput.EmotionAnalysisResult}
+     */
+    private String generateEmotionAnalysis(Random random) {
+        EmotionTypeEnum[] emotions = EmotionTypeEnum.values();
+        EmotionTypeEnum emotion = emotions[random.nextInt(emotions.length)];
+        int riskLevel = emotion.isNegative() ? random.nextInt(3) : 0;
+
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("primaryEmotion", emotion.getEmotionName());
+        node.put("emotionScore", 30 + random.nextInt(70));
+        node.put("isNegative", emotion.isNegative());
+        node.put("riskLevel", riskLevel);
+        node.putPOJO("keywords", pick(KEYWORDS, 3, random));
+        node.put("suggestion", SUGGESTIONS[random.nextInt(SUGGESTIONS.length)]);
+        node.put("icon", emotion.getIcon());
+        node.put("label", emotion.getEmotionName());
+        node.put("riskDescription", emotion.getDescription());
+        node.putPOJO("improvementSuggestions", pick(SUGGESTIONS, 3, random));
+        node.put("timestamp", Instant.now().toString());
+        return node.toString();
+    }
+
+    private List<String> pick(String[] source, int count, Random random) {
+        List<String> result = new ArrayList<>(count);
+        int start = random.nextInt(source.length);
+        for (int i = 0; i < count; i++) {
+            result.add(source[(start + i) % source.length]);
+        }
+        return result;
+    }
+
+    private long hash(Prompt prompt) {
+        long h = 1125899906842597L;
+        for (Message message : prompt.getInstructions()) {
+            String text = message.getText();
+            if (text != null) {
+                for (int i = 0; i < text.length(); i++) {
+                    h = 31 * h + text.charAt(i);
+                }
+            }
+        }
+        return h;
+    }
+
+    /**
+     * Split text into word tokens, keeping the separating space on each token
+     */
+    private List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        int start = 0;
+        for (int i = 1; i <= text.length(); i++) {
+            if (i == text.length() || text.charAt(i) == ' ') {
+                tokens.add(text.substring(start, i));
+                start = i;
+            }
+        }
+        return tokens;
+    }
+
+    private ChatResponse toResponse(String text) {
+        return new ChatResponse(List.of(new Generation(new AssistantMessage(text))));
+    }
+
+    // ==================== Failure Injection ====================
+
+    private void injectFailure() {
+        double roll = nextFailureRoll();
+        if (roll < config.getRateLimitRate()) {
+            log.debug("Stub LLM injecting 429");
+            throw HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests",
+                    HttpHeaders.EMPTY, "{\"error\":\"rate_limit_exceeded\"}".getBytes(StandardCharsets.UTF_8),
+                    StandardCharsets.UTF_8);
+        }
+        if (roll < config.getRateLimitRate() + config.getErrorRate()) {
+            log.debug("Stub LLM injecting 503");
+            throw HttpServerErrorException.create(HttpStatus.SERVICE_UNAVAILABLE, "Service Unavailable",
+                    HttpHeaders.EMPTY, "{\"error\":\"upstream_unavailable\"}".getBytes(StandardCharsets.UTF_8),
+                    StandardCharsets.UTF_8);
+        }
+    }
+
+    private synchronized double nextFailureRoll() {
+        if (failureRandom == null) {
+            failureRandom = new Random(config.getSeed());
+        }
+        return failureRandom.nextDouble();
+    }
+
+    private void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
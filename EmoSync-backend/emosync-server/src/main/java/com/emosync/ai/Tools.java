@@ -2,6 +2,13 @@ package com.emosync.ai;
 
 import com.emosync.entity.*;
 import com.emosync.repository.*;
+import com.emosync.service.ConsultationMessageService;
+import com.emosync.service.CopingResourceService;
+import com.emosync.service.CrisisAlertService;
+import com.emosync.service.EmotionSnapshotService;
+import com.emosync.service.EmotionTrendService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.tool.annotation.Tool;
@@ -11,13 +18,8 @@ import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
-import java.util.OptionalDouble;
-import java.util.stream.Collectors;
 
 /**
  * EmoSync Tool Calling — all methods annotated with @Tool are exposed to the LLM.
@@ -32,10 +34,13 @@ public class Tools {
 
     private final ConsultationSessionRepository consultationSessionRepository;
     private final ConsultationMessageRepository consultationMessageRepository;
-    private final EmotionDiaryRepository        emotionDiaryRepository;
-    private final KnowledgeArticleRepository    knowledgeArticleRepository;
-    private final KnowledgeCategoryRepository   knowledgeCategoryRepository;
     private final UserRepository                userRepository;
+    private final ConsultationMessageService    consultationMessageService;
+    private final EmotionSnapshotService        emotionSnapshotService;
+    private final CrisisAlertService            crisisAlertService;
+    private final EmotionTrendService           emotionTrendService;
+    private final CopingResourceService         copingResourceService;
+    private final ObjectMapper                  objectMapper;
 
 
     // =========================================================================
@@ -61,40 +66,12 @@ public class Tools {
         try {
             Long dbSessionId = extractDbSessionId(sessionId);
 
-            // 1. Persist a crisis-flagged AI message in the session so admins can see it
+            // Persist a crisis-flagged message and the crisis snapshot so admins can see it,
+            // then alert (same path as the inline crisis detector)
             if (dbSessionId != null) {
-                ConsultationSession session = consultationSessionRepository
-                        .findById(dbSessionId).orElse(null);
-
-                if (session != null) {
-                    // Build a system-level crisis message visible in message history
-                    ConsultationMessage crisisFlag = ConsultationMessage.builder()
-                            .session(session)
-                            .senderType(0)          // 0 = system
-                            .messageType(99)        // 99 = crisis flag — add to your enum
-                            .content("[CRISIS ALERT] riskLevel=" + riskLevel + " | " + reason)
-                            .emotionTag("CRISIS")
-                            .aiModel("system")
-                            .build();
-                    consultationMessageRepository.save(crisisFlag);
-
-                    // 2. Force-update session's lastEmotionAnalysis with crisis marker
-                    String crisisJson = String.format(
-                            "{\"riskLevel\":%d,\"crisisFlag\":true,\"reason\":\"%s\",\"timestamp\":\"%s\"}",
-                            riskLevel, reason, Instant.now());
-                    session.setLastEmotionAnalysis(crisisJson);
-                    session.setLastEmotionUpdatedAt(LocalDateTime.now());
-                    consultationSessionRepository.save(session);
-
-                    log.warn("Crisis flag persisted — sessionId={}, messageId={}",
-                            dbSessionId, crisisFlag.getId());
-                }
+                crisisAlertService.raiseSessionCrisis(dbSessionId, userId, riskLevel, reason, CrisisAlertService.SOURCE_LLM);
             }
 
-            // 3. Log for external alerting (hook your NotificationService / webhook here)
-            log.error("🚨 [CRISIS] userId={} | riskLevel={} | reason={} | time={}",
-                    userId, riskLevel, reason, LocalDateTime.now());
-
             return String.format(
                     "{\"status\":\"CRISIS_FLAGGED\",\"userId\":%d,\"riskLevel\":%d," +
                     "\"sessionId\":\"%s\",\"timestamp\":\"%s\"}",
@@ -135,19 +112,20 @@ public class Tools {
                 return "{\"status\":\"ERROR\",\"message\":\"Invalid sessionId\"}";
             }
 
-            ConsultationSession session = consultationSessionRepository
-                    .findById(dbSessionId)
-                    .orElseThrow(() -> new RuntimeException("Session not found: " + dbSessionId));
+            if (!consultationSessionRepository.existsById(dbSessionId)) {
+                throw new RuntimeException("Session not found: " + dbSessionId);
+            }
 
-            // Build JSON and persist into ConsultationSession.lastEmotionAnalysis
-            String snapshotJson = String.format(
-                    "{\"primaryEmotion\":\"%s\",\"emotionScore\":%d,\"isNegative\":%b," +
-                    "\"riskLevel\":%d,\"timestamp\":\"%s\"}",
-                    primaryEmotion, emotionScore, isNegative, riskLevel, Instant.now());
+            // Build JSON and queue it for ConsultationSession.lastEmotionAnalysis (coalesced per session)
+            ObjectNode snapshot = objectMapper.createObjectNode();
+            snapshot.put("primaryEmotion", primaryEmotion);
+            snapshot.put("emotionScore", emotionScore);
+            snapshot.put("isNegative", isNegative);
+            snapshot.put("riskLevel", riskLevel);
+            snapshot.put("timestamp", Instant.now().toString());
+            String snapshotJson = objectMapper.writeValueAsString(snapshot);
 
-            session.setLastEmotionAnalysis(snapshotJson);
-            session.setLastEmotionUpdatedAt(LocalDateTime.now());
-            consultationSessionRepository.save(session);
+            emotionSnapshotService.submit(dbSessionId, snapshotJson);
 
             // Also tag the latest user message with the emotion
             List<ConsultationMessage> recent = consultationMessageRepository
@@ -156,6 +134,7 @@ public class Tools {
                 ConsultationMessage msg = recent.get(0);
                 msg.setEmotionTag(primaryEmotion);
                 consultationMessageRepository.save(msg);
+                consultationSessionRepository.recordEmotionTag(dbSessionId, primaryEmotion);
             }
 
             log.info("Emotion snapshot saved — sessionId={}, emotion={}", dbSessionId, primaryEmotion);
@@ -188,55 +167,8 @@ public class Tools {
         log.info("Fetching coping resources — emotion={}", primaryEmotion);
 
         try {
-            // Map emotion to category codes stored in knowledge_category.category_code
-            String categoryCode = mapEmotionToCategoryCode(primaryEmotion);
-
-            // Try to find a matching category first
-            List<KnowledgeCategory> categories = knowledgeCategoryRepository.findAllEnabled();
-
-            Optional<KnowledgeCategory> matchedCategory = categories.stream()
-                    .filter(c -> c.getCategoryCode() != null &&
-                                 c.getCategoryCode().toLowerCase().contains(categoryCode))
-                    .findFirst();
-
-            List<KnowledgeArticle> articles;
-
-            if (matchedCategory.isPresent()) {
-                // Fetch published articles in the matched category (status=1), limit 3
-                articles = knowledgeArticleRepository
-                        .findByCategoryIdOrderByPublishedAtDesc(matchedCategory.get().getId())
-                        .stream()
-                        .filter(a -> Integer.valueOf(1).equals(a.getStatus()))
-                        .limit(3)
-                        .toList();
-            } else {
-                // Fallback: fetch 3 latest published articles across all categories
-                articles = knowledgeArticleRepository
-                        .findAll(PageRequest.of(0, 3))
-                        .getContent()
-                        .stream()
-                        .filter(a -> Integer.valueOf(1).equals(a.getStatus()))
-                        .toList();
-            }
-
-            if (articles.isEmpty()) {
-                log.info("No articles found for emotion={}, returning default advice", primaryEmotion);
-                return List.of(Map.of(
-                        "type",    "advice",
-                        "title",   "General Wellness Tips",
-                        "summary", "Try deep breathing, journaling, or a short walk.",
-                        "id",      ""
-                ));
-            }
-
-            return articles.stream().map(a -> Map.of(
-                    "type",    "article",
-                    "id",      a.getId(),
-                    "title",   a.getTitle() != null    ? a.getTitle()   : "",
-                    "summary", a.getSummary() != null  ? a.getSummary() : "",
-                    "tags",    a.getTags() != null      ? a.getTags()    : ""
-            )).collect(Collectors.toList());
-
+            // Served from the emotion -> published articles index (rebuilt after article changes)
+            return copingResourceService.getResources(primaryEmotion);
         } catch (Exception e) {
             log.error("Failed to fetch coping resources", e);
             return List.of(Map.of("type", "error", "message", e.getMessage()));
@@ -273,20 +205,22 @@ public class Tools {
                     .findById(dbSessionId)
                     .orElseThrow(() -> new RuntimeException("Session not found: " + dbSessionId));
 
-            // Count total messages in this session
-            long messageCount = consultationMessageRepository.countBySessionId(dbSessionId);
+            // Count total messages in this session (denormalised counter, COUNT only if not yet computed)
+            long messageCount = session.hasMessageStats()
+                    ? session.getMessageCount()
+                    : consultationMessageRepository.countBySessionId(dbSessionId);
 
-            // Build summary JSON
-            String summaryJson = String.format(
-                    "{\"type\":\"SESSION_SUMMARY\",\"emotionalThemes\":\"%s\"," +
-                    "\"overallRiskLevel\":%d,\"keyInsights\":\"%s\"," +
-                    "\"messageCount\":%d,\"summarisedAt\":\"%s\"}",
-                    emotionalThemes, overallRiskLevel, keyInsights,
-                    messageCount, Instant.now());
+            // Build summary JSON; themes and insights are model text and must be escaped
+            ObjectNode summary = objectMapper.createObjectNode();
+            summary.put("type", "SESSION_SUMMARY");
+            summary.put("emotionalThemes", emotionalThemes);
+            summary.put("overallRiskLevel", overallRiskLevel);
+            summary.put("keyInsights", keyInsights);
+            summary.put("messageCount", messageCount);
+            summary.put("summarisedAt", Instant.now().toString());
+            String summaryJson = objectMapper.writeValueAsString(summary);
 
-            session.setLastEmotionAnalysis(summaryJson);
-            session.setLastEmotionUpdatedAt(LocalDateTime.now());
-            consultationSessionRepository.save(session);
+            emotionSnapshotService.submit(dbSessionId, summaryJson);
 
             // Save an AI farewell message tagged as SUMMARY
             ConsultationMessage summaryMsg = ConsultationMessage.builder()
@@ -299,13 +233,17 @@ public class Tools {
                     .aiModel("session-summariser")
                     .build();
             consultationMessageRepository.save(summaryMsg);
+            consultationMessageService.recordMessageStats(summaryMsg);
 
             log.info("Session summary saved — sessionId={}", dbSessionId);
 
-            return String.format(
-                    "{\"status\":\"SAVED\",\"sessionId\":\"%s\",\"messageCount\":%d," +
-                    "\"overallRiskLevel\":%d,\"summarisedAt\":\"%s\"}",
-                    sessionId, messageCount, overallRiskLevel, Instant.now());
+            ObjectNode result = objectMapper.createObjectNode();
+            result.put("status", "SAVED");
+            result.put("sessionId", sessionId);
+            result.put("messageCount", messageCount);
+            result.put("overallRiskLevel", overallRiskLevel);
+            result.put("summarisedAt", Instant.now().toString());
+            return objectMapper.writeValueAsString(result);
 
         } catch (Exception e) {
             log.error("Failed to generate diary summary", e);
@@ -390,85 +328,8 @@ public class Tools {
     ) {
         log.info("Fetching emotion trend — userId={}, days={}", userId, days);
 
-        try {
-            LocalDate endDate   = LocalDate.now();
-            LocalDate startDate = endDate.minusDays(days);
-
-            // Fetch diaries in range
-            List<EmotionDiary> diaries = emotionDiaryRepository
-                    .findByUserIdAndDiaryDateBetween(userId, startDate, endDate);
-
-            if (diaries.isEmpty()) {
-                return new AiStructuredOutput.EmotionTrendResult(
-                        userId, days,
-                        List.of(), "none",
-                        0, "NO_DATA", 0,
-                        "No diary entries found in the last " + days + " days.",
-                        Instant.now().toString()
-                );
-            }
-
-            // --- Dominant emotions (ranked by frequency) ---
-            Map<String, Long> emotionCount = diaries.stream()
-                    .filter(d -> d.getDominantEmotion() != null && !d.getDominantEmotion().isBlank())
-                    .collect(Collectors.groupingBy(EmotionDiary::getDominantEmotion, Collectors.counting()));
-
-            List<String> dominantEmotions = emotionCount.entrySet().stream()
-                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
-                    .map(Map.Entry::getKey)
-                    .limit(5)
-                    .collect(Collectors.toList());
-
-            String topEmotion = dominantEmotions.isEmpty() ? "neutral" : dominantEmotions.get(0);
-
-            // --- Average mood score (moodScore 1–10, map to riskLevel 0–3) ---
-            OptionalDouble avgMood = diaries.stream()
-                    .filter(d -> d.getMoodScore() != null)
-                    .mapToInt(EmotionDiary::getMoodScore)
-                    .average();
-
-            double avgMoodScore = avgMood.orElse(5.0);
-            int avgRiskLevel = moodScoreToRiskLevel(avgMoodScore);
-
-            // --- Trend: compare first half vs second half mood scores ---
-            int mid = diaries.size() / 2;
-            double firstHalfAvg  = diaries.subList(0, Math.max(mid, 1)).stream()
-                    .filter(d -> d.getMoodScore() != null)
-                    .mapToInt(EmotionDiary::getMoodScore).average().orElse(5.0);
-            double secondHalfAvg = diaries.subList(Math.max(mid, 1), diaries.size()).stream()
-                    .filter(d -> d.getMoodScore() != null)
-                    .mapToInt(EmotionDiary::getMoodScore).average().orElse(5.0);
-
-            String trend = secondHalfAvg > firstHalfAvg + 0.5 ? "IMPROVING"
-                         : secondHalfAvg < firstHalfAvg - 0.5 ? "WORSENING"
-                         : "STABLE";
-
-            String summary = String.format(
-                    "Over the past %d days, %s appears most frequently. " +
-                    "Average mood score is %.1f/10. Trend: %s.",
-                    days, topEmotion, avgMoodScore, trend);
-
-            log.info("Emotion trend — userId={}, topEmotion={}, trend={}, avgMood={}",
-                    userId, topEmotion, trend, avgMoodScore);
-
-            return new AiStructuredOutput.EmotionTrendResult(
-                    userId, days,
-                    dominantEmotions, topEmotion,
-                    avgRiskLevel, trend,
-                    diaries.size(), summary,
-                    Instant.now().toString()
-            );
-
-        } catch (Exception e) {
-            log.error("Failed to fetch emotion trend for userId={}", userId, e);
-            return new AiStructuredOutput.EmotionTrendResult(
-                    userId, days,
-                    List.of(), "error",
-                    0, "ERROR", 0,
-                    "Failed to retrieve trend: " + e.getMessage(),
-                    Instant.now().toString()
-            );
-        }
+        // Cached per (user, days) until the user's diaries change
+        return emotionTrendService.getTrend(userId, days);
     }
 
 
@@ -488,26 +349,4 @@ public class Tools {
             return null;
         }
     }
-
-    /** Map emotion keyword to knowledge_category.category_code fragment */
-    private String mapEmotionToCategoryCode(String emotion) {
-        if (emotion == null) return "wellness";
-        return switch (emotion.toLowerCase()) {
-            case "anxious", "anxiety", "panic", "worry"         -> "anxiety";
-            case "sad", "sadness", "grief", "depressed",
-                 "depression", "hopeless"                        -> "depression";
-            case "angry", "anger", "frustrated", "frustration"  -> "anger";
-            case "lonely", "loneliness", "isolated"             -> "loneliness";
-            case "stress", "stressed", "overwhelm", "burnout"   -> "stress";
-            default                                              -> "wellness";
-        };
-    }
-
-    /** Convert mood score (1–10) to risk level (0–3) */
-    private int moodScoreToRiskLevel(double moodScore) {
-        if (moodScore >= 7) return 0;
-        if (moodScore >= 5) return 1;
-        if (moodScore >= 3) return 2;
-        return 3;
-    }
 }
@@ -0,0 +1,64 @@
+package com.emosync.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Article Audit Configuration
+ *
+ * Publishing puts an article into PENDING_AUDIT and onto an audit queue: the local
+ * sensitive-word pass decides clear cases, borderline articles are audited by the
+ * LLM in batches, and the verdict publishes or holds (REJECTED) the article.
+ * Articles no audit can decide wait in PENDING_REVIEW for an admin and are not re-queued.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "article.audit")
+public class ArticleAuditConfig {
+
+    /**
+     * Whether publishing goes through the audit (false: publish immediately as before)
+     */
+    private boolean enabled = true;
+
+    /**
+     * Whether borderline articles are audited by the LLM (false: they are held in PENDING_REVIEW)
+     */
+    private boolean aiEnabled = true;
+
+    /**
+     * Maximum articles audited in one LLM call
+     */
+    private int batchSize = 5;
+
+    /**
+     * Maximum time a borderline article waits for its batch to fill (milliseconds)
+     */
+    private long batchWindowMs = 2000;
+
+    /**
+     * Maximum concurrent LLM audit calls
+     */
+    private int concurrency = 2;
+
+    /**
+     * Article text sent to the LLM is truncated to this many characters
+     */
+    private int maxContentChars = 4000;
+
+    /**
+     * LLM audit attempts (failed calls or missing verdicts) before an article is held in PENDING_REVIEW
+     */
+    private int maxAiAttempts = 3;
+
+    /**
+     * How often pending articles are re-queued (startup recovery, failed audits, bulk imports; milliseconds)
+     */
+    private long sweepIntervalMs = 300000;
+
+    /**
+     * Maximum queued articles; submissions beyond it are picked up by the next sweep
+     */
+    private int queueCapacity = 10000;
+}
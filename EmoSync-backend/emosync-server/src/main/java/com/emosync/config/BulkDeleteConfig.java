@@ -0,0 +1,42 @@
+package com.emosync.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bulk Delete Configuration
+ *
+ * Large deletions run in the background as a series of short DELETE ... LIMIT
+ * transactions instead of one long transaction on the request thread.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "bulk-delete")
+public class BulkDeleteConfig {
+
+    /**
+     * Rows removed per DELETE statement / transaction
+     */
+    private int chunkSize = 5000;
+
+    /**
+     * Sessions with more messages than this are deleted asynchronously
+     */
+    private int asyncMessageThreshold = 5000;
+
+    /**
+     * Background threads running chunked deletions
+     */
+    private int threads = 1;
+
+    /**
+     * Maximum IDs per IN (...) list in batch deletes
+     */
+    private int maxIdsPerStatement = 500;
+
+    /**
+     * How often session deletions that failed or were lost on restart are resumed (milliseconds)
+     */
+    private long sweepIntervalMs = 300000;
+}
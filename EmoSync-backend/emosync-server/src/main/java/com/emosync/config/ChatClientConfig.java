@@ -1,13 +1,24 @@
 package com.emosync.config;
 
+import com.emosync.ai.RoutingChatModel;
 import com.emosync.ai.Tools;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.chat.client.advisor.MessageChatMemoryAdvisor;
 import org.springframework.ai.chat.memory.ChatMemory;
 import org.springframework.ai.chat.memory.MessageWindowChatMemory;
+import org.springframework.ai.chat.model.ChatModel;
 import org.springframework.ai.openai.OpenAiChatModel;
+import org.springframework.ai.openai.OpenAiChatOptions;
+import org.springframework.ai.openai.api.OpenAiApi;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.util.ArrayList;
+import java.util.List;
 
 @Configuration
 public class ChatClientConfig {
@@ -28,13 +39,46 @@ public class ChatClientConfig {
 
 
 
+    /**
+     * Latency-aware routing over the configured OpenAI-compatible endpoints; as the primary
+     * ChatModel it replaces the auto-configured model wherever a ChatModel is injected
+     *
+     * @return RoutingChatModel wrapping the default model and chat.llm-routing.endpoints
+     */
+    @Bean(destroyMethod = "shutdown")
+    @Primary
+    @ConditionalOnProperty(prefix = "chat.llm-routing", name = "enabled", havingValue = "true")
+    public RoutingChatModel routingChatModel(LlmRoutingConfig config,
+                                             ObjectProvider<OpenAiChatModel> defaultChatModel,
+                                             MeterRegistry meterRegistry) {
+        List<RoutingChatModel.Endpoint> endpoints = new ArrayList<>();
+        OpenAiChatModel defaultModel = defaultChatModel.getIfAvailable();
+        if (config.isIncludeDefault() && defaultModel != null) {
+            endpoints.add(new RoutingChatModel.Endpoint("default", defaultModel, null, config.getLatencySamples()));
+        }
+        for (LlmRoutingConfig.Endpoint endpoint : config.getEndpoints()) {
+            OpenAiChatModel model = OpenAiChatModel.builder()
+                    .openAiApi(OpenAiApi.builder()
+                            .baseUrl(endpoint.getBaseUrl())
+                            .apiKey(endpoint.getApiKey())
+                            .build())
+                    .defaultOptions(OpenAiChatOptions.builder()
+                            .model(endpoint.getModel())
+                            .build())
+                    .build();
+            endpoints.add(new RoutingChatModel.Endpoint(endpoint.getName(), model, endpoint.getModel(),
+                    config.getLatencySamples()));
+        }
+        return new RoutingChatModel(config, endpoints, meterRegistry);
+    }
+
     @Bean("open-ai")
     //SiliconFlow
-    public ChatClient openAiChatClient(OpenAiChatModel openAiChatModel,
+    public ChatClient openAiChatClient(ChatModel chatModel,
                                        ChatMemory chatMemory,
                                        Tools tools){
 
-        return ChatClient.builder(openAiChatModel)
+        return ChatClient.builder(chatModel)
                 .defaultAdvisors(
                         MessageChatMemoryAdvisor.builder(chatMemory).build()
                 )
@@ -0,0 +1,48 @@
+package com.emosync.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Chat Stream Limit Configuration
+ *
+ * Quotas applied to /psychological-chat/stream connections.
+ * Each active stream holds an upstream LLM stream and a servlet async context,
+ * so both per-user and global concurrency are bounded.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "chat.stream-limit")
+public class ChatStreamLimitConfig {
+
+    /**
+     * Whether stream limiting is enabled
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum concurrently active streams across all users
+     */
+    private int maxGlobalStreams = 200;
+
+    /**
+     * Maximum concurrently active streams per user
+     */
+    private int maxStreamsPerUser = 2;
+
+    /**
+     * Maximum streams a single user may have waiting in the queue
+     */
+    private int maxQueuedPerUser = 2;
+
+    /**
+     * Maximum streams waiting in the queue across all users
+     */
+    private int maxQueueSize = 500;
+
+    /**
+     * Maximum time a stream may wait for capacity (milliseconds)
+     */
+    private long queueTimeoutMs = 15000;
+}
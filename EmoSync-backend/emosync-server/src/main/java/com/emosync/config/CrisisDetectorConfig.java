@@ -0,0 +1,43 @@
+package com.emosync.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Crisis Detector Configuration
+ *
+ * Every chat message and diary entry is scanned inline against a crisis
+ * phrase list, independently of the LLM, so a crisis flag is raised even
+ * when the model is slow or unavailable.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "crisis.detector")
+public class CrisisDetectorConfig {
+
+    /**
+     * Whether inline crisis detection runs
+     */
+    private boolean enabled = true;
+
+    /**
+     * Phrase list location (classpath: or file:), one "riskLevel|phrase" per line
+     */
+    private String phrasesLocation = "classpath:crisis/phrases.txt";
+
+    /**
+     * How often the phrase list is checked for changes (milliseconds)
+     */
+    private long reloadIntervalMs = 30000;
+
+    /**
+     * Matches at or above this risk level raise a crisis flag
+     */
+    private int alertRiskLevel = 3;
+
+    /**
+     * Minimum time between two detector flags on the same session (minutes)
+     */
+    private int cooldownMinutes = 10;
+}
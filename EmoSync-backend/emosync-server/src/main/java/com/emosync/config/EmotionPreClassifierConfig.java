@@ -0,0 +1,43 @@
+package com.emosync.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Emotion Pre-Classifier Configuration
+ *
+ * Chat messages are scored against a local emotion lexicon first; the LLM
+ * emotion analysis only runs when the local result is ambiguous or the
+ * estimated risk is elevated.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "chat.emotion-preclassifier")
+public class EmotionPreClassifierConfig {
+
+    /**
+     * Whether the local pre-classifier is used (otherwise every message goes to the LLM)
+     */
+    private boolean enabled = true;
+
+    /**
+     * Minimum local confidence (0-1) to accept the local result instead of calling the LLM
+     */
+    private double minConfidence = 0.75;
+
+    /**
+     * Minimum lexicon evidence (sum of matched weights) for a local result
+     */
+    private double minEvidence = 1.0;
+
+    /**
+     * Messages with an estimated risk level at or above this always go to the LLM
+     */
+    private int llmRiskLevel = 1;
+
+    /**
+     * Messages with at most this many tokens, all of them small talk, skip emotion analysis entirely
+     */
+    private int maxTrivialTokens = 4;
+}
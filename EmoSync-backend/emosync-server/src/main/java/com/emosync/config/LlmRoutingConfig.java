@@ -0,0 +1,112 @@
+package com.emosync.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * LLM Routing Configuration
+ *
+ * OpenAI-compatible endpoints the chat model routes between, by observed latency
+ * and health. Short blocking calls can be hedged: a second endpoint is asked when
+ * the first has not answered within its recent p95 latency.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "chat.llm-routing")
+public class LlmRoutingConfig {
+
+    /**
+     * Whether calls are routed; when false the spring.ai.openai model is used directly
+     */
+    private boolean enabled = false;
+
+    /**
+     * Whether the spring.ai.openai endpoint takes part in routing (as "default")
+     */
+    private boolean includeDefault = true;
+
+    /**
+     * Additional OpenAI-compatible endpoints
+     */
+    private List<Endpoint> endpoints = new ArrayList<>();
+
+    /**
+     * Whether short blocking calls are hedged
+     */
+    private boolean hedgeEnabled = true;
+
+    /**
+     * Longest prompt (characters) that is still hedged; longer calls only fail over
+     */
+    private int hedgeMaxPromptChars = 6000;
+
+    /**
+     * Latency quantile of the first endpoint after which the hedge is sent
+     */
+    private double hedgeQuantile = 0.95;
+
+    /**
+     * Lower bound of the hedge delay (milliseconds)
+     */
+    private long minHedgeDelayMs = 300;
+
+    /**
+     * Upper bound of the hedge delay, also used before enough latency samples exist (milliseconds)
+     */
+    private long maxHedgeDelayMs = 5000;
+
+    /**
+     * Maximum threads for routed blocking calls and their hedges; when all are busy calls are not hedged
+     */
+    private int hedgePoolSize = 32;
+
+    /**
+     * Latency samples kept per endpoint for the hedge quantile
+     */
+    private int latencySamples = 100;
+
+    /**
+     * Weight of the newest sample in the latency moving average (0.0 - 1.0)
+     */
+    private double ewmaAlpha = 0.2;
+
+    /**
+     * Consecutive failures after which an endpoint is taken out of rotation
+     */
+    private int failureThreshold = 3;
+
+    /**
+     * Time an unhealthy endpoint stays out of rotation before it is tried again (milliseconds)
+     */
+    private long cooldownMs = 30000;
+
+    /**
+     * Fraction of requests sent to a random healthy endpoint, so slower endpoints keep being measured
+     */
+    private double probeRate = 0.05;
+
+    @Data
+    public static class Endpoint {
+
+        /**
+         * Name used in logs and metric tags
+         */
+        private String name;
+
+        /**
+         * Base URL, e.g. https://api.deepseek.com
+         */
+        private String baseUrl;
+
+        private String apiKey;
+
+        /**
+         * Model to request from this endpoint; empty keeps the model set on the prompt
+         */
+        private String model;
+    }
+}
@@ -0,0 +1,69 @@
+package com.emosync.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Local Emotion Model Configuration
+ *
+ * A naive Bayes model trained on diaries already analysed by the LLM predicts
+ * primaryEmotion / riskLevel in-process. It always serves as a fallback when the
+ * LLM analysis fails and, once its measured agreement is good enough, can answer
+ * confident low-risk texts first so they never reach the paid API.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "chat.local-emotion-model")
+public class LocalEmotionModelConfig {
+
+    /**
+     * Whether the local model is loaded, trained and consulted
+     */
+    private boolean enabled = true;
+
+    /**
+     * Whether confident low-risk predictions replace the LLM call (otherwise shadow mode: compare only)
+     */
+    private boolean firstPass = false;
+
+    /**
+     * Where the trained model is stored between restarts
+     */
+    private String modelPath = "./data/emotion-model.bin";
+
+    /**
+     * Hashed n-gram feature buckets (model size is buckets x labels)
+     */
+    private int featureBuckets = 65536;
+
+    /**
+     * Minimum labelled diaries required to train a model
+     */
+    private int minTrainingSamples = 200;
+
+    /**
+     * Share of diaries (by ID, 0-100) held out to measure model accuracy
+     */
+    private int holdoutPercent = 10;
+
+    /**
+     * Minimum probability of both the emotion and the risk prediction for a first-pass answer
+     */
+    private double minConfidence = 0.85;
+
+    /**
+     * Highest predicted risk level the model may answer on its own
+     */
+    private int firstPassMaxRiskLevel = 0;
+
+    /**
+     * Share of first-pass-eligible texts still sent to the LLM to keep measuring agreement
+     */
+    private double shadowSampleRate = 0.05;
+
+    /**
+     * Diaries read per training query
+     */
+    private int trainingPageSize = 1000;
+}
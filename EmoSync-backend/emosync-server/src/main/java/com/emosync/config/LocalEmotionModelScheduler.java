@@ -0,0 +1,37 @@
+package com.emosync.config;
+
+import com.emosync.ai.LocalEmotionModel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduled task that retrains the local emotion model on newly analysed diaries
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LocalEmotionModelScheduler {
+
+    private final LocalEmotionModelConfig localEmotionModelConfig;
+    private final LocalEmotionModel localEmotionModel;
+
+    /**
+     * Retrain the model
+     * Executes daily at 4:30 AM by default
+     */
+    @Scheduled(cron = "${chat.local-emotion-model.retrain-cron:0 30 4 * * ?}")
+    public void retrain() {
+        if (!localEmotionModelConfig.isEnabled()) {
+            return;
+        }
+        try {
+            log.info("Starting local emotion model training");
+            LocalEmotionModel.TrainingReport report = localEmotionModel.train();
+            log.info("Local emotion model training completed: {}", report);
+        } catch (Exception e) {
+            log.error("Local emotion model training failed", e);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.emosync.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Message Archive Configuration
+ *
+ * Consultation messages older than retentionDays are moved out of the
+ * consultation_message table into compressed, append-only segment files
+ * (one per user per month) and read back on demand.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "message-archive")
+public class MessageArchiveConfig {
+
+    /**
+     * Whether the archive job runs (segments are always readable)
+     */
+    private boolean enabled = false;
+
+    /**
+     * Root directory of segment files
+     */
+    private String path = "./archive/messages";
+
+    /**
+     * Messages older than this many days are archived
+     */
+    private int retentionDays = 365;
+
+    /**
+     * Sessions examined per job batch
+     */
+    private int sessionBatchSize = 200;
+
+    /**
+     * Maximum messages read from one session per round
+     */
+    private int maxMessagesPerRound = 5000;
+}
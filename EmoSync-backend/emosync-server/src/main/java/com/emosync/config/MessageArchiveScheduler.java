@@ -0,0 +1,43 @@
+package com.emosync.config;
+
+import com.emosync.service.MessageArchiveService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Scheduled task that moves old consultation messages into archive segments
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MessageArchiveScheduler {
+
+    private final MessageArchiveConfig messageArchiveConfig;
+    private final MessageArchiveService messageArchiveService;
+
+    /**
+     * Archive messages older than the retention period
+     * Executes daily at 3:30 AM by default
+     */
+    @Scheduled(cron = "${message-archive.cron:0 30 3 * * ?}")
+    public void archiveOldMessages() {
+        if (!messageArchiveConfig.isEnabled()) {
+            return;
+        }
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minusDays(messageArchiveConfig.getRetentionDays());
+            log.info("Starting message archive task, cutoff: {}", cutoff);
+
+            int archived = messageArchiveService.archiveMessagesBefore(cutoff);
+
+            log.info("Message archive task completed, archived messages: {}", archived);
+
+        } catch (Exception e) {
+            log.error("Message archive task failed", e);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.emosync.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Chat Message Write-Behind Configuration
+ *
+ * Messages produced by the streaming chat are queued and inserted in JDBC batches
+ * by background writers instead of on the request path. Sessions are pinned to a
+ * writer, so messages of one session are always inserted in arrival order.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "chat.write-behind")
+public class MessageWriteBehindConfig {
+
+    /**
+     * Whether chat messages are written behind (otherwise saved synchronously)
+     */
+    private boolean enabled = true;
+
+    /**
+     * Number of writer threads; a session always maps to the same writer
+     */
+    private int writers = 2;
+
+    /**
+     * Flush as soon as this many messages are queued on a writer
+     */
+    private int batchSize = 200;
+
+    /**
+     * Flush at least this often while messages are queued (milliseconds)
+     */
+    private long flushIntervalMs = 200;
+
+    /**
+     * Maximum queued messages per writer; producers block when it is full
+     */
+    private int maxPending = 10000;
+
+    /**
+     * Maximum time a producer blocks on a full queue before failing (milliseconds)
+     */
+    private long enqueueTimeoutMs = 2000;
+
+    /**
+     * Attempts for a failed batch before falling back to row-by-row inserts
+     */
+    private int maxRetries = 3;
+
+    /**
+     * Whether queued messages are journaled to local disk before they are acknowledged
+     */
+    private boolean journalEnabled = false;
+
+    /**
+     * Journal directory; unflushed journals are replayed at startup
+     */
+    private String journalPath = "./data/chat-journal";
+
+    /**
+     * Whether every journal append is fsynced before acknowledging
+     */
+    private boolean journalFsync = true;
+}
@@ -162,6 +162,8 @@ public class SecurityConfig {
                         .requestMatchers("/api/psychological-chat/stream").permitAll()
                         // Session start endpoint also needs to be allowed
                         .requestMatchers("/api/psychological-chat/session/start").permitAll()
+                        // Combined session start and first reply stream (SSE)
+                        .requestMatchers("/api/psychological-chat/session/start-stream").permitAll()
                         // Public paths, allow anonymous access
                         .requestMatchers(PUBLIC_PATHS).permitAll()
                         // All other requests require authentication
@@ -0,0 +1,47 @@
+package com.emosync.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sensitive Word Filter Configuration
+ *
+ * User-generated content (article drafts, comments) is screened locally against a
+ * sensitive-word dictionary; only borderline content is escalated to AI audit.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "content.sensitive-words")
+public class SensitiveWordConfig {
+
+    /**
+     * Whether the local sensitive-word pass runs
+     */
+    private boolean enabled = true;
+
+    /**
+     * Dictionary location (classpath: or file:), one "severity|word" per line
+     */
+    private String dictionaryLocation = "classpath:sensitive/words.txt";
+
+    /**
+     * How often the dictionary is checked for changes (milliseconds)
+     */
+    private long reloadIntervalMs = 30000;
+
+    /**
+     * Character used to mask matched words in filtered content
+     */
+    private char maskChar = '*';
+
+    /**
+     * Lowest severity that is escalated to AI audit (low / medium / high)
+     */
+    private String reviewSeverity = "medium";
+
+    /**
+     * Lowest severity that is rejected without AI audit (low / medium / high)
+     */
+    private String rejectSeverity = "high";
+}
@@ -0,0 +1,47 @@
+package com.emosync.config;
+
+import com.emosync.service.ConsultationSessionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduled task that recomputes drifted consultation session counters
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SessionCounterRepairScheduler {
+
+    private final ConsultationSessionService consultationSessionService;
+
+    @Value("${consultation.counter-repair.enabled:true}")
+    private boolean enabled;
+
+    @Value("${consultation.counter-repair.batch-size:1000}")
+    private int batchSize;
+
+    /**
+     * Repair message count / last message / top emotion tag on consultation sessions
+     * Executes shortly after startup, then at the configured interval
+     */
+    @Scheduled(initialDelayString = "${consultation.counter-repair.initial-delay-ms:60000}",
+            fixedDelayString = "${consultation.counter-repair.interval-ms:3600000}")
+    public void repairSessionCounters() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            log.info("Starting consultation session counter repair task");
+
+            int repaired = consultationSessionService.repairMessageStats(batchSize);
+
+            log.info("Consultation session counter repair task completed, repaired sessions: {}", repaired);
+
+        } catch (Exception e) {
+            log.error("Consultation session counter repair task failed", e);
+        }
+    }
+}
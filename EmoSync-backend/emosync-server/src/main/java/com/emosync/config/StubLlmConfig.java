@@ -0,0 +1,53 @@
+package com.emosync.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stub LLM Configuration
+ *
+ * Behaviour of the local stand-in ChatModel used by the "stub-llm" profile.
+ */
+@Data
+@Component
+@Profile("stub-llm")
+@ConfigurationProperties(prefix = "stub-llm")
+public class StubLlmConfig {
+
+    /**
+     * Delay before the first streamed token (milliseconds)
+     */
+    private long timeToFirstTokenMs = 400;
+
+    /**
+     * Streaming speed after the first token
+     */
+    private double tokensPerSecond = 40;
+
+    /**
+     * Number of tokens in a generated chat reply
+     */
+    private int replyTokens = 80;
+
+    /**
+     * Latency of a blocking (non-streaming) call (milliseconds)
+     */
+    private long callLatencyMs = 600;
+
+    /**
+     * Fraction of calls failing with a 5xx error (0.0 - 1.0)
+     */
+    private double errorRate = 0.0;
+
+    /**
+     * Fraction of calls failing with 429 Too Many Requests (0.0 - 1.0)
+     */
+    private double rateLimitRate = 0.0;
+
+    /**
+     * Seed for generated content and error injection
+     */
+    private long seed = 42;
+}
@@ -18,6 +18,7 @@ import com.emosync.DTO.query.ArticleListQueryDTO;
 import com.emosync.DTO.response.ArticleResponseDTO;
 import com.emosync.DTO.response.ArticleSimpleResponseDTO;
 import com.emosync.DTO.response.ArticleStatisticsResponseDTO;
+import com.emosync.enumClass.ArticleStatus;
 import com.emosync.Result.Result;
 import com.emosync.service.KnowledgeArticleService;
 import com.emosync.util.JwtTokenUtils;
@@ -25,6 +26,8 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Objects;
+
 /**
  * Knowledge Article Management Controller
  * @author Yuan
@@ -184,7 +187,9 @@ public class KnowledgeArticleController {
 
         log.info("User publishes knowledge article: userId={}, articleId={}", currentUserId, id);
         ArticleResponseDTO response = knowledgeArticleService.publishArticle(id, currentUserId);
-        return Result.success("Article published successfully", response);
+        String message = Objects.equals(response.getStatus(), ArticleStatus.PENDING_AUDIT.getCode())
+                ? "Article submitted for content audit" : "Article published successfully";
+        return Result.success(message, response);
     }
 
     /**
@@ -1,8 +1,8 @@
 package com.emosync.controller;
 
+import com.emosync.Result.CursorPageResult;
 import com.emosync.Result.PageResult;
 import com.emosync.security.UserDetailsImpl;
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -24,11 +24,14 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 import com.emosync.ai.AiStructuredOutput;
+import com.emosync.ai.ChatSseEvents;
+import com.emosync.ai.ChatStreamLimiter;
 
 import java.time.Duration;
 import java.time.Instant;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -50,6 +53,8 @@ public class PsychologicalChatController {
     private final ConsultationSessionService consultationSessionService;
 
     private final ConsultationMessageService consultationMessageService;
+    private final ChatStreamLimiter chatStreamLimiter;
+    private final ChatSseEvents chatSseEvents;
     private final ObjectMapper objectMapper;
 
     /**
@@ -122,31 +127,40 @@ public class PsychologicalChatController {
             Long userId = getCurrentUserId();
             if (userId == null) {
                 log.error("User not logged in");
-                return Flux.just(createErrorEvent("User not logged in"));
+                return Flux.just(chatSseEvents.error("User not logged in"));
             }
 
             // Validate session ownership
             Long dbSessionId = psychologicalSupportService.extractSessionId(request.sessionId());
             if (dbSessionId == null) {
-                return Flux.just(createErrorEvent("Invalid session ID format"));
+                return Flux.just(chatSseEvents.error("Invalid session ID format"));
             }
 
+            // The only session read of the turn: the entity is passed on to the service
             ConsultationSession session = consultationSessionService.getSessionById(dbSessionId);
             if (session == null) {
-                return Flux.just(createErrorEvent("Session not found"));
+                return Flux.just(chatSseEvents.error("Session not found"));
             }
 
 
             if (!session.getUser().getId().equals(userId)) {
-                return Flux.just(createErrorEvent("Unauthorized access to this session"));
+                return Flux.just(chatSseEvents.error("Unauthorized access to this session"));
             }
 
-            // Start streaming chat
-            return psychologicalSupportService.streamPsychologicalChat(
-                            request.sessionId(),
-                            request.userMessage()
-                    )
-                    .map(fragment -> createMessageEvent(fragment))
+            // Acquire a stream slot (per-user and global quotas)
+            ChatStreamLimiter.Admission admission = chatStreamLimiter.admit(userId);
+            if (admission.getStatus() == ChatStreamLimiter.AdmissionStatus.REJECTED) {
+                return Flux.just(chatSseEvents.busy(admission.getStatus().name(), admission.getReason(), 0),
+                        chatSseEvents.done());
+            }
+
+            Flux<ServerSentEvent<String>> chatStream = admission.awaitPermit()
+                    .flatMapMany(permit -> psychologicalSupportService.streamPsychologicalChat(
+                                    session,
+                                    request.userMessage()
+                            )
+                            .doFinally(signal -> permit.release()))
+                    .map(chatSseEvents::message)
                     .doOnSubscribe(subscription -> {
                         log.info("Started streaming chat, sessionId: {}", request.sessionId());
                     })
@@ -156,15 +170,95 @@ public class PsychologicalChatController {
                     .doOnError(error -> {
                         log.error("Streaming chat error", error);
                     })
+                    .onErrorResume(ChatStreamLimiter.StreamRejectedException.class, error ->
+                            Flux.just(chatSseEvents.busy(ChatStreamLimiter.AdmissionStatus.REJECTED.name(),
+                                    error.getReason(), 0))
+                    )
                     .onErrorResume(error ->
-                            Flux.just(createErrorEvent("Chat service error: " + error.getMessage()))
+                            Flux.just(chatSseEvents.error("Chat service error: " + error.getMessage()))
                     )
-                    .concatWith(Flux.just(createDoneEvent()))
+                    .concatWith(Flux.just(chatSseEvents.done()))
                     .delayElements(Duration.ofMillis(30));
 
+            // Tell the client it is waiting before the first fragment arrives
+            if (admission.getStatus() == ChatStreamLimiter.AdmissionStatus.QUEUED) {
+                return Flux.just(chatSseEvents.busy(admission.getStatus().name(), null, admission.getPosition()))
+                        .concatWith(chatStream);
+            }
+            return chatStream;
+
         } catch (Exception e) {
             log.error("Failed to initialize streaming chat", e);
-            return Flux.just(createErrorEvent("Chat initialization failed: " + e.getMessage()));
+            return Flux.just(chatSseEvents.error("Chat initialization failed: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Start a session and stream the reply to its initial message in one request
+     */
+    @Operation(summary = "Start Chat Session And Stream",
+            description = "Create a session and stream the first reply; the first event carries the sessionId")
+    @PostMapping(value = "/session/start-stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<String>> startAndStreamChat(@RequestBody ConsultationSessionCreateDTO createDTO) {
+        log.info("Received request to start session and stream first reply");
+
+        try {
+            Long userId = getCurrentUserId();
+            if (userId == null) {
+                return Flux.just(chatSseEvents.error("User not logged in"));
+            }
+
+            if (createDTO.getInitialMessage() == null || createDTO.getInitialMessage().trim().isEmpty()) {
+                return Flux.just(chatSseEvents.error("Initial message is required"));
+            }
+
+            // Acquire the stream slot first, so a rejected request does not leave an empty session
+            ChatStreamLimiter.Admission admission = chatStreamLimiter.admit(userId);
+            if (admission.getStatus() == ChatStreamLimiter.AdmissionStatus.REJECTED) {
+                return Flux.just(chatSseEvents.busy(admission.getStatus().name(), admission.getReason(), 0),
+                        chatSseEvents.done());
+            }
+
+            // The session is created by this request, so ownership and duplicate checks are not needed.
+            // Creation is blocking JPA work and may fail, so it runs off the thread that granted the
+            // permit and inside the flux that releases it.
+            Flux<ServerSentEvent<String>> chatStream = admission.awaitPermit()
+                    .flatMapMany(permit -> Mono.fromCallable(() ->
+                                    psychologicalSupportService.createChatSession(userId, createDTO))
+                            .subscribeOn(Schedulers.boundedElastic())
+                            .flatMapMany(session -> {
+                                String sessionId = "session_" + session.getId();
+                                log.info("Psychological support session created, streaming first reply, sessionId: {}",
+                                        sessionId);
+                                return Flux.just(chatSseEvents.session(sessionId))
+                                        .concatWith(psychologicalSupportService
+                                                .streamFirstReply(session, createDTO.getInitialMessage())
+                                                .map(chatSseEvents::message));
+                            })
+                            .doFinally(signal -> permit.release()))
+                    .doOnError(error -> {
+                        log.error("Start-and-stream chat error", error);
+                    })
+                    .onErrorResume(ChatStreamLimiter.StreamRejectedException.class, error ->
+                            Flux.just(chatSseEvents.busy(ChatStreamLimiter.AdmissionStatus.REJECTED.name(),
+                                    error.getReason(), 0))
+                    )
+                    .onErrorResume(error ->
+                            Flux.just(chatSseEvents.error("Chat service error: " + error.getMessage()))
+                    )
+                    .concatWith(Flux.just(chatSseEvents.done()))
+                    .delayElements(Duration.ofMillis(30));
+
+            // Tell the client it is waiting before the session is created
+            if (admission.getStatus() == ChatStreamLimiter.AdmissionStatus.QUEUED) {
+                return Flux.just(chatSseEvents.busy(admission.getStatus().name(), null, admission.getPosition()))
+                        .concatWith(chatStream);
+            }
+            return chatStream;
+
+        } catch (Exception e) {
+            log.error("Failed to initialize start-and-stream chat", e);
+            return Flux.just(chatSseEvents.error("Chat initialization failed: " + e.getMessage()));
         }
     }
 
@@ -304,6 +398,33 @@ public class PsychologicalChatController {
         }
     }
 
+    /**
+     * Search sessions by message content
+     */
+    @Operation(summary = "Search Sessions", description = "Full-text search over message content, best matching sessions first")
+    @GetMapping("/sessions/search")
+    public Result<List<ConsultationSessionResponseDTO>> searchSessions(
+            @Parameter(description = "Keyword") @RequestParam String keyword,
+            @Parameter(description = "User ID (admin only)") @RequestParam(required = false) Long userId) {
+        log.info("Searching sessions, keyword: {}", keyword);
+
+        try {
+            Long currentUserId = getCurrentUserId();
+            if (currentUserId == null) {
+                return Result.error("User not logged in");
+            }
+
+            // Regular users can only search their own sessions
+            Long scopeUserId = isAdmin() ? userId : currentUserId;
+
+            return Result.success(consultationSessionService.searchSessions(scopeUserId, keyword));
+
+        } catch (Exception e) {
+            log.error("Failed to search sessions", e);
+            return Result.error("Failed to search sessions: " + e.getMessage());
+        }
+    }
+
     /**
      * Get session details
      */
@@ -338,7 +459,7 @@ public class PsychologicalChatController {
     /**
      * Get session messages
      */
-    @Operation(summary = "Get Session Messages", description = "Get all messages of a session")
+    @Operation(summary = "Get Session Messages", description = "Get all messages of a session (use /messages/history for long sessions)")
     @GetMapping("/sessions/{sessionId}/messages")
     public Result<List<ConsultationMessageResponseDTO>> getSessionMessages(
             @PathVariable Long sessionId) {
@@ -371,6 +492,47 @@ public class PsychologicalChatController {
         }
     }
 
+    /**
+     * Get session message history by cursor (newest first)
+     */
+    @Operation(summary = "Get Session Message History",
+            description = "Newest-first window of session messages; pass nextCursor to load older messages")
+    @GetMapping("/sessions/{sessionId}/messages/history")
+    public Result<CursorPageResult<ConsultationMessageResponseDTO>> getSessionMessageHistory(
+            @PathVariable Long sessionId,
+            @Parameter(description = "nextCursor from the previous window, empty for the latest messages")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Messages per window (max 100)")
+            @RequestParam(defaultValue = "20") Integer size) {
+        log.info("Getting session message history, sessionId: {}, cursor: {}, size: {}", sessionId, cursor, size);
+
+        try {
+            Long userId = getCurrentUserId();
+            if (userId == null) {
+                return Result.error("User not logged in");
+            }
+
+            // Verify session ownership
+            ConsultationSession session = consultationSessionService.getSessionById(sessionId);
+            if (session == null) {
+                return Result.error("Session not found");
+            }
+
+            if (!session.getUser().getId().equals(userId) && !isAdmin()) {
+                return Result.error("Unauthorized access to this session");
+            }
+
+            CursorPageResult<ConsultationMessageResponseDTO> history =
+                    consultationMessageService.getMessageHistory(sessionId, cursor, size);
+
+            return Result.success(history);
+
+        } catch (Exception e) {
+            log.error("Failed to get session message history", e);
+            return Result.error("Failed to get messages: " + e.getMessage());
+        }
+    }
+
     /**
      * Delete consultation session
      */
@@ -436,53 +598,6 @@ public class PsychologicalChatController {
 
     // ==================== Private Helper Methods ====================
 
-    /**
-     * Create SSE error event
-     */
-    private ServerSentEvent<String> createErrorEvent(String errorMessage) {
-        Map<String, Object> errorData = new HashMap<>();
-        errorData.put("code", 500);
-        errorData.put("message", errorMessage);
-
-        return ServerSentEvent.<String>builder()
-                .event("error")
-                .data(toSseData(Result.error(errorMessage)))
-                .build();
-    }
-
-    /**
-     * Create SSE message event
-     */
-    private ServerSentEvent<String> createMessageEvent(String fragment) {
-        Map<String, Object> messageData = new HashMap<>();
-        messageData.put("content", fragment);
-
-        // Check if it's a risk warning
-        if (fragment.contains("⚠️") || fragment.contains("💡")) {
-            messageData.put("type", "risk");
-            return ServerSentEvent.<String>builder()
-                    .event("risk-warning")
-                    .data(toSseData(Result.success(messageData)))
-                    .build();
-        } else {
-            messageData.put("type", "normal");
-            return ServerSentEvent.<String>builder()
-                    .event("message")
-                    .data(toSseData(Result.success(messageData)))
-                    .build();
-        }
-    }
-
-    /**
-     * Create SSE done event
-     */
-    private ServerSentEvent<String> createDoneEvent() {
-        return ServerSentEvent.<String>builder()
-                .event("done")
-                .data("{}")
-                .build();
-    }
-
     /**
      * Parse emotion analysis JSON to EmotionAnalysisResult
      */
@@ -537,16 +652,4 @@ public class PsychologicalChatController {
             String sessionTitle
     ) {
     }
-
-    /**
-     * Convert object to SSE data format (JSON string)
-     */
-    private String toSseData(Object data) {
-        try {
-            return objectMapper.writeValueAsString(data);
-        } catch (JsonProcessingException e) {
-            log.error("Failed to convert SSE data", e);
-            return "{\"code\":500,\"message\":\"Data formatting failed\"}";
-        }
-    }
-} 
\ No newline at end of file
+}
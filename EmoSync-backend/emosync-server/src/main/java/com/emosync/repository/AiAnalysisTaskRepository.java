@@ -5,8 +5,11 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 @Repository
@@ -18,6 +21,14 @@ public interface AiAnalysisTaskRepository extends JpaRepository<AiAnalysisTask,
 
     Page<AiAnalysisTask> findAll(Specification<AiAnalysisTask> spec, Pageable pageable);
 
+    /**
+     * Delete up to :limit tasks of a user in its own transaction (chunked bulk delete)
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM ai_analysis_task WHERE user_id = :userId LIMIT :limit", nativeQuery = true)
+    int deleteChunkByUserId(@Param("userId") Long userId, @Param("limit") int limit);
+
 
 
 }
@@ -2,9 +2,11 @@ package com.emosync.repository;
 
 import com.emosync.entity.ConsultationMessage;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 @Repository
@@ -16,6 +18,34 @@ public interface ConsultationMessageRepository extends JpaRepository<Consultatio
     @Query("SELECT cm FROM ConsultationMessage cm WHERE cm.content LIKE CONCAT('%', :keyword, '%')")
     List<ConsultationMessage> searchByContent(@Param("keyword") String keyword);
 
+    /**
+     * Full-text search over message content (ft_message_content, ngram parser), ranked by best match per session.
+     * userId null searches all users (admin).
+     * Each row: [sessionId, score]
+     */
+    @Query(value = """
+            SELECT cm.session_id, MAX(MATCH(cm.content) AGAINST(:query IN BOOLEAN MODE)) AS score
+            FROM consultation_message cm
+            JOIN consultation_session cs ON cs.id = cm.session_id
+            WHERE MATCH(cm.content) AGAINST(:query IN BOOLEAN MODE)
+              AND (:userId IS NULL OR cs.user_id = :userId)
+            GROUP BY cm.session_id
+            ORDER BY score DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Object[]> searchSessionIdsByFullText(@Param("query") String query,
+                                              @Param("userId") Long userId,
+                                              @Param("limit") int limit);
+
+    /**
+     * LIKE fallback when the full-text index is not available; returns session IDs only
+     */
+    @Query("SELECT DISTINCT cm.session.id FROM ConsultationMessage cm " +
+            "WHERE cm.content LIKE CONCAT('%', :keyword, '%') AND (:userId IS NULL OR cm.session.user.id = :userId)")
+    List<Long> searchSessionIdsByLike(@Param("keyword") String keyword,
+                                      @Param("userId") Long userId,
+                                      org.springframework.data.domain.Pageable pageable);
+
 
 
     /**
@@ -25,10 +55,24 @@ public interface ConsultationMessageRepository extends JpaRepository<Consultatio
     List<Object[]> findEmotionTagsBySessionIds(@Param("sessionIds") List<Long> sessionIds);
 
     /**
-     * Query all messages for specified sessions
+     * Whether an identical message already exists (used when replaying the write-behind journal)
      */
-    @Query("SELECT cm FROM ConsultationMessage cm WHERE cm.session.id IN :sessionIds ORDER BY cm.createdAt ASC")
-    List<ConsultationMessage> findBySessionIdIn(@Param("sessionIds")List<Long> sessionIds);
+    @Query("SELECT COUNT(cm) > 0 FROM ConsultationMessage cm WHERE cm.session.id = :sessionId " +
+            "AND cm.senderType = :senderType AND cm.createdAt = :createdAt AND cm.content = :content")
+    boolean existsIdentical(@Param("sessionId") Long sessionId,
+                            @Param("senderType") Integer senderType,
+                            @Param("createdAt") java.time.LocalDateTime createdAt,
+                            @Param("content") String content);
+
+    /**
+     * Query emotion tag statistics for sessions started within specified time range
+     * Joins on the session date instead of an IN-list, so only (tag, count) rows are returned
+     */
+    @Query("SELECT cm.emotionTag, COUNT(cm) FROM ConsultationMessage cm " +
+            "WHERE cm.session.startedAt >= :start AND cm.session.startedAt <= :end AND cm.emotionTag <> '' " +
+            "GROUP BY cm.emotionTag ORDER BY COUNT(cm) DESC")
+    List<Object[]> countEmotionTagsBySessionStartedAtBetween(@Param("start") java.time.LocalDateTime start,
+                                                            @Param("end") java.time.LocalDateTime end);
 
     /**
      * Count messages for specified session
@@ -36,6 +80,20 @@ public interface ConsultationMessageRepository extends JpaRepository<Consultatio
     @Query("SELECT COUNT(cm) FROM ConsultationMessage cm WHERE cm.session.id = :sessionId")
     long countBySessionId(@Param("sessionId") Long sessionId);
 
+    /**
+     * Count messages grouped by session for specified session ID list
+     * Each row: [sessionId, count]
+     */
+    @Query("SELECT cm.session.id, COUNT(cm) FROM ConsultationMessage cm WHERE cm.session.id IN :sessionIds GROUP BY cm.session.id")
+    List<Object[]> countBySessionIds(@Param("sessionIds") List<Long> sessionIds);
+
+    /**
+     * Query distinct emotion tags per session, ordered by first appearance within each session
+     * Each row: [sessionId, emotionTag, firstCreatedAt]
+     */
+    @Query("SELECT cm.session.id, cm.emotionTag, MIN(cm.createdAt) FROM ConsultationMessage cm WHERE cm.session.id IN :sessionIds AND cm.emotionTag <> '' GROUP BY cm.session.id, cm.emotionTag ORDER BY cm.session.id, MIN(cm.createdAt) ASC")
+    List<Object[]> findDistinctEmotionTagsBySessionIds(@Param("sessionIds") List<Long> sessionIds);
+
     /**
      * Query messages with specific sender type in specified session
      */
@@ -60,6 +118,24 @@ public interface ConsultationMessageRepository extends JpaRepository<Consultatio
     List<ConsultationMessage> findLatestBySessionId(@Param("sessionId") Long sessionId, org.springframework.data.domain.Pageable pageable);
 
 
+    /**
+     * Newest-first window of a session's messages (first page of the cursor history).
+     * Served by idx_session_message (session_id, created_at); InnoDB appends the primary key, so id breaks ties.
+     */
+    @Query("SELECT cm FROM ConsultationMessage cm WHERE cm.session.id = :sessionId ORDER BY cm.createdAt DESC, cm.id DESC")
+    List<ConsultationMessage> findHistoryPage(@Param("sessionId") Long sessionId, org.springframework.data.domain.Pageable pageable);
+
+    /**
+     * Newest-first window of messages strictly older than the cursor (createdAt, id)
+     */
+    @Query("SELECT cm FROM ConsultationMessage cm WHERE cm.session.id = :sessionId " +
+            "AND (cm.createdAt < :createdAt OR (cm.createdAt = :createdAt AND cm.id < :id)) " +
+            "ORDER BY cm.createdAt DESC, cm.id DESC")
+    List<ConsultationMessage> findHistoryPageBefore(@Param("sessionId") Long sessionId,
+                                                    @Param("createdAt") java.time.LocalDateTime createdAt,
+                                                    @Param("id") Long id,
+                                                    org.springframework.data.domain.Pageable pageable);
+
     /**
      * Batch query latest messages for multiple sessions
      */
@@ -75,6 +151,44 @@ public interface ConsultationMessageRepository extends JpaRepository<Consultatio
             """, nativeQuery = true)
     List<ConsultationMessage> findLatestMessagesBySessionIds(@Param("sessionIds") List<Long> sessionIds);
 
+    /**
+     * Delete all messages of a session with one statement
+     */
+    @Modifying
+    @Query("DELETE FROM ConsultationMessage cm WHERE cm.session.id = :sessionId")
+    int deleteAllBySessionId(@Param("sessionId") Long sessionId);
+
+    /**
+     * Delete up to :limit messages of a session in its own transaction (chunked bulk delete)
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM consultation_message WHERE session_id = :sessionId LIMIT :limit", nativeQuery = true)
+    int deleteChunkBySessionId(@Param("sessionId") Long sessionId, @Param("limit") int limit);
+
+    /**
+     * Delete up to :limit messages across all sessions of a user in its own transaction
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM consultation_message WHERE session_id IN (SELECT id FROM consultation_session WHERE user_id = :userId) LIMIT :limit", nativeQuery = true)
+    int deleteChunkByUserId(@Param("userId") Long userId, @Param("limit") int limit);
+
+    /**
+     * Messages of a session older than the cutoff, oldest first (archive candidates)
+     */
+    @Query("SELECT cm FROM ConsultationMessage cm WHERE cm.session.id = :sessionId AND cm.createdAt < :cutoff ORDER BY cm.createdAt ASC, cm.id ASC")
+    List<ConsultationMessage> findArchivable(@Param("sessionId") Long sessionId,
+                                             @Param("cutoff") java.time.LocalDateTime cutoff,
+                                             org.springframework.data.domain.Pageable pageable);
+
+    /**
+     * Delete messages by ID with one statement
+     */
+    @Modifying
+    @Query("DELETE FROM ConsultationMessage cm WHERE cm.id IN :ids")
+    int deleteByIds(@Param("ids") List<Long> ids);
+
     /**
      * Query messages within specified time range
      */
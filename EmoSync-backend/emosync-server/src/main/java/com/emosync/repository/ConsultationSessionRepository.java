@@ -5,9 +5,11 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -27,6 +29,14 @@ public interface ConsultationSessionRepository extends JpaRepository<Consultatio
     @Query("SELECT DISTINCT cs.user.id FROM ConsultationSession cs WHERE cs.startedAt >= :start AND cs.startedAt <= :end")
     List<Long> findDistinctUserIdsByStartedAtBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
 
+    /**
+     * Count sessions and distinct users per day within specified time range
+     * Returns [date, sessionCount, userCount]
+     */
+    @Query("SELECT CAST(cs.startedAt AS LocalDate), COUNT(cs), COUNT(DISTINCT cs.user.id) FROM ConsultationSession cs " +
+            "WHERE cs.startedAt >= :start AND cs.startedAt <= :end GROUP BY CAST(cs.startedAt AS LocalDate)")
+    List<Object[]> countDailyByStartedAtBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
     /**
      * Count sessions within specified time range
      */
@@ -50,4 +60,140 @@ public interface ConsultationSessionRepository extends JpaRepository<Consultatio
     List<ConsultationSession> findRecentSessions(@Param("limit") int limit);
 
     Page<ConsultationSession> findAll(Specification<ConsultationSession> spec, Pageable pageable);
+
+    /**
+     * Atomically apply one new message to the session's denormalised statistics.
+     * MySQL evaluates SET clauses left to right, so the preview is compared against the old lastMessageAt.
+     * A NULL messageCount stays NULL until the repair job computes it.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ConsultationSession cs SET cs.messageCount = cs.messageCount + 1, " +
+            "cs.lastMessagePreview = CASE WHEN cs.lastMessageAt IS NULL OR cs.lastMessageAt <= :createdAt THEN :preview ELSE cs.lastMessagePreview END, " +
+            "cs.lastMessageAt = CASE WHEN cs.lastMessageAt IS NULL OR cs.lastMessageAt <= :createdAt THEN :createdAt ELSE cs.lastMessageAt END, " +
+            "cs.topEmotionTag = COALESCE(cs.topEmotionTag, :emotionTag) " +
+            "WHERE cs.id = :sessionId")
+    int recordMessage(@Param("sessionId") Long sessionId,
+                      @Param("createdAt") LocalDateTime createdAt,
+                      @Param("preview") String preview,
+                      @Param("emotionTag") String emotionTag);
+
+    /**
+     * Single-column update of the emotion snapshot, last write wins by updatedAt.
+     * A crisis snapshot (crisisFlag = true) can only be replaced by another crisis snapshot.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            UPDATE consultation_session
+            SET last_emotion_analysis = :analysis, last_emotion_updated_at = :updatedAt
+            WHERE id = :sessionId
+              AND (last_emotion_updated_at IS NULL OR last_emotion_updated_at <= :updatedAt)
+              AND (:crisis OR last_emotion_analysis IS NULL
+                   OR COALESCE(last_emotion_analysis ->> '$.crisisFlag', 'false') <> 'true')
+            """, nativeQuery = true)
+    int updateEmotionSnapshot(@Param("sessionId") Long sessionId,
+                              @Param("analysis") String analysis,
+                              @Param("updatedAt") LocalDateTime updatedAt,
+                              @Param("crisis") boolean crisis);
+
+    /**
+     * Apply a batch of new messages of one session to its denormalised statistics (see recordMessage);
+     * createdAt/preview describe the newest message of the batch, emotionTag its first non-empty tag
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ConsultationSession cs SET cs.messageCount = cs.messageCount + :count, " +
+            "cs.lastMessagePreview = CASE WHEN cs.lastMessageAt IS NULL OR cs.lastMessageAt <= :createdAt THEN :preview ELSE cs.lastMessagePreview END, " +
+            "cs.lastMessageAt = CASE WHEN cs.lastMessageAt IS NULL OR cs.lastMessageAt <= :createdAt THEN :createdAt ELSE cs.lastMessageAt END, " +
+            "cs.topEmotionTag = COALESCE(cs.topEmotionTag, :emotionTag) " +
+            "WHERE cs.id = :sessionId")
+    int recordMessages(@Param("sessionId") Long sessionId,
+                       @Param("count") int count,
+                       @Param("createdAt") LocalDateTime createdAt,
+                       @Param("preview") String preview,
+                       @Param("emotionTag") String emotionTag);
+
+    /**
+     * Set the top emotion tag if the session does not have one yet
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ConsultationSession cs SET cs.topEmotionTag = COALESCE(cs.topEmotionTag, :emotionTag) WHERE cs.id = :sessionId")
+    int recordEmotionTag(@Param("sessionId") Long sessionId, @Param("emotionTag") String emotionTag);
+
+    /**
+     * Hide a session ahead of its background deletion; returns 0 when it is already hidden
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ConsultationSession cs SET cs.deletedAt = :deletedAt WHERE cs.id = :sessionId AND cs.deletedAt IS NULL")
+    int markDeleted(@Param("sessionId") Long sessionId, @Param("deletedAt") LocalDateTime deletedAt);
+
+    /**
+     * Sessions hidden for deletion that still exist (their background job failed or never ran)
+     */
+    @Query("SELECT cs.id FROM ConsultationSession cs WHERE cs.deletedAt IS NOT NULL ORDER BY cs.id ASC")
+    List<Long> findDeletedIds(Pageable pageable);
+
+    /**
+     * Delete up to :limit sessions of a user in its own transaction (messages must be removed first)
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM consultation_session WHERE user_id = :userId LIMIT :limit", nativeQuery = true)
+    int deleteChunkByUserId(@Param("userId") Long userId, @Param("limit") int limit);
+
+    /**
+     * Sessions started before the cutoff, after a given ID (archive job paging)
+     * Each row: [sessionId, userId]
+     */
+    @Query("SELECT cs.id, cs.user.id FROM ConsultationSession cs WHERE cs.id > :afterId AND cs.startedAt < :cutoff ORDER BY cs.id ASC")
+    List<Object[]> findArchiveCandidates(@Param("afterId") Long afterId,
+                                         @Param("cutoff") LocalDateTime cutoff,
+                                         Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(cs.id), 0) FROM ConsultationSession cs")
+    Long findMaxId();
+
+    /**
+     * Recompute message statistics for sessions in [fromId, toId] whose count or last message time drifted
+     * (or were never computed). Archived messages are counted from their index blocks; as they are always
+     * older than hot rows, preview and first emotion tag are kept when only the archive has them.
+     * Returns the number of repaired sessions.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            UPDATE consultation_session s
+            LEFT JOIN (
+                SELECT session_id, COUNT(*) AS cnt, MAX(created_at) AS last_at
+                FROM consultation_message
+                WHERE session_id BETWEEN :fromId AND :toId
+                GROUP BY session_id
+            ) m ON m.session_id = s.id
+            LEFT JOIN (
+                SELECT session_id, SUM(message_count) AS cnt, MAX(last_created_at) AS last_at
+                FROM message_archive_block
+                WHERE session_id BETWEEN :fromId AND :toId
+                GROUP BY session_id
+            ) a ON a.session_id = s.id
+            SET s.message_count = COALESCE(m.cnt, 0) + COALESCE(a.cnt, 0),
+                s.last_message_at = COALESCE(m.last_at, a.last_at),
+                s.last_message_preview = COALESCE((
+                    SELECT CASE WHEN CHAR_LENGTH(cm.content) > 100 THEN CONCAT(LEFT(cm.content, 100), '...') ELSE cm.content END
+                    FROM consultation_message cm
+                    WHERE cm.session_id = s.id
+                    ORDER BY cm.created_at DESC, cm.id DESC LIMIT 1), IF(a.cnt IS NULL, NULL, s.last_message_preview)),
+                s.top_emotion_tag = IF(a.cnt IS NULL, (
+                    SELECT cm.emotion_tag
+                    FROM consultation_message cm
+                    WHERE cm.session_id = s.id AND cm.emotion_tag <> ''
+                    ORDER BY cm.created_at ASC, cm.id ASC LIMIT 1), s.top_emotion_tag)
+            WHERE s.id BETWEEN :fromId AND :toId
+              AND (s.message_count IS NULL
+                   OR s.message_count <> COALESCE(m.cnt, 0) + COALESCE(a.cnt, 0)
+                   OR NOT (s.last_message_at <=> COALESCE(m.last_at, a.last_at)))
+            """, nativeQuery = true)
+    int repairMessageStats(@Param("fromId") Long fromId, @Param("toId") Long toId);
 }
@@ -6,9 +6,11 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -83,7 +85,29 @@ public interface EmotionDiaryRepository extends JpaRepository<EmotionDiary, Long
 
     List<EmotionDiary> findByUserIdAndDiaryDateBetween(Long userId, LocalDate start, LocalDate end);
 
+    /**
+     * Latest diaries of a user as [diaryDate, moodScore, dominantEmotion, emotionTriggers] (chat context)
+     */
+    @Query("SELECT e.diaryDate, e.moodScore, e.dominantEmotion, e.emotionTriggers FROM EmotionDiary e " +
+            "WHERE e.user.id = :userId ORDER BY e.diaryDate DESC, e.createdAt DESC")
+    List<Object[]> findRecentHighlights(@Param("userId") Long userId, Pageable pageable);
+
 
 
     Page<EmotionDiary> findAll(Specification<EmotionDiary> spec, Pageable pageable);
+
+    /**
+     * Delete up to :limit diaries of a user in its own transaction (chunked bulk delete)
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM emotion_diary WHERE user_id = :userId LIMIT :limit", nativeQuery = true)
+    int deleteChunkByUserId(@Param("userId") Long userId, @Param("limit") int limit);
+
+    /**
+     * Diaries with an AI analysis after an ID, as [id, diaryContent, aiEmotionAnalysis] (local model training)
+     */
+    @Query("SELECT e.id, e.diaryContent, e.aiEmotionAnalysis FROM EmotionDiary e " +
+            "WHERE e.id > :afterId AND e.aiEmotionAnalysis IS NOT NULL AND e.diaryContent IS NOT NULL ORDER BY e.id")
+    List<Object[]> findAnalysedAfter(@Param("afterId") Long afterId, Pageable pageable);
 }
@@ -10,6 +10,7 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -21,6 +22,14 @@ public interface KnowledgeArticleRepository extends JpaRepository<KnowledgeArtic
     List<KnowledgeArticle> findByCategoryIdOrderByPublishedAtDesc(Long categoryId);
 
 
+    /**
+     * id, title, summary and tags of published articles, newest first (all categories when categoryId is null)
+     */
+    @Query("SELECT a.id, a.title, a.summary, a.tags FROM KnowledgeArticle a " +
+            "WHERE a.status = 1 AND (:categoryId IS NULL OR a.category.id = :categoryId) " +
+            "ORDER BY a.publishedAt DESC")
+    List<Object[]> findPublishedSummaries(@Param("categoryId") Long categoryId, Pageable pageable);
+
     long countByStatus(Integer status);
 
     /** Count if articles exist under category (for delete validation) */
@@ -34,4 +43,36 @@ public interface KnowledgeArticleRepository extends JpaRepository<KnowledgeArtic
 
     @Query("SELECT COUNT(a) FROM KnowledgeArticle a WHERE a.category.id = :categoryId AND a.status = 1")
     Long countPublishedArticlesByCategory(@Param("categoryId") Long id);
+
+    /** Existing article IDs among the given ones */
+    @Query("SELECT a.id FROM KnowledgeArticle a WHERE a.id IN :ids")
+    List<String> findExistingIds(@Param("ids") List<String> ids);
+
+    /** Article IDs among the given ones that were written by the author */
+    @Query("SELECT a.id FROM KnowledgeArticle a WHERE a.id IN :ids AND a.author.id = :authorId")
+    List<String> findIdsByAuthor(@Param("ids") List<String> ids, @Param("authorId") Long authorId);
+
+    /** IDs of articles in a status, oldest change first */
+    @Query("SELECT a.id FROM KnowledgeArticle a WHERE a.status = :status ORDER BY a.updatedAt")
+    List<String> findIdsByStatus(@Param("status") Integer status, Pageable pageable);
+
+    /**
+     * Apply an audit verdict, only if the article is still pending and unchanged since it was audited
+     * (publishedAt is set on first publication)
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE KnowledgeArticle a SET a.status = :status, a.updatedAt = :now, " +
+            "a.publishedAt = CASE WHEN :status = 1 AND a.publishedAt IS NULL THEN :now ELSE a.publishedAt END " +
+            "WHERE a.id = :id AND a.status = :pending AND a.updatedAt = :version")
+    int applyAuditVerdict(@Param("id") String id,
+                          @Param("pending") Integer pending,
+                          @Param("version") LocalDateTime version,
+                          @Param("status") Integer status,
+                          @Param("now") LocalDateTime now);
+
+    /** Delete articles with one statement (favorites must be removed first) */
+    @Modifying
+    @Query("DELETE FROM KnowledgeArticle a WHERE a.id IN :ids")
+    int deleteByIds(@Param("ids") List<String> ids);
 }
@@ -0,0 +1,53 @@
+package com.emosync.repository;
+
+import com.emosync.entity.MessageArchiveBlock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface MessageArchiveBlockRepository extends JpaRepository<MessageArchiveBlock, Long> {
+
+    /**
+     * Archive blocks of a session in chronological order
+     */
+    @Query("SELECT b FROM MessageArchiveBlock b WHERE b.sessionId = :sessionId ORDER BY b.firstCreatedAt ASC, b.id ASC")
+    List<MessageArchiveBlock> findBySessionIdOrdered(@Param("sessionId") Long sessionId);
+
+    /**
+     * Archive blocks of a session that start at or before the given time, newest first;
+     * all blocks when {@code before} is null
+     */
+    @Query("SELECT b FROM MessageArchiveBlock b WHERE b.sessionId = :sessionId " +
+            "AND (:before IS NULL OR b.firstCreatedAt <= :before) ORDER BY b.firstCreatedAt DESC, b.id DESC")
+    List<MessageArchiveBlock> findBySessionIdStartingBefore(@Param("sessionId") Long sessionId,
+                                                           @Param("before") LocalDateTime before);
+
+    List<MessageArchiveBlock> findBySessionId(Long sessionId);
+
+    boolean existsByUserIdAndSegmentMonth(Long userId, String segmentMonth);
+
+    /**
+     * Total archived messages of a session
+     */
+    @Query("SELECT COALESCE(SUM(b.messageCount), 0) FROM MessageArchiveBlock b WHERE b.sessionId = :sessionId")
+    long sumMessageCountBySessionId(@Param("sessionId") Long sessionId);
+
+    boolean existsBySessionId(Long sessionId);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM MessageArchiveBlock b WHERE b.sessionId = :sessionId")
+    int deleteBySessionId(@Param("sessionId") Long sessionId);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM MessageArchiveBlock b WHERE b.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+}
@@ -5,9 +5,11 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -43,4 +45,19 @@ public interface UserFavoriteRepository extends JpaRepository<UserFavorite, Long
         group by f.knowledgeArticle.id
     """)
     List<Object[]> countFavoritesGroupedByArticleIds(@Param("articleIds") List<String> articleIds);
+
+    /**
+     * Delete favorites of the given articles with one statement
+     */
+    @Modifying
+    @Query("DELETE FROM UserFavorite f WHERE f.knowledgeArticle.id IN :articleIds")
+    int deleteByArticleIds(@Param("articleIds") List<String> articleIds);
+
+    /**
+     * Delete up to :limit favorites of a user in its own transaction (chunked bulk delete)
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM user_favorite WHERE user_id = :userId LIMIT :limit", nativeQuery = true)
+    int deleteChunkByUserId(@Param("userId") Long userId, @Param("limit") int limit);
 }
@@ -74,5 +74,11 @@ public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificat
     List<Long> findActiveUserIdsBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
 
     boolean existsByIdAndUserType(Long id, Integer userType);
+
+    /**
+     * Find users whose password is not yet BCrypt-encoded
+     */
+    @Query("SELECT u FROM User u WHERE u.password NOT LIKE '$2a$%'")
+    List<User> findWithUnencodedPassword();
 }
 
@@ -16,13 +16,11 @@ public class PasswordEncryptionRunner implements CommandLineRunner {
     @Override
     public void run(String... args) {
 
-        //  encode all user password
-        userRepository.findAll().forEach(user -> {
-            if (!user.getPassword().startsWith("$2a$")) {
-                user.setPassword(passwordEncoder.encode(user.getPassword()));
-                userRepository.save(user);
-                System.out.println("Encrypted user: " + user.getUsername());
-            }
+        //  encode plain-text passwords only, avoid loading every user on large datasets
+        userRepository.findWithUnencodedPassword().forEach(user -> {
+            user.setPassword(passwordEncoder.encode(user.getPassword()));
+            userRepository.save(user);
+            System.out.println("Encrypted user: " + user.getUsername());
         });
     }
 }
\ No newline at end of file
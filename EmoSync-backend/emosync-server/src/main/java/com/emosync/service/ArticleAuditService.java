@@ -0,0 +1,34 @@
+package com.emosync.service;
+
+import java.util.Collection;
+
+/**
+ * Asynchronous content audit of knowledge articles awaiting publication
+ */
+public interface ArticleAuditService {
+
+    /**
+     * Whether publishing goes through the audit
+     */
+    boolean isEnabled();
+
+    /**
+     * Queue a PENDING_AUDIT article; inside a transaction it is queued after commit
+     */
+    void submit(String articleId);
+
+    /**
+     * Queue several PENDING_AUDIT articles (bulk imports)
+     */
+    void submitAll(Collection<String> articleIds);
+
+    /**
+     * Re-queue every PENDING_AUDIT article, returns the number queued
+     */
+    int requeuePending();
+
+    /**
+     * Number of articles waiting in the queue
+     */
+    int getQueuedCount();
+}
@@ -0,0 +1,27 @@
+package com.emosync.service;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Chunked background deletion for large data sets
+ */
+public interface BulkDeleteService {
+
+    /**
+     * Delete a session and all of its messages in the background.
+     * The session must already be hidden (deletedAt set); the future fails when the job fails.
+     */
+    CompletableFuture<Integer> deleteSessionAsync(Long sessionId);
+
+    /**
+     * Queue deletion jobs for hidden sessions that still exist (failed or lost jobs)
+     * @return Number of sessions queued
+     */
+    int resumeSessionDeletes();
+
+    /**
+     * Delete a user's whole history (favorites, messages, sessions, AI tasks, diaries),
+     * then the user row, in the background
+     */
+    CompletableFuture<Integer> purgeUserAsync(Long userId);
+}
@@ -0,0 +1,24 @@
+package com.emosync.service;
+
+/**
+ * Context a chat session's first reply needs (emotion trend, recent diaries, matching articles),
+ * fetched in parallel when the session starts
+ */
+public interface ChatContextPrefetchService {
+
+    /**
+     * Start fetching the context of a new session in the background
+     */
+    void prefetch(Long dbSessionId, Long userId, String initialMessage);
+
+    /**
+     * Context block for the session's first prompt, or null when none was prefetched or it is not
+     * ready in time; the context is handed out once
+     */
+    String takeContext(Long dbSessionId);
+
+    /**
+     * Drop the session's context (session ended)
+     */
+    void discard(Long dbSessionId);
+}
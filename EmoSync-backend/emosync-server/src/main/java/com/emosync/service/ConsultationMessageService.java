@@ -1,10 +1,12 @@
 package com.emosync.service;
 
 import com.emosync.DTO.response.ConsultationMessageResponseDTO;
+import com.emosync.Result.CursorPageResult;
 import com.emosync.entity.ConsultationMessage;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
 @Service
 public interface ConsultationMessageService {
 
@@ -14,13 +16,39 @@ public interface ConsultationMessageService {
 
     List<ConsultationMessageResponseDTO> getMessagesBySessionId(Long sessionId);
 
+    /**
+     * Newest-first window of a session's messages
+     * @param cursor nextCursor from the previous window, null for the latest messages
+     */
+    CursorPageResult<ConsultationMessageResponseDTO> getMessageHistory(Long sessionId, String cursor, int size);
+
     Integer getMessageCountBySessionId(Long sessionId);
 
     ConsultationMessageResponseDTO getLastMessageBySessionId(Long sessionId);
 
     List<String> getEmotionTagsBySessionId(Long sessionId);
 
+    /**
+     * Batch variants for list pages: one query each regardless of how many sessions are passed
+     */
+    Map<Long, Integer> getMessageCountsBySessionIds(List<Long> sessionIds);
+
+    Map<Long, ConsultationMessageResponseDTO> getLastMessagesBySessionIds(List<Long> sessionIds);
+
+    Map<Long, List<String>> getEmotionTagsBySessionIds(List<Long> sessionIds);
+
+    /**
+     * Apply a newly saved message to its session's denormalised counters (count, last message, top emotion tag)
+     */
+    void recordMessageStats(ConsultationMessage message);
+
     List<Long> searchSessionIdsByKeyword(String keyword);
 
+    /**
+     * Session IDs whose messages match the keyword, best match first
+     * @param userId Restrict to one user's sessions, null for all users
+     */
+    List<Long> searchSessionIdsByKeyword(Long userId, String keyword, int limit);
+
     int deleteMessagesBySessionId(Long sessionId);
 }
@@ -7,6 +7,8 @@ import com.emosync.Result.PageResult;
 import com.emosync.entity.ConsultationSession;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
 public interface ConsultationSessionService {
     ConsultationSession createSession(Long userId, ConsultationSessionCreateDTO createDTO);
@@ -16,4 +18,17 @@ public interface ConsultationSessionService {
     ConsultationSessionResponseDTO getSessionDetail(Long sessionId);
     boolean deleteSession(Long sessionId);
     boolean updateSessionTitle(Long sessionId, Long userId, String newTitle);
+
+    /**
+     * Sessions whose messages match the keyword, best match first
+     * @param userId Restrict to one user's sessions, null for all users
+     */
+    List<ConsultationSessionResponseDTO> searchSessions(Long userId, String keyword);
+
+    /**
+     * Recompute denormalised message statistics that drifted or were never computed
+     * @param batchSize Sessions per id range (one transaction each)
+     * @return Number of repaired sessions
+     */
+    int repairMessageStats(int batchSize);
 }
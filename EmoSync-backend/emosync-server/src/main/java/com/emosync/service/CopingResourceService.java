@@ -0,0 +1,22 @@
+package com.emosync.service;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Coping resources for an emotion, served from an in-memory index of published articles
+ * that is rebuilt after article or category changes
+ */
+public interface CopingResourceService {
+
+    /**
+     * Up to the configured number of published article summaries for an emotion keyword
+     * (general advice when nothing matches)
+     */
+    List<Map<String, String>> getResources(String primaryEmotion);
+
+    /**
+     * Drop the index; call on every article or category write (repeated after commit inside a transaction)
+     */
+    void invalidate();
+}
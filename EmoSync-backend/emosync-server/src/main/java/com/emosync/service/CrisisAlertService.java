@@ -0,0 +1,23 @@
+package com.emosync.service;
+
+/**
+ * Crisis flagging shared by the LLM crisis tool and the inline crisis detector
+ */
+public interface CrisisAlertService {
+
+    String SOURCE_LLM = "llm";
+    String SOURCE_DETECTOR = "detector";
+
+    /**
+     * Persist a crisis flag message and crisis snapshot on the session and emit the alert
+     *
+     * @param source who raised it, SOURCE_LLM or SOURCE_DETECTOR
+     * @return false if skipped (session missing, or detector flag within the cooldown)
+     */
+    boolean raiseSessionCrisis(Long sessionId, Long userId, int riskLevel, String reason, String source);
+
+    /**
+     * Emit a crisis alert for a diary entry
+     */
+    void raiseDiaryCrisis(Long diaryId, Long userId, int riskLevel, String reason);
+}
@@ -0,0 +1,22 @@
+package com.emosync.service;
+
+/**
+ * Coalescing writer for session emotion snapshots (consultation_session.last_emotion_analysis)
+ */
+public interface EmotionSnapshotService {
+
+    /**
+     * Queue a snapshot; pending snapshots of the same session collapse into the latest one
+     */
+    void submit(Long sessionId, String analysisJson);
+
+    /**
+     * Write a crisis snapshot immediately; later normal snapshots never replace it
+     */
+    void submitCrisis(Long sessionId, String analysisJson);
+
+    /**
+     * Write all pending snapshots
+     */
+    void flush();
+}
@@ -0,0 +1,19 @@
+package com.emosync.service;
+
+import com.emosync.ai.AiStructuredOutput;
+
+/**
+ * Diary emotion trend of a user, cached per (user, days) until the user's diaries change
+ */
+public interface EmotionTrendService {
+
+    /**
+     * Emotion trend over the last days (served from cache when the user's diaries are unchanged)
+     */
+    AiStructuredOutput.EmotionTrendResult getTrend(Long userId, int days);
+
+    /**
+     * Drop cached trends of a user; call on every diary write (deferred to commit inside a transaction)
+     */
+    void invalidateUser(Long userId);
+}
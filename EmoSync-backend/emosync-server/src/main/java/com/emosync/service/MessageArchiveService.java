@@ -0,0 +1,45 @@
+package com.emosync.service;
+
+import com.emosync.entity.ConsultationMessage;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Cold-tier archive of consultation messages in compressed segment files
+ */
+public interface MessageArchiveService {
+
+    /**
+     * Move messages created before the cutoff into archive segments
+     * @return Number of archived messages
+     */
+    int archiveMessagesBefore(LocalDateTime cutoff);
+
+    /**
+     * Archived messages of a session, oldest first (detached entities)
+     */
+    List<ConsultationMessage> getArchivedMessages(Long sessionId);
+
+    /**
+     * Up to {@code limit} archived messages strictly older than the (createdAt, id) cursor, newest first.
+     * Only blocks starting at or before the cursor are read; a null cursor starts from the newest block.
+     */
+    List<ConsultationMessage> getArchivedMessagesBefore(Long sessionId, LocalDateTime beforeCreatedAt,
+                                                        Long beforeId, int limit);
+
+    boolean hasArchivedMessages(Long sessionId);
+
+    long countArchivedMessages(Long sessionId);
+
+    /**
+     * Overwrite a session's archived blocks with zeros, drop their index entries and remove
+     * segment files no longer referenced by any block
+     */
+    void deleteSessionArchive(Long sessionId);
+
+    /**
+     * Drop a user's archive index entries and segment files
+     */
+    void deleteUserArchive(Long userId);
+}
@@ -0,0 +1,24 @@
+package com.emosync.service;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Write-behind persistence of chat messages
+ */
+public interface MessageWriteBehindService {
+
+    /**
+     * Queue a user message; the future completes once it is committed to the database
+     */
+    CompletableFuture<Void> saveUserMessage(Long sessionId, String content, String emotionTag);
+
+    /**
+     * Queue an AI reply; the future completes once it is committed to the database
+     */
+    CompletableFuture<Void> saveAiMessage(Long sessionId, String content, String aiModel);
+
+    /**
+     * Number of queued messages not yet committed
+     */
+    int getPendingCount();
+}
@@ -2,13 +2,18 @@ package com.emosync.service;
 
 import com.emosync.DTO.command.ConsultationSessionCreateDTO;
 import com.emosync.ai.AiStructuredOutput;
+import com.emosync.entity.ConsultationSession;
 import reactor.core.publisher.Flux;
 
 public interface PsychologicalSupportService {
     AiStructuredOutput.StreamChatSession startChatSession(Long userId,
                                                           ConsultationSessionCreateDTO createDTO);
 
-    Flux<String> streamPsychologicalChat(String sessionId, String userMessage);
+    ConsultationSession createChatSession(Long userId, ConsultationSessionCreateDTO createDTO);
+
+    Flux<String> streamPsychologicalChat(ConsultationSession dbSession, String userMessage);
+
+    Flux<String> streamFirstReply(ConsultationSession dbSession, String userMessage);
 
     boolean endChatSession(String sessionId);
 
@@ -22,6 +27,12 @@ public interface PsychologicalSupportService {
 
     AiStructuredOutput.EmotionAnalysisResult analyzeUserEmotion(String content);
 
+    /**
+     * Emotion analysis where the local model sees {@code modelText} (the same kind of text it was
+     * trained on) and the LLM sees {@code content}, e.g. raw diary text vs. diary text with its scores
+     */
+    AiStructuredOutput.EmotionAnalysisResult analyzeUserEmotion(String modelText, String content);
+
     void runAsyncEmotionAnalysis(Long dbSessionId, String userMessage);
 
     String cleanJsonString(String text);
@@ -0,0 +1,369 @@
+package com.emosync.service.serviceImpl;
+
+import com.emosync.ai.AiStructuredOutput;
+import com.emosync.ai.PromptManager;
+import com.emosync.ai.SensitiveWordFilter;
+import com.emosync.config.ArticleAuditConfig;
+import com.emosync.entity.KnowledgeArticle;
+import com.emosync.enumClass.ArticleStatus;
+import com.emosync.repository.KnowledgeArticleRepository;
+import com.emosync.service.ArticleAuditService;
+import com.emosync.service.CopingResourceService;
+import com.emosync.util.DateUtils;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.messages.SystemMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ArticleAuditServiceImpl implements ArticleAuditService {
+
+    private static final int SWEEP_PAGE_SIZE = 500;
+
+    private final ArticleAuditConfig articleAuditConfig;
+    private final KnowledgeArticleRepository articleRepository;
+    private final SensitiveWordFilter sensitiveWordFilter;
+    private final CopingResourceService copingResourceService;
+    private final ChatModel chatModel;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    /** IDs in the queue, so an article is queued at most once */
+    private final Set<String> queued = ConcurrentHashMap.newKeySet();
+
+    /** Failed LLM audits per article since its last verdict */
+    private final Map<String, Integer> aiAttempts = new ConcurrentHashMap<>();
+
+    private BlockingQueue<String> queue;
+    private ExecutorService aiExecutor;
+    private Thread dispatcher;
+    private volatile boolean running;
+
+    /**
+     * Article that passed the local pass as borderline; version is its updatedAt when audited
+     */
+    private record AuditItem(String articleId, LocalDateTime version, String text,
+                             AiStructuredOutput.SensitiveWordResult localResult) {
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!articleAuditConfig.isEnabled()) {
+            return;
+        }
+        queue = new LinkedBlockingQueue<>(articleAuditConfig.getQueueCapacity());
+        AtomicInteger threadIndex = new AtomicInteger();
+        aiExecutor = Executors.newFixedThreadPool(Math.max(1, articleAuditConfig.getConcurrency()), runnable -> {
+            Thread thread = new Thread(runnable, "article-audit-ai-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        running = true;
+        dispatcher = new Thread(this::dispatch, "article-audit-dispatcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+        log.info("Article audit started, AI audit: {}, batch size: {}, concurrency: {}",
+                articleAuditConfig.isAiEnabled(), articleAuditConfig.getBatchSize(), articleAuditConfig.getConcurrency());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (dispatcher == null) {
+            return;
+        }
+        // Unfinished articles stay PENDING_AUDIT and are re-queued by the next sweep
+        running = false;
+        dispatcher.interrupt();
+        aiExecutor.shutdown();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return articleAuditConfig.isEnabled();
+    }
+
+    @Override
+    public void submit(String articleId) {
+        if (queue == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // The audit must see the committed article
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(articleId);
+                }
+            });
+        } else {
+            enqueue(articleId);
+        }
+    }
+
+    @Override
+    public void submitAll(Collection<String> articleIds) {
+        articleIds.forEach(this::submit);
+    }
+
+    @Override
+    @Scheduled(initialDelayString = "${article.audit.sweep-interval-ms:300000}",
+            fixedDelayString = "${article.audit.sweep-interval-ms:300000}")
+    public int requeuePending() {
+        if (queue == null) {
+            return 0;
+        }
+        int count = 0;
+        int page = 0;
+        while (true) {
+            List<String> ids = articleRepository.findIdsByStatus(ArticleStatus.PENDING_AUDIT.getCode(),
+                    PageRequest.of(page++, SWEEP_PAGE_SIZE));
+            for (String id : ids) {
+                if (enqueue(id)) {
+                    count++;
+                }
+            }
+            if (ids.size() < SWEEP_PAGE_SIZE) {
+                break;
+            }
+        }
+        if (count > 0) {
+            log.info("Re-queued pending articles for audit: {}", count);
+        }
+        return count;
+    }
+
+    @Override
+    public int getQueuedCount() {
+        return queued.size();
+    }
+
+    private boolean enqueue(String articleId) {
+        if (!queued.add(articleId)) {
+            return false;
+        }
+        if (!queue.offer(articleId)) {
+            queued.remove(articleId);
+            log.warn("Article audit queue full, left for the next sweep: {}", articleId);
+            return false;
+        }
+        return true;
+    }
+
+    // ==================== Dispatcher ====================
+
+    /**
+     * Runs the local pass for each queued article and groups borderline ones into AI batches
+     */
+    private void dispatch() {
+        List<AuditItem> batch = new ArrayList<>();
+        long batchDeadline = 0;
+        while (running) {
+            try {
+                long wait = batch.isEmpty() ? 1000 : Math.max(0, batchDeadline - System.currentTimeMillis());
+                String articleId = queue.poll(wait, TimeUnit.MILLISECONDS);
+                if (articleId != null) {
+                    queued.remove(articleId);
+                    AuditItem item = auditLocally(articleId);
+                    if (item != null) {
+                        if (batch.isEmpty()) {
+                            batchDeadline = System.currentTimeMillis() + articleAuditConfig.getBatchWindowMs();
+                        }
+                        batch.add(item);
+                    }
+                }
+                if (!batch.isEmpty() && (batch.size() >= articleAuditConfig.getBatchSize()
+                        || System.currentTimeMillis() >= batchDeadline)) {
+                    List<AuditItem> full = List.copyOf(batch);
+                    batch.clear();
+                    aiExecutor.execute(() -> auditWithAi(full));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Article audit dispatch failed", e);
+            }
+        }
+    }
+
+    /**
+     * Local sensitive-word pass; returns the article when it needs an AI audit
+     */
+    private AuditItem auditLocally(String articleId) {
+        KnowledgeArticle article = articleRepository.findById(articleId).orElse(null);
+        if (article == null || !ArticleStatus.PENDING_AUDIT.getCode().equals(article.getStatus())) {
+            aiAttempts.remove(articleId);
+            return null;
+        }
+        String text = auditText(article);
+        AiStructuredOutput.SensitiveWordResult result = sensitiveWordFilter.check(text);
+        switch (sensitiveWordFilter.verdict(result)) {
+            case PASS -> applyVerdict(articleId, article.getUpdatedAt(), ArticleStatus.PUBLISHED, "local", null);
+            case REJECT -> applyVerdict(articleId, article.getUpdatedAt(), ArticleStatus.REJECTED, "local",
+                    "Sensitive words: " + String.join(", ", result.sensitiveWords()));
+            case REVIEW -> {
+                if (articleAuditConfig.isAiEnabled()) {
+                    return new AuditItem(articleId, article.getUpdatedAt(), text, result);
+                }
+                applyVerdict(articleId, article.getUpdatedAt(), ArticleStatus.PENDING_REVIEW, "local",
+                        "Borderline sensitive words: " + String.join(", ", result.sensitiveWords()));
+            }
+        }
+        return null;
+    }
+
+    // ==================== AI audit ====================
+
+    /**
+     * One LLM call for a batch; articles without a usable verdict are retried by the next sweep,
+     * up to maxAiAttempts, then held for manual review
+     */
+    private void auditWithAi(List<AuditItem> batch) {
+        try {
+            StringBuilder articles = new StringBuilder();
+            for (AuditItem item : batch) {
+                String text = item.text();
+                if (text.length() > articleAuditConfig.getMaxContentChars()) {
+                    text = text.substring(0, articleAuditConfig.getMaxContentChars());
+                }
+                articles.append("### Article ").append(item.articleId()).append('\n')
+                        .append("Flagged words: ").append(String.join(", ", item.localResult().sensitiveWords())).append('\n')
+                        .append(text).append("\n\n");
+            }
+            Prompt prompt = new Prompt(List.of(
+                    new SystemMessage(PromptManager.CONTENT_AUDIT_SYSTEM_PROMPT),
+                    new UserMessage(articles.toString())));
+            String response = chatModel.call(prompt).getResult().getOutput().getText();
+            Map<String, AiStructuredOutput.ContentAuditResult> results = parseResults(response);
+
+            for (AuditItem item : batch) {
+                AiStructuredOutput.ContentAuditResult result = results.get(item.articleId());
+                if (result == null) {
+                    log.warn("No AI audit verdict: {}", item.articleId());
+                    recordAiFailure(item, "No AI audit verdict");
+                    continue;
+                }
+                applyVerdict(item.articleId(), item.version(),
+                        result.isPass() ? ArticleStatus.PUBLISHED : ArticleStatus.REJECTED, "ai", result.reason());
+            }
+        } catch (Exception e) {
+            log.error("AI article audit failed for {} articles", batch.size(), e);
+            batch.forEach(item -> recordAiFailure(item, "AI audit failed: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Leaves the article pending for the next sweep, or holds it once it has used up its attempts
+     */
+    private void recordAiFailure(AuditItem item, String reason) {
+        int attempts = aiAttempts.merge(item.articleId(), 1, Integer::sum);
+        if (attempts < articleAuditConfig.getMaxAiAttempts()) {
+            count("ai", "retry");
+            log.info("Article stays pending for another AI audit ({}/{}): {}",
+                    attempts, articleAuditConfig.getMaxAiAttempts(), item.articleId());
+            return;
+        }
+        applyVerdict(item.articleId(), item.version(), ArticleStatus.PENDING_REVIEW, "ai", reason);
+    }
+
+    private Map<String, AiStructuredOutput.ContentAuditResult> parseResults(String response) throws Exception {
+        String json = response.trim();
+        if (json.startsWith("```")) {
+            json = json.replaceAll("^```(?:json)?", "").replaceAll("```$", "").trim();
+        }
+        JsonNode root = objectMapper.readTree(json);
+        Map<String, AiStructuredOutput.ContentAuditResult> results = new HashMap<>();
+        for (JsonNode node : root.isArray() ? root : objectMapper.createArrayNode().add(root)) {
+            if (!node.hasNonNull("id")) {
+                continue;
+            }
+            String id = node.get("id").asText();
+            ((ObjectNode) node).remove("id");
+            results.put(id, objectMapper.treeToValue(node, AiStructuredOutput.ContentAuditResult.class));
+        }
+        return results;
+    }
+
+    // ==================== Verdict ====================
+
+    private void applyVerdict(String articleId, LocalDateTime version, ArticleStatus status, String stage,
+                              String reason) {
+        aiAttempts.remove(articleId);
+        int updated = articleRepository.applyAuditVerdict(articleId, ArticleStatus.PENDING_AUDIT.getCode(), version,
+                status.getCode(), DateUtils.nowSeconds());
+        if (updated == 0) {
+            // Edited, withdrawn or deleted while being audited: a changed article was re-queued by the edit
+            log.info("Article changed during audit, verdict discarded: {}", articleId);
+            return;
+        }
+        switch (status) {
+            case PUBLISHED -> {
+                count(stage, "published");
+                copingResourceService.invalidate();
+                log.info("Article passed audit ({}) and was published: {}", stage, articleId);
+            }
+            case REJECTED -> {
+                count(stage, "rejected");
+                log.warn("Article rejected by audit ({}): {}, reason: {}", stage, articleId, reason);
+            }
+            default -> {
+                count(stage, "held");
+                log.warn("Article held for manual review ({}): {}, reason: {}", stage, articleId, reason);
+            }
+        }
+    }
+
+    private void count(String stage, String verdict) {
+        Counter.builder("emosync.article.audit")
+                .description("Article audit verdicts")
+                .tag("stage", stage)
+                .tag("verdict", verdict)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static String auditText(KnowledgeArticle article) {
+        StringBuilder text = new StringBuilder();
+        if (article.getTitle() != null) {
+            text.append(article.getTitle()).append('\n');
+        }
+        if (article.getSummary() != null) {
+            text.append(article.getSummary()).append('\n');
+        }
+        if (article.getContent() != null) {
+            text.append(article.getContent());
+        }
+        return text.toString();
+    }
+}
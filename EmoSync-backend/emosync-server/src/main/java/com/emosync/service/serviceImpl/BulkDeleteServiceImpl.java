@@ -0,0 +1,162 @@
+package com.emosync.service.serviceImpl;
+
+import com.emosync.config.BulkDeleteConfig;
+import com.emosync.repository.AiAnalysisTaskRepository;
+import com.emosync.repository.ConsultationMessageRepository;
+import com.emosync.repository.ConsultationSessionRepository;
+import com.emosync.repository.EmotionDiaryRepository;
+import com.emosync.repository.UserFavoriteRepository;
+import com.emosync.repository.UserRepository;
+import com.emosync.service.BulkDeleteService;
+import com.emosync.service.EmotionTrendService;
+import com.emosync.service.MessageArchiveService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntUnaryOperator;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BulkDeleteServiceImpl implements BulkDeleteService {
+
+    private static final int SWEEP_PAGE_SIZE = 100;
+
+    private final BulkDeleteConfig bulkDeleteConfig;
+    private final ConsultationMessageRepository consultationMessageRepository;
+    private final ConsultationSessionRepository consultationSessionRepository;
+    private final AiAnalysisTaskRepository aiAnalysisTaskRepository;
+    private final EmotionDiaryRepository emotionDiaryRepository;
+    private final UserFavoriteRepository userFavoriteRepository;
+    private final UserRepository userRepository;
+    private final MessageArchiveService messageArchiveService;
+    private final EmotionTrendService emotionTrendService;
+
+    private ExecutorService executor;
+
+    /** Sessions with a deletion job queued or running */
+    private final Set<Long> sessionsInFlight = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(Math.max(1, bulkDeleteConfig.getThreads()), runnable -> {
+            Thread thread = new Thread(runnable, "bulk-delete-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    @Override
+    public CompletableFuture<Integer> deleteSessionAsync(Long sessionId) {
+        if (!sessionsInFlight.add(sessionId)) {
+            return CompletableFuture.completedFuture(0);
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            log.info("Starting chunked deletion of session, session ID: {}", sessionId);
+
+            int deleted = deleteInChunks("consultation_message",
+                    limit -> consultationMessageRepository.deleteChunkBySessionId(sessionId, limit));
+            messageArchiveService.deleteSessionArchive(sessionId);
+            // Messages written by a request that passed its session check before the session was hidden
+            deleted += deleteInChunks("consultation_message",
+                    limit -> consultationMessageRepository.deleteChunkBySessionId(sessionId, limit));
+            consultationSessionRepository.deleteById(sessionId);
+
+            log.info("Chunked deletion of session completed, session ID: {}, messages deleted: {}", sessionId, deleted);
+            return deleted;
+        }, executor).whenComplete((deleted, e) -> {
+            sessionsInFlight.remove(sessionId);
+            if (e != null) {
+                // The session stays hidden; the next sweep runs the deletion again
+                log.error("Chunked deletion of session failed, will be retried, session ID: {}", sessionId, e);
+            }
+        });
+    }
+
+    @Override
+    @Scheduled(initialDelayString = "${bulk-delete.sweep-interval-ms:300000}",
+            fixedDelayString = "${bulk-delete.sweep-interval-ms:300000}")
+    public int resumeSessionDeletes() {
+        List<Long> sessionIds = consultationSessionRepository.findDeletedIds(PageRequest.of(0, SWEEP_PAGE_SIZE));
+        int resumed = 0;
+        for (Long sessionId : sessionIds) {
+            if (!sessionsInFlight.contains(sessionId)) {
+                deleteSessionAsync(sessionId);
+                resumed++;
+            }
+        }
+        if (resumed > 0) {
+            log.info("Resumed pending session deletions: {}", resumed);
+        }
+        return resumed;
+    }
+
+    @Override
+    public CompletableFuture<Integer> purgeUserAsync(Long userId) {
+        return CompletableFuture.supplyAsync(() -> {
+            log.info("Starting chunked purge of user history, user ID: {}", userId);
+
+            // Children before parents, so no single statement cascades over a large set
+            int deleted = 0;
+            deleted += deleteInChunks("user_favorite",
+                    limit -> userFavoriteRepository.deleteChunkByUserId(userId, limit));
+            deleted += deleteInChunks("consultation_message",
+                    limit -> consultationMessageRepository.deleteChunkByUserId(userId, limit));
+            deleted += deleteInChunks("consultation_session",
+                    limit -> consultationSessionRepository.deleteChunkByUserId(userId, limit));
+            deleted += deleteInChunks("ai_analysis_task",
+                    limit -> aiAnalysisTaskRepository.deleteChunkByUserId(userId, limit));
+            deleted += deleteInChunks("emotion_diary",
+                    limit -> emotionDiaryRepository.deleteChunkByUserId(userId, limit));
+            emotionTrendService.invalidateUser(userId);
+            messageArchiveService.deleteUserArchive(userId);
+
+            try {
+                userRepository.deleteById(userId);
+            } catch (Exception e) {
+                // e.g. the user still authors knowledge articles; the account stays disabled
+                log.warn("History purged but user row kept, user ID: {}, reason: {}", userId, e.getMessage());
+            }
+
+            log.info("Chunked purge of user history completed, user ID: {}, rows deleted: {}", userId, deleted);
+            return deleted;
+        }, executor).exceptionally(e -> {
+            log.error("Chunked purge of user history failed, user ID: {}", userId, e);
+            return 0;
+        });
+    }
+
+    /**
+     * Run a DELETE ... LIMIT statement until it removes fewer rows than the chunk size.
+     * Every call commits on its own, so locks and undo logs stay small.
+     */
+    private int deleteInChunks(String table, IntUnaryOperator deleteChunk) {
+        int chunkSize = bulkDeleteConfig.getChunkSize();
+        int total = 0;
+        int deleted;
+        do {
+            deleted = deleteChunk.applyAsInt(chunkSize);
+            total += deleted;
+        } while (deleted >= chunkSize);
+        log.debug("Deleted {} rows from {}", total, table);
+        return total;
+    }
+}
@@ -0,0 +1,206 @@
+package com.emosync.service.serviceImpl;
+
+import com.emosync.ai.AiStructuredOutput;
+import com.emosync.ai.EmotionPreClassifier;
+import com.emosync.ai.PromptManager;
+import com.emosync.repository.EmotionDiaryRepository;
+import com.emosync.service.ChatContextPrefetchService;
+import com.emosync.service.CopingResourceService;
+import com.emosync.service.EmotionTrendService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChatContextPrefetchServiceImpl implements ChatContextPrefetchService {
+
+    private final EmotionTrendService emotionTrendService;
+    private final CopingResourceService copingResourceService;
+    private final EmotionDiaryRepository emotionDiaryRepository;
+    private final EmotionPreClassifier emotionPreClassifier;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${chat.context-prefetch.enabled:true}")
+    private boolean enabled;
+
+    @Value("${chat.context-prefetch.threads:4}")
+    private int threads;
+
+    @Value("${chat.context-prefetch.trend-days:7}")
+    private int trendDays;
+
+    @Value("${chat.context-prefetch.diary-highlights:3}")
+    private int diaryHighlights;
+
+    /** How long the first reply waits for an unfinished prefetch before going without it */
+    @Value("${chat.context-prefetch.wait-ms:300}")
+    private long waitMs;
+
+    /** Context of sessions whose first reply was never requested is dropped after this */
+    @Value("${chat.context-prefetch.ttl-minutes:30}")
+    private long ttlMinutes;
+
+    /**
+     * Context being fetched for a session; startedAt is System.nanoTime()
+     */
+    private record Prefetch(CompletableFuture<String> context, long startedAt) {
+    }
+
+    private final Map<Long, Prefetch> prefetches = new ConcurrentHashMap<>();
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "chat-context-prefetch-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public void prefetch(Long dbSessionId, Long userId, String initialMessage) {
+        if (!enabled || dbSessionId == null || userId == null) {
+            return;
+        }
+        evictExpired();
+
+        // Trend, diary highlights and resources are fetched in parallel
+        CompletableFuture<AiStructuredOutput.EmotionTrendResult> trend = CompletableFuture.supplyAsync(
+                () -> emotionTrendService.getTrend(userId, trendDays), executor);
+        CompletableFuture<List<Object[]>> diaries = CompletableFuture.supplyAsync(
+                () -> emotionDiaryRepository.findRecentHighlights(userId, PageRequest.of(0, diaryHighlights)), executor);
+
+        // Resources match the opening message when the lexicon can tell its emotion, else the recent trend
+        String openingEmotion = openingEmotion(initialMessage);
+        CompletableFuture<List<Map<String, String>>> resources = openingEmotion != null
+                ? CompletableFuture.supplyAsync(() -> copingResourceService.getResources(openingEmotion), executor)
+                : trend.thenApplyAsync(t -> copingResourceService.getResources(t.topEmotion()), executor);
+
+        CompletableFuture<String> context = CompletableFuture.allOf(trend, diaries, resources)
+                .thenApply(ignored -> buildContext(trend.join(), diaries.join(), resources.join()))
+                .exceptionally(e -> {
+                    log.warn("Chat context prefetch failed, sessionId={}", dbSessionId, e);
+                    return null;
+                });
+        prefetches.put(dbSessionId, new Prefetch(context, System.nanoTime()));
+    }
+
+    @Override
+    public String takeContext(Long dbSessionId) {
+        Prefetch prefetch = dbSessionId != null ? prefetches.remove(dbSessionId) : null;
+        if (prefetch == null) {
+            return null;
+        }
+        try {
+            String context = prefetch.context().get(waitMs, TimeUnit.MILLISECONDS);
+            count(context != null ? "used" : "failed");
+            return context;
+        } catch (TimeoutException e) {
+            count("timeout");
+            log.info("Chat context prefetch not ready after {} ms, first reply goes without it, sessionId={}",
+                    waitMs, dbSessionId);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (Exception e) {
+            count("failed");
+            return null;
+        }
+    }
+
+    @Override
+    public void discard(Long dbSessionId) {
+        if (dbSessionId != null) {
+            prefetches.remove(dbSessionId);
+        }
+    }
+
+    private String openingEmotion(String initialMessage) {
+        EmotionPreClassifier.PreClassification classification = emotionPreClassifier.classify(initialMessage);
+        return classification.result() != null ? classification.result().primaryEmotion() : null;
+    }
+
+    private String buildContext(AiStructuredOutput.EmotionTrendResult trend, List<Object[]> diaries,
+                                List<Map<String, String>> resources) {
+        StringBuilder context = new StringBuilder(PromptManager.SESSION_CONTEXT_PROMPT);
+
+        context.append("Emotion trend (last ").append(trendDays).append(" days): ");
+        if ("NO_DATA".equals(trend.trendDirection()) || "ERROR".equals(trend.trendDirection())) {
+            context.append("no diary entries.\n");
+        } else {
+            context.append(trend.summary()).append('\n');
+        }
+
+        if (!diaries.isEmpty()) {
+            context.append("\nRecent diary entries:\n");
+            for (Object[] row : diaries) {
+                context.append("- ").append(row[0]);
+                if (row[1] != null) {
+                    context.append(", mood ").append(row[1]).append("/10");
+                }
+                if (row[2] != null) {
+                    context.append(", ").append(row[2]);
+                }
+                if (row[3] != null) {
+                    context.append(", triggers: ").append(row[3]);
+                }
+                context.append('\n');
+            }
+        }
+
+        List<Map<String, String>> articles = resources.stream()
+                .filter(r -> "article".equals(r.get("type")))
+                .toList();
+        if (!articles.isEmpty()) {
+            context.append("\nKnowledge articles you may suggest (getCopingResources results):\n");
+            for (Map<String, String> article : articles) {
+                context.append("- ").append(article.get("title"));
+                if (!article.get("summary").isEmpty()) {
+                    context.append(": ").append(article.get("summary"));
+                }
+                context.append(" (id ").append(article.get("id")).append(")\n");
+            }
+        }
+        return context.toString();
+    }
+
+    private void evictExpired() {
+        long expired = System.nanoTime() - TimeUnit.MINUTES.toNanos(ttlMinutes);
+        prefetches.values().removeIf(prefetch -> prefetch.startedAt() - expired < 0);
+    }
+
+    private void count(String result) {
+        Counter.builder("emosync.chat.context.prefetch")
+                .description("Prefetched session context used, not ready in time or failed on the first reply")
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -1,19 +1,30 @@
 package com.emosync.service.serviceImpl;
 
 import com.emosync.DTO.response.ConsultationMessageResponseDTO;
+import com.emosync.Result.CursorPageResult;
 import com.emosync.entity.ConsultationMessage;
 import com.emosync.entity.ConsultationSession;
+import com.emosync.exception.BusinessException;
 import com.emosync.repository.ConsultationMessageRepository;
 import com.emosync.repository.ConsultationSessionRepository;
 import com.emosync.service.ConsultationMessageService;
+import com.emosync.service.MessageArchiveService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -21,15 +32,28 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ConsultationMessageServiceImpl implements ConsultationMessageService {
 
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
+
+    private static final int ER_FT_MATCHING_KEY_NOT_FOUND = 1191;
+
+    @Value("${consultation.search.max-results:100}")
+    private int searchMaxResults;
+
+    // Cleared when the full-text index turns out to be missing, searches then use LIKE
+    private volatile boolean fullTextAvailable = true;
+
     private final ConsultationMessageRepository consultationMessageRepository;
     private final ConsultationSessionRepository consultationSessionRepository;
+    private final MessageArchiveService messageArchiveService;
     @Override
+    @Transactional
     public ConsultationMessage saveUserMessage(Long sessionId, String content, String emotionTag) {
         // Avoid content = null insertion failure
         if (content == null) {
             content = "";
         }
-        ConsultationSession session = consultationSessionRepository.findById(sessionId).orElse(null);
+        // Reference only: the insert needs the foreign key, not the session row
+        ConsultationSession session = consultationSessionRepository.getReferenceById(sessionId);
 
         ConsultationMessage msg = new ConsultationMessage();
         msg.setSession(session);
@@ -38,12 +62,16 @@ public class ConsultationMessageServiceImpl implements ConsultationMessageServic
         msg.setMessageType(1);
         msg.setEmotionTag(emotionTag);
         msg.setCreatedAt(LocalDateTime.now());
-        return consultationMessageRepository.save(msg);
+        ConsultationMessage saved = consultationMessageRepository.save(msg);
+        recordMessageStats(saved);
+        return saved;
     }
 
     @Override
+    @Transactional
     public ConsultationMessage saveAiMessage(Long sessionId, String content, String aiModel) {
-        ConsultationSession session = consultationSessionRepository.findById(sessionId).orElse(null);
+        // Reference only: the insert needs the foreign key, not the session row
+        ConsultationSession session = consultationSessionRepository.getReferenceById(sessionId);
 
         ConsultationMessage msg = new ConsultationMessage();
         msg.setSession(session);
@@ -52,7 +80,9 @@ public class ConsultationMessageServiceImpl implements ConsultationMessageServic
         msg.setAiModel(aiModel);
         msg.setMessageType(1);
         msg.setCreatedAt(LocalDateTime.now());
-        return consultationMessageRepository.save(msg);
+        ConsultationMessage saved = consultationMessageRepository.save(msg);
+        recordMessageStats(saved);
+        return saved;
     }
 
     @Override
@@ -60,15 +90,58 @@ public class ConsultationMessageServiceImpl implements ConsultationMessageServic
         List<ConsultationMessage> list =
                 consultationMessageRepository.findBySession_IdOrderByCreatedAtAsc(sessionId);
 
+        // Older messages of long-lived sessions may live in the archive
+        if (messageArchiveService.hasArchivedMessages(sessionId)) {
+            List<ConsultationMessage> all = new ArrayList<>(messageArchiveService.getArchivedMessages(sessionId));
+            all.addAll(list);
+            list = all;
+        }
+
         return list.stream()
                 .map(this::toDTO)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public CursorPageResult<ConsultationMessageResponseDTO> getMessageHistory(Long sessionId, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_HISTORY_PAGE_SIZE));
+        // Fetch one extra row to know whether an older window exists
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+
+        HistoryCursor position = cursor == null || cursor.isBlank() ? null : decodeCursor(cursor);
+        List<ConsultationMessage> list = position == null
+                ? consultationMessageRepository.findHistoryPage(sessionId, limit)
+                : consultationMessageRepository.findHistoryPageBefore(sessionId, position.createdAt(), position.id(), limit);
+
+        // Hot table exhausted: continue with archived messages, which are all older than the hot ones.
+        // Only the blocks needed to fill the page (plus the look-ahead row) are read.
+        if (list.size() <= pageSize && messageArchiveService.hasArchivedMessages(sessionId)) {
+            HistoryCursor before = list.isEmpty() ? position
+                    : new HistoryCursor(list.get(list.size() - 1).getCreatedAt(), list.get(list.size() - 1).getId());
+            List<ConsultationMessage> combined = new ArrayList<>(list);
+            combined.addAll(messageArchiveService.getArchivedMessagesBefore(sessionId,
+                    before == null ? null : before.createdAt(), before == null ? null : before.id(),
+                    pageSize + 1 - list.size()));
+            list = combined;
+        }
+
+        boolean hasMore = list.size() > pageSize;
+        if (hasMore) {
+            list = list.subList(0, pageSize);
+        }
+        String nextCursor = hasMore ? encodeCursor(list.get(list.size() - 1)) : null;
+
+        List<ConsultationMessageResponseDTO> records = list.stream()
+                .map(this::toDTO)
+                .collect(Collectors.toList());
+        return new CursorPageResult<>(records, nextCursor, hasMore);
+    }
+
     @Override
     public Integer getMessageCountBySessionId(Long sessionId) {
         try {
-            long count = consultationMessageRepository.countBySessionId(sessionId);
+            long count = consultationMessageRepository.countBySessionId(sessionId)
+                    + messageArchiveService.countArchivedMessages(sessionId);
             return (int) count;
         } catch (Exception e) {
             log.error("Failed to get message count for session ID: {}", sessionId, e);
@@ -108,29 +181,99 @@ public class ConsultationMessageServiceImpl implements ConsultationMessageServic
         }
     }
 
+    @Override
+    public Map<Long, Integer> getMessageCountsBySessionIds(List<Long> sessionIds) {
+        if (sessionIds == null || sessionIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<Long, Integer> counts = new HashMap<>();
+        for (Object[] row : consultationMessageRepository.countBySessionIds(sessionIds)) {
+            counts.put((Long) row[0], ((Number) row[1]).intValue());
+        }
+        return counts;
+    }
+
+    @Override
+    public Map<Long, ConsultationMessageResponseDTO> getLastMessagesBySessionIds(List<Long> sessionIds) {
+        if (sessionIds == null || sessionIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<Long, ConsultationMessage> latest = new HashMap<>();
+        for (ConsultationMessage msg : consultationMessageRepository.findLatestMessagesBySessionIds(sessionIds)) {
+            // Several messages can share the latest timestamp; keep the one inserted last
+            latest.merge(msg.getSession().getId(), msg,
+                    (current, candidate) -> candidate.getId() > current.getId() ? candidate : current);
+        }
+        Map<Long, ConsultationMessageResponseDTO> result = new HashMap<>();
+        latest.forEach((sessionId, msg) -> result.put(sessionId, toDTO(msg)));
+        return result;
+    }
+
+    @Override
+    public Map<Long, List<String>> getEmotionTagsBySessionIds(List<Long> sessionIds) {
+        if (sessionIds == null || sessionIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<Long, List<String>> tags = new HashMap<>();
+        for (Object[] row : consultationMessageRepository.findDistinctEmotionTagsBySessionIds(sessionIds)) {
+            String tag = (String) row[1];
+            if (tag != null && !tag.isEmpty()) {
+                tags.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add(tag);
+            }
+        }
+        return tags;
+    }
+
     @Override
     public List<Long> searchSessionIdsByKeyword(String keyword) {
+        return searchSessionIdsByKeyword(null, keyword, searchMaxResults);
+    }
+
+    @Override
+    public List<Long> searchSessionIdsByKeyword(Long userId, String keyword, int limit) {
         if (keyword == null || keyword.trim().isEmpty()) {
             return Collections.emptyList();
         }
+        String trimmed = keyword.trim();
+        String phrase = toFullTextPhrase(trimmed);
 
-        List<ConsultationMessage> list =
-                consultationMessageRepository.searchByContent(keyword);
+        // ngram tokens are 2 characters, shorter terms can only be matched with LIKE
+        if (fullTextAvailable && phrase != null) {
+            try {
+                return consultationMessageRepository.searchSessionIdsByFullText(phrase, userId, limit).stream()
+                        .map(row -> ((Number) row[0]).longValue())
+                        .collect(Collectors.toList());
+            } catch (Exception e) {
+                if (isMissingFullTextIndex(e)) {
+                    fullTextAvailable = false;
+                    log.warn("Full-text index ft_message_content is missing from consultation_message, " +
+                            "message search uses LIKE until it is created (see EmoSync_db.sql)");
+                } else {
+                    log.warn("Full-text message search failed, falling back to LIKE: {}", e.getMessage());
+                }
+            }
+        }
+        return consultationMessageRepository.searchSessionIdsByLike(trimmed, userId, PageRequest.of(0, limit));
+    }
 
-        return list.stream()
-                .map(m -> m.getSession().getId())
-                .distinct()
-                .collect(Collectors.toList());
+    /**
+     * Whether the failure is MySQL ER_FT_MATCHING_KEY_NOT_FOUND, i.e. no FULLTEXT index matches the column list
+     */
+    private static boolean isMissingFullTextIndex(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException
+                    && sqlException.getErrorCode() == ER_FT_MATCHING_KEY_NOT_FOUND) {
+                return true;
+            }
+        }
+        return false;
     }
 
     @Override
     public int deleteMessagesBySessionId(Long sessionId) {
         try {
-            List<ConsultationMessage> list =
-                    consultationMessageRepository.findBySession_IdOrderByCreatedAtAsc(sessionId);
-
-            consultationMessageRepository.deleteAll(list);
-            return list.size();
+            // Single DELETE statement instead of loading and removing each message
+            return consultationMessageRepository.deleteAllBySessionId(sessionId);
 
         } catch (Exception e) {
             log.error("Failed to delete messages for sessionId={}", sessionId, e);
@@ -138,6 +281,55 @@ public class ConsultationMessageServiceImpl implements ConsultationMessageServic
         }
     }
 
+    @Override
+    public void recordMessageStats(ConsultationMessage message) {
+        if (message.getSession() == null) {
+            return;
+        }
+        String emotionTag = message.getEmotionTag();
+        consultationSessionRepository.recordMessage(
+                message.getSession().getId(),
+                message.getCreatedAt() != null ? message.getCreatedAt() : LocalDateTime.now(),
+                ConsultationSession.previewOf(message.getContent()),
+                emotionTag == null || emotionTag.isEmpty() ? null : emotionTag);
+    }
+
+    /**
+     * Keyword -> BOOLEAN MODE phrase query; the phrase keeps ngram matching as strict as a substring match
+     */
+    private static String toFullTextPhrase(String keyword) {
+        String cleaned = keyword.replaceAll("[+\\-<>()~*\"@]", " ").replaceAll("\\s+", " ").trim();
+        if (cleaned.length() < 2) {
+            return null;
+        }
+        return "\"" + cleaned + "\"";
+    }
+
+    /**
+     * Position of the oldest message in a window: (createdAt, id)
+     */
+    private record HistoryCursor(LocalDateTime createdAt, Long id) {
+    }
+
+    /**
+     * Opaque cursor: URL-safe Base64 of "createdAt|id"
+     */
+    private String encodeCursor(ConsultationMessage message) {
+        String raw = message.getCreatedAt() + "|" + message.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private HistoryCursor decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new HistoryCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (Exception e) {
+            throw new BusinessException("Invalid cursor");
+        }
+    }
+
     private ConsultationMessageResponseDTO toDTO(ConsultationMessage entity) {
 
         ConsultationMessageResponseDTO dto = new ConsultationMessageResponseDTO();
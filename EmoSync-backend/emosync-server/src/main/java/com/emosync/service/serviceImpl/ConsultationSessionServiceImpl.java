@@ -4,16 +4,21 @@ import com.emosync.DTO.command.ConsultationSessionCreateDTO;
 import com.emosync.DTO.query.ConsultationSessionQueryDTO;
 import com.emosync.DTO.response.ConsultationSessionResponseDTO;
 import com.emosync.Result.PageResult;
+import com.emosync.config.BulkDeleteConfig;
 import com.emosync.entity.ConsultationSession;
 import com.emosync.entity.User;
 import com.emosync.exception.BusinessException;
 import com.emosync.repository.ConsultationSessionRepository;
 import com.emosync.repository.UserRepository;
+import com.emosync.service.BulkDeleteService;
 import com.emosync.service.ConsultationMessageService;
 import com.emosync.service.ConsultationSessionService;
+import com.emosync.service.EmotionSnapshotService;
+import com.emosync.service.MessageArchiveService;
 import jakarta.persistence.criteria.Predicate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -21,12 +26,18 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.StringUtils;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @Slf4j
 @Service
@@ -36,6 +47,13 @@ public class ConsultationSessionServiceImpl implements ConsultationSessionServic
     private final ConsultationSessionRepository consultationSessionRepository;
     private final UserRepository userRepository;
     private final ConsultationMessageService consultationMessageService;
+    private final BulkDeleteService bulkDeleteService;
+    private final MessageArchiveService messageArchiveService;
+    private final BulkDeleteConfig bulkDeleteConfig;
+    private final EmotionSnapshotService emotionSnapshotService;
+
+    @Value("${consultation.search.max-results:100}")
+    private int searchMaxResults;
 
     @Override
     @Transactional
@@ -49,6 +67,7 @@ public class ConsultationSessionServiceImpl implements ConsultationSessionServic
         session.setUser(user);
         session.setSessionTitle(createDTO.getSessionTitle());
         session.setStartedAt(LocalDateTime.now());
+        session.setMessageCount(0);
 
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MM-dd HH:mm");
 
@@ -63,28 +82,37 @@ public class ConsultationSessionServiceImpl implements ConsultationSessionServic
 
     @Override
     public ConsultationSession getSessionById(Long sessionId) {
-        return consultationSessionRepository.findById(sessionId).orElse(null);
+        return findActiveSession(sessionId).orElse(null);
+    }
+
+    /**
+     * Session that is not queued for deletion
+     */
+    private Optional<ConsultationSession> findActiveSession(Long sessionId) {
+        return consultationSessionRepository.findById(sessionId).filter(s -> s.getDeletedAt() == null);
     }
 
     @Override
-    @Transactional
     public void updateLastEmotionAnalysis(Long sessionId, String emotionAnalysisJson) {
         log.info("Update session emotion analysis, session ID: {}", sessionId);
 
-        ConsultationSession session = consultationSessionRepository.findById(sessionId)
-                .orElseThrow(() -> new BusinessException("Session not found"));
-
-        session.setLastEmotionAnalysis(emotionAnalysisJson);
-        session.setLastEmotionUpdatedAt(LocalDateTime.now());
-
-        consultationSessionRepository.save(session);
-        log.info("Session emotion analysis updated successfully, session ID: {}", sessionId);
+        if (!consultationSessionRepository.existsById(sessionId)) {
+            throw new BusinessException("Session not found");
+        }
+        // Coalesced with other pending snapshots of the session and written as a single-column UPDATE
+        emotionSnapshotService.submit(sessionId, emotionAnalysisJson);
     }
 
     @Override
     public PageResult<ConsultationSessionResponseDTO> selectPage(ConsultationSessionQueryDTO queryDTO) {
         log.info("Paginated query consultation sessions, query conditions: {}", queryDTO);
 
+        // Message keyword matches, resolved once (the Specification runs for both count and page queries)
+        List<Long> messageMatches = StringUtils.hasText(queryDTO.getKeyword())
+                ? consultationMessageService.searchSessionIdsByKeyword(
+                        queryDTO.getUserId(), queryDTO.getKeyword(), searchMaxResults)
+                : Collections.emptyList();
+
         // Build Specification
         Specification<ConsultationSession> spec = (root, query, cb) -> {
             List<Predicate> predicates = new ArrayList<>();
@@ -94,6 +122,9 @@ public class ConsultationSessionServiceImpl implements ConsultationSessionServic
                 predicates.add(cb.equal(root.get("user").get("id"), queryDTO.getUserId()));
             }
 
+            // Sessions queued for background deletion are already gone for the user
+            predicates.add(cb.isNull(root.get("deletedAt")));
+
             DateTimeFormatter dtf = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
             if (StringUtils.hasText(queryDTO.getStartDate())) {
@@ -108,7 +139,10 @@ public class ConsultationSessionServiceImpl implements ConsultationSessionServic
 
             if (StringUtils.hasText(queryDTO.getKeyword())) {
                 String kw = "%" + queryDTO.getKeyword().trim() + "%";
-                predicates.add(cb.like(root.get("sessionTitle"), kw));
+                // Title match, or any message matching through the full-text index
+                predicates.add(messageMatches.isEmpty()
+                        ? cb.like(root.get("sessionTitle"), kw)
+                        : cb.or(cb.like(root.get("sessionTitle"), kw), root.get("id").in(messageMatches)));
             }
 
             query.orderBy(cb.desc(root.get("startedAt")));
@@ -124,9 +158,7 @@ public class ConsultationSessionServiceImpl implements ConsultationSessionServic
         Page<ConsultationSession> page =
                 consultationSessionRepository.findAll(spec, pageable);
 
-        List<ConsultationSessionResponseDTO> records = page.getContent().stream()
-                .map(this::convertToResponseDTO)
-                .toList();
+        List<ConsultationSessionResponseDTO> records = convertToResponseDTOs(page.getContent());
         log.info("Paginated query result:{}", records);
         return new PageResult<>(page.getTotalElements(), records);
     }
@@ -134,10 +166,11 @@ public class ConsultationSessionServiceImpl implements ConsultationSessionServic
     @Override
     public ConsultationSessionResponseDTO getSessionDetail(Long sessionId) {
 
-        ConsultationSession session = consultationSessionRepository.findById(sessionId)
+        ConsultationSession session = findActiveSession(sessionId)
                 .orElseThrow(() -> new BusinessException("Session not found"));
-        log.info("session detail:{}",convertToResponseDTO(session));
-        return convertToResponseDTO(session);
+        ConsultationSessionResponseDTO dto = convertToResponseDTOs(List.of(session)).get(0);
+        log.info("session detail:{}", dto);
+        return dto;
     }
 
     @Override
@@ -145,12 +178,32 @@ public class ConsultationSessionServiceImpl implements ConsultationSessionServic
     public boolean deleteSession(Long sessionId) {
         log.info("Delete consultation session, session ID: {}", sessionId);
 
-        ConsultationSession session = consultationSessionRepository.findById(sessionId)
+        ConsultationSession session = findActiveSession(sessionId)
                 .orElseThrow(() -> new BusinessException("Session not found"));
 
+        // Very long sessions are removed in the background in chunks. They are hidden first, so
+        // lists and chat no longer see them while the job runs (or waits for a retry after a failure).
+        if (session.hasMessageStats() && session.getMessageCount() > bulkDeleteConfig.getAsyncMessageThreshold()) {
+            log.info("Large session ({} messages), deleting asynchronously, session ID: {}", session.getMessageCount(), sessionId);
+            consultationSessionRepository.markDeleted(sessionId, LocalDateTime.now());
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                // The job must not start before the session is hidden for everyone
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        bulkDeleteService.deleteSessionAsync(sessionId);
+                    }
+                });
+            } else {
+                bulkDeleteService.deleteSessionAsync(sessionId);
+            }
+            return true;
+        }
+
         try {
-            // First delete messages
+            // First delete messages (hot and archived)
             consultationMessageService.deleteMessagesBySessionId(sessionId);
+            messageArchiveService.deleteSessionArchive(sessionId);
 
             // Then delete session
             consultationSessionRepository.delete(session);
@@ -167,7 +220,7 @@ public class ConsultationSessionServiceImpl implements ConsultationSessionServic
     public boolean updateSessionTitle(Long sessionId, Long userId, String newTitle) {
         log.info("Update session title, session ID: {}, user ID: {}, new title: {}", sessionId, userId, newTitle);
 
-        ConsultationSession session = consultationSessionRepository.findById(sessionId)
+        ConsultationSession session = findActiveSession(sessionId)
                 .orElseThrow(() -> new BusinessException("Session not found"));
 
         // Only session owner can modify
@@ -189,10 +242,60 @@ public class ConsultationSessionServiceImpl implements ConsultationSessionServic
         return true;
     }
 
+    @Override
+    public List<ConsultationSessionResponseDTO> searchSessions(Long userId, String keyword) {
+        List<Long> rankedIds = consultationMessageService.searchSessionIdsByKeyword(userId, keyword, searchMaxResults);
+        if (rankedIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        // Keep the relevance order of the search, findAllById does not preserve it
+        Map<Long, ConsultationSession> byId = new HashMap<>();
+        consultationSessionRepository.findAllById(rankedIds).forEach(s -> byId.put(s.getId(), s));
+        List<ConsultationSession> sessions = rankedIds.stream()
+                .map(byId::get)
+                .filter(s -> s != null && s.getDeletedAt() == null)
+                .toList();
+        return convertToResponseDTOs(sessions);
+    }
+
+    // ==================== Counter repair ====================
+
+    @Override
+    public int repairMessageStats(int batchSize) {
+        long maxId = consultationSessionRepository.findMaxId();
+        int repaired = 0;
+        for (long fromId = 1; fromId <= maxId; fromId += batchSize) {
+            // One short transaction per id range keeps row locks brief
+            repaired += consultationSessionRepository.repairMessageStats(fromId, fromId + batchSize - 1);
+        }
+        return repaired;
+    }
+
     // ==================== Private utility methods ====================
 
     /**
-     * Entity -> Response DTO
+     * Entities -> Response DTOs, with message statistics loaded in batch
+     */
+    private List<ConsultationSessionResponseDTO> convertToResponseDTOs(List<ConsultationSession> sessions) {
+        List<ConsultationSessionResponseDTO> dtos = sessions.stream()
+                .map(this::convertToResponseDTO)
+                .toList();
+
+        // Add message statistics for sessions whose counters have not been computed yet
+        List<ConsultationSessionResponseDTO> missingStats = new ArrayList<>();
+        for (int i = 0; i < sessions.size(); i++) {
+            if (!sessions.get(i).hasMessageStats()) {
+                missingStats.add(dtos.get(i));
+            }
+        }
+        enrichWithMessageInfo(missingStats);
+        enrichWithEmotionTags(dtos);
+        return dtos;
+    }
+
+    /**
+     * Entity -> Response DTO (session fields and denormalised message statistics)
      */
     private ConsultationSessionResponseDTO convertToResponseDTO(ConsultationSession session) {
         ConsultationSessionResponseDTO dto = new ConsultationSessionResponseDTO();
@@ -208,35 +311,65 @@ public class ConsultationSessionServiceImpl implements ConsultationSessionServic
         dto.setStartedAt(session.getStartedAt());
         dto.setDurationMinutes(session.getDurationMinutes());
 
-
-        // Add message statistics
-        enrichWithMessageInfo(dto, session.getId());
-        log.info("Return dto:{}", dto.toString());
+        if (session.hasMessageStats()) {
+            dto.setMessageCount(session.getMessageCount());
+            dto.setLastMessageContent(session.getLastMessagePreview());
+            dto.setLastMessageTime(session.getLastMessageAt());
+            dto.setPrimaryEmotion(session.getTopEmotionTag());
+        }
 
         return dto;
     }
 
-    private void enrichWithMessageInfo(ConsultationSessionResponseDTO dto, Long sessionId) {
+    /**
+     * Fill message count and last message for sessions without denormalised statistics.
+     * Two grouped queries in total instead of two per session.
+     */
+    private void enrichWithMessageInfo(List<ConsultationSessionResponseDTO> dtos) {
+        if (dtos.isEmpty()) {
+            return;
+        }
+        List<Long> sessionIds = dtos.stream().map(ConsultationSessionResponseDTO::getId).toList();
         try {
-            // Total messages count
-            dto.setMessageCount(consultationMessageService.getMessageCountBySessionId(sessionId));
-
-            // Last message
-            var lastMsg = consultationMessageService.getLastMessageBySessionId(sessionId);
-            if (lastMsg != null) {
-                dto.setLastMessageContent(lastMsg.getContentPreview());
-                dto.setLastMessageTime(lastMsg.getCreatedAt());
+            Map<Long, Integer> counts = consultationMessageService.getMessageCountsBySessionIds(sessionIds);
+            var lastMessages = consultationMessageService.getLastMessagesBySessionIds(sessionIds);
+
+            for (ConsultationSessionResponseDTO dto : dtos) {
+                // Total messages count
+                dto.setMessageCount(counts.getOrDefault(dto.getId(), 0));
+
+                // Last message
+                var lastMsg = lastMessages.get(dto.getId());
+                if (lastMsg != null) {
+                    dto.setLastMessageContent(lastMsg.getContentPreview());
+                    dto.setLastMessageTime(lastMsg.getCreatedAt());
+                }
             }
+        } catch (Exception e) {
+            log.warn("Failed to enrich message information, session IDs: {}, error: {}", sessionIds, e.getMessage());
+        }
+    }
 
-            // Emotion tags
-            var emotionTags = consultationMessageService.getEmotionTagsBySessionId(sessionId);
-            dto.setEmotionTags(emotionTags);
-
-            if (emotionTags != null && !emotionTags.isEmpty()) {
-                dto.setPrimaryEmotion(emotionTags.get(0));
+    /**
+     * Fill emotion tags for a page of sessions with one grouped query
+     */
+    private void enrichWithEmotionTags(List<ConsultationSessionResponseDTO> dtos) {
+        if (dtos.isEmpty()) {
+            return;
+        }
+        List<Long> sessionIds = dtos.stream().map(ConsultationSessionResponseDTO::getId).toList();
+        try {
+            Map<Long, List<String>> emotionTags = consultationMessageService.getEmotionTagsBySessionIds(sessionIds);
+
+            for (ConsultationSessionResponseDTO dto : dtos) {
+                List<String> tags = emotionTags.getOrDefault(dto.getId(), Collections.emptyList());
+                dto.setEmotionTags(tags);
+                if (dto.getPrimaryEmotion() == null && !tags.isEmpty()) {
+                    dto.setPrimaryEmotion(tags.get(0));
+                }
             }
         } catch (Exception e) {
-            log.warn("Failed to enrich message information, session ID: {}, error: {}", sessionId, e.getMessage());
+            log.warn("Failed to load emotion tags, session IDs: {}, error: {}", sessionIds, e.getMessage());
         }
     }
 }
@@ -0,0 +1,193 @@
+package com.emosync.service.serviceImpl;
+
+import com.emosync.entity.KnowledgeCategory;
+import com.emosync.repository.KnowledgeArticleRepository;
+import com.emosync.repository.KnowledgeCategoryRepository;
+import com.emosync.service.CopingResourceService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CopingResourceServiceImpl implements CopingResourceService {
+
+    /** Every category code fragment mapEmotionToCategoryCode can return */
+    private static final List<String> CATEGORY_CODES =
+            List.of("anxiety", "depression", "anger", "loneliness", "stress", "wellness");
+
+    private static final List<Map<String, String>> DEFAULT_ADVICE = List.of(Map.of(
+            "type",    "advice",
+            "title",   "General Wellness Tips",
+            "summary", "Try deep breathing, journaling, or a short walk.",
+            "id",      ""
+    ));
+
+    private final KnowledgeArticleRepository knowledgeArticleRepository;
+    private final KnowledgeCategoryRepository knowledgeCategoryRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${chat.coping-resources.index-enabled:true}")
+    private boolean indexEnabled;
+
+    @Value("${chat.coping-resources.limit:3}")
+    private int limit;
+
+    /** Upper bound on index age, for article changes that never call invalidate() */
+    @Value("${chat.coping-resources.refresh-minutes:10}")
+    private long refreshMinutes;
+
+    /**
+     * Resources per category code; latest is used when no enabled category matches the code
+     */
+    private record Index(Map<String, List<Map<String, String>>> byCode, List<Map<String, String>> latest,
+                         long builtAt) {
+    }
+
+    private volatile Index index;
+
+    /** Bumped on every invalidation; an index built across a bump is served once but not kept */
+    private final AtomicLong generation = new AtomicLong();
+
+    /** Held by the one caller rebuilding the index */
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    @Override
+    public List<Map<String, String>> getResources(String primaryEmotion) {
+        String categoryCode = mapEmotionToCategoryCode(primaryEmotion);
+        if (!indexEnabled) {
+            count("rebuild");
+            return resources(rebuild(), categoryCode);
+        }
+        Index current = index;
+        if (isFresh(current)) {
+            count("hit");
+            return resources(current, categoryCode);
+        }
+
+        // Single flight: an expired index is still served while another caller rebuilds it,
+        // after an invalidation callers wait for the rebuild instead of each querying the database
+        if (current != null) {
+            if (!rebuildLock.tryLock()) {
+                count("stale");
+                return resources(current, categoryCode);
+            }
+        } else {
+            rebuildLock.lock();
+        }
+        try {
+            current = index;
+            if (isFresh(current)) {
+                count("hit");
+                return resources(current, categoryCode);
+            }
+            count("rebuild");
+            return resources(rebuild(), categoryCode);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    @Override
+    public void invalidate() {
+        drop();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // A rebuild that ran before the commit read the old articles; drop it again once the change is visible
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    drop();
+                }
+            });
+        }
+    }
+
+    private void drop() {
+        generation.incrementAndGet();
+        index = null;
+    }
+
+    private boolean isFresh(Index current) {
+        return current != null && System.nanoTime() - current.builtAt() < TimeUnit.MINUTES.toNanos(refreshMinutes);
+    }
+
+    private Index rebuild() {
+        long startGeneration = generation.get();
+        long builtAt = System.nanoTime();
+
+        // Enabled categories in sort order; the first whose code contains the fragment wins
+        List<KnowledgeCategory> categories = knowledgeCategoryRepository.findAllEnabled();
+        Map<Long, List<Map<String, String>>> byCategory = new HashMap<>();
+        Map<String, List<Map<String, String>>> byCode = new HashMap<>();
+        for (String code : CATEGORY_CODES) {
+            Optional<KnowledgeCategory> matched = categories.stream()
+                    .filter(c -> c.getCategoryCode() != null &&
+                                 c.getCategoryCode().toLowerCase().contains(code))
+                    .findFirst();
+            matched.ifPresent(category -> byCode.put(code, byCategory.computeIfAbsent(category.getId(),
+                    id -> toResources(knowledgeArticleRepository.findPublishedSummaries(id, PageRequest.of(0, limit))))));
+        }
+        List<Map<String, String>> latest =
+                toResources(knowledgeArticleRepository.findPublishedSummaries(null, PageRequest.of(0, limit)));
+
+        Index built = new Index(Map.copyOf(byCode), latest, builtAt);
+        if (indexEnabled && generation.get() == startGeneration) {
+            index = built;
+        }
+        log.info("Coping resource index built, categories={}, articles={}", byCategory.size(),
+                byCategory.values().stream().mapToInt(List::size).sum());
+        return built;
+    }
+
+    private static List<Map<String, String>> resources(Index index, String categoryCode) {
+        List<Map<String, String>> resources = index.byCode().getOrDefault(categoryCode, index.latest());
+        return resources.isEmpty() ? DEFAULT_ADVICE : resources;
+    }
+
+    private static List<Map<String, String>> toResources(List<Object[]> rows) {
+        return rows.stream().map(row -> Map.of(
+                "type",    "article",
+                "id",      (String) row[0],
+                "title",   row[1] != null ? (String) row[1] : "",
+                "summary", row[2] != null ? (String) row[2] : "",
+                "tags",    row[3] != null ? (String) row[3] : ""
+        )).toList();
+    }
+
+    private void count(String result) {
+        Counter.builder("emosync.coping.resources.index")
+                .description("Coping resource lookups served from the index, from an expired index during a rebuild, or after a rebuild")
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /** Map emotion keyword to knowledge_category.category_code fragment */
+    private static String mapEmotionToCategoryCode(String emotion) {
+        if (emotion == null) return "wellness";
+        return switch (emotion.toLowerCase()) {
+            case "anxious", "anxiety", "panic", "worry"         -> "anxiety";
+            case "sad", "sadness", "grief", "depressed",
+                 "depression", "hopeless"                        -> "depression";
+            case "angry", "anger", "frustrated", "frustration"  -> "anger";
+            case "lonely", "loneliness", "isolated"             -> "loneliness";
+            case "stress", "stressed", "overwhelm", "burnout"   -> "stress";
+            default                                              -> "wellness";
+        };
+    }
+}
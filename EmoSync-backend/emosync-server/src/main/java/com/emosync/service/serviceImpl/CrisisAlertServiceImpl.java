@@ -0,0 +1,116 @@
+package com.emosync.service.serviceImpl;
+
+import com.emosync.config.CrisisDetectorConfig;
+import com.emosync.entity.ConsultationMessage;
+import com.emosync.entity.ConsultationSession;
+import com.emosync.repository.ConsultationMessageRepository;
+import com.emosync.repository.ConsultationSessionRepository;
+import com.emosync.service.ConsultationMessageService;
+import com.emosync.service.CrisisAlertService;
+import com.emosync.service.EmotionSnapshotService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CrisisAlertServiceImpl implements CrisisAlertService {
+
+    private final ConsultationSessionRepository consultationSessionRepository;
+    private final ConsultationMessageRepository consultationMessageRepository;
+    private final ConsultationMessageService consultationMessageService;
+    private final EmotionSnapshotService emotionSnapshotService;
+    private final CrisisDetectorConfig crisisDetectorConfig;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+
+    /** Last detector flag per session (nanoTime), for the cooldown */
+    private final Map<Long, Long> lastDetectorFlag = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean raiseSessionCrisis(Long sessionId, Long userId, int riskLevel, String reason, String source) {
+        if (SOURCE_DETECTOR.equals(source) && !acquireCooldown(sessionId)) {
+            log.info("Crisis already flagged by detector recently, session ID: {}", sessionId);
+            return false;
+        }
+
+        ConsultationSession session = consultationSessionRepository.findById(sessionId).orElse(null);
+        if (session == null) {
+            log.warn("Crisis not persisted, session not found, session ID: {}", sessionId);
+            return false;
+        }
+
+        // System-level crisis message visible in message history
+        ConsultationMessage crisisFlag = ConsultationMessage.builder()
+                .session(session)
+                .senderType(0)          // 0 = system
+                .messageType(99)        // 99 = crisis flag
+                .content("[CRISIS ALERT] riskLevel=" + riskLevel + " | " + reason)
+                .emotionTag("CRISIS")
+                .aiModel("system")
+                .build();
+        consultationMessageRepository.save(crisisFlag);
+        consultationMessageService.recordMessageStats(crisisFlag);
+
+        // Crisis snapshot: written immediately, never replaced by a later normal snapshot
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("riskLevel", riskLevel);
+        node.put("crisisFlag", true);
+        node.put("reason", reason);
+        node.put("source", source);
+        node.put("timestamp", Instant.now().toString());
+        emotionSnapshotService.submitCrisis(sessionId, node.toString());
+
+        alert(source, riskLevel);
+        // Hook external alerting (notification service / webhook) here
+        log.error("🚨 [CRISIS] source={} | userId={} | sessionId={} | riskLevel={} | reason={} | time={}",
+                source, userId, sessionId, riskLevel, reason, LocalDateTime.now());
+        return true;
+    }
+
+    @Override
+    public void raiseDiaryCrisis(Long diaryId, Long userId, int riskLevel, String reason) {
+        alert("diary", riskLevel);
+        // Hook external alerting (notification service / webhook) here
+        log.error("🚨 [CRISIS] source=diary | userId={} | diaryId={} | riskLevel={} | reason={} | time={}",
+                userId, diaryId, riskLevel, reason, LocalDateTime.now());
+    }
+
+    private void alert(String source, int riskLevel) {
+        Counter.builder("emosync.crisis.alerts")
+                .description("Crisis flags raised")
+                .tag("source", source)
+                .tag("riskLevel", String.valueOf(riskLevel))
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private boolean acquireCooldown(Long sessionId) {
+        long now = System.nanoTime();
+        long cooldown = TimeUnit.MINUTES.toNanos(crisisDetectorConfig.getCooldownMinutes());
+        // Expired entries carry no state; dropping them keeps the map at the sessions flagged within
+        // one cooldown. Detector flags are rare, so the scan stays cheap.
+        lastDetectorFlag.values().removeIf(last -> now - last >= cooldown);
+
+        boolean[] acquired = {false};
+        lastDetectorFlag.compute(sessionId, (id, last) -> {
+            if (last != null && now - last < cooldown) {
+                return last;
+            }
+            acquired[0] = true;
+            return now;
+        });
+        return acquired[0];
+    }
+}
@@ -1,8 +1,6 @@
 package com.emosync.service.serviceImpl;
 
 import com.emosync.DTO.response.DataAnalyticsResponseDTO;
-import com.emosync.entity.ConsultationMessage;
-import com.emosync.entity.ConsultationSession;
 import com.emosync.entity.EmotionDiary;
 import com.emosync.exception.ServiceException;
 import com.emosync.repository.ConsultationMessageRepository;
@@ -116,7 +114,14 @@ public class DataAnalyticsServiceImpl implements DataAnalyticsService {
     }
     private DataAnalyticsResponseDTO.EmotionHeatmapData getEmotionHeatmap(LocalDate start, LocalDate end) {
         List<EmotionDiary> diaries = emotionDiaryRepository.findByDiaryDateBetween(start, end);
+        return buildEmotionHeatmap(diaries, start, end);
+    }
 
+    /**
+     * Build the day-of-week x hour heatmap from loaded diaries (pure computation)
+     */
+    public static DataAnalyticsResponseDTO.EmotionHeatmapData buildEmotionHeatmap(List<EmotionDiary> diaries,
+                                                                                 LocalDate start, LocalDate end) {
         // initialize grid
         List<List<DataAnalyticsResponseDTO.HeatmapPoint>> grid = new ArrayList<>();
         for (int d = 0; d < 7; d++) {
@@ -196,7 +201,14 @@ public class DataAnalyticsServiceImpl implements DataAnalyticsService {
     }
     private List<DataAnalyticsResponseDTO.EmotionTrendData> getEmotionTrends(LocalDate start, LocalDate end) {
         List<EmotionDiary> diaries = emotionDiaryRepository.findByDiaryDateBetween(start, end);
+        return buildEmotionTrends(diaries, start, end);
+    }
 
+    /**
+     * Build the daily emotion trend from loaded diaries (pure computation)
+     */
+    public static List<DataAnalyticsResponseDTO.EmotionTrendData> buildEmotionTrends(List<EmotionDiary> diaries,
+                                                                                    LocalDate start, LocalDate end) {
         Map<LocalDate, List<EmotionDiary>> groups = diaries.stream()
                 .collect(Collectors.groupingBy(EmotionDiary::getDiaryDate));
 
@@ -254,14 +266,10 @@ public class DataAnalyticsServiceImpl implements DataAnalyticsService {
         return list;
     }
     private DataAnalyticsResponseDTO.ConsultationStatistics getConsultationStats(LocalDate start, LocalDate end) {
-        // Query sessions within time range
+        // Aggregate in the database: only one row per day / per tag is transferred
         LocalDateTime startDateTime = start.atStartOfDay();
         LocalDateTime endDateTime = end.atTime(23, 59, 59);
-        List<ConsultationSession> sessions = consultationSessionRepository
-                .findByStartedAtBetween(startDateTime, endDateTime);
 
-
-        long total = (long) sessions.size();
         BigDecimal avgDurationMinutes;
         Double avgDuration = consultationSessionRepository
                 .findAverageDurationBetween(startDateTime, endDateTime);
@@ -272,32 +280,34 @@ public class DataAnalyticsServiceImpl implements DataAnalyticsService {
             avgDurationMinutes = BigDecimal.ZERO;
         }
 
-        Map<LocalDate, List<ConsultationSession>> grouped =
-                sessions.stream().collect(Collectors.groupingBy(s -> s.getStartedAt().toLocalDate()));
+        Map<LocalDate, Object[]> daily = new HashMap<>();
+        for (Object[] row : consultationSessionRepository.countDailyByStartedAtBetween(startDateTime, endDateTime)) {
+            daily.put((LocalDate) row[0], row);
+        }
 
+        long total = 0;
         List<DataAnalyticsResponseDTO.DailySessionCount> dailyTrend = new ArrayList<>();
 
         for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
-            List<ConsultationSession> d = grouped.getOrDefault(date, Collections.emptyList());
-            Set<Long> users = d.stream().map(ConsultationSession::getUserId).collect(Collectors.toSet());
+            Object[] row = daily.get(date);
+            int sessionCount = row == null ? 0 : ((Number) row[1]).intValue();
+            int userCount = row == null ? 0 : ((Number) row[2]).intValue();
+            total += sessionCount;
 
             dailyTrend.add(DataAnalyticsResponseDTO.DailySessionCount.builder()
                     .date(date)
-                    .sessionCount(d.size())
-                    .userCount(users.size())
+                    .sessionCount(sessionCount)
+                    .userCount(userCount)
                     .build());
         }
 
-        List<Long> sessionIds = sessions.stream().map(ConsultationSession::getId).toList();
-        Map<String, Integer> emotionTags = new HashMap<>();
-
-        if (!sessionIds.isEmpty()) {
-            List<ConsultationMessage> messages = consultationMessageRepository.findBySessionIdIn(sessionIds);
-
-            emotionTags = messages.stream()
-                    .map(ConsultationMessage::getEmotionTag)
-                    .filter(e -> e != null && !e.isBlank())
-                    .collect(Collectors.groupingBy(e -> e, Collectors.reducing(0, v -> 1, Integer::sum)));
+        Map<String, Integer> emotionTags = new LinkedHashMap<>();
+        for (Object[] row : consultationMessageRepository
+                .countEmotionTagsBySessionStartedAtBetween(startDateTime, endDateTime)) {
+            String tag = (String) row[0];
+            if (tag != null && !tag.isBlank()) {
+                emotionTags.put(tag, ((Number) row[1]).intValue());
+            }
         }
 
         return DataAnalyticsResponseDTO.ConsultationStatistics.builder()
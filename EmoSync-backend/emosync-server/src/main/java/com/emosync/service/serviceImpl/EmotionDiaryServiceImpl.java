@@ -2,6 +2,7 @@ package com.emosync.service.serviceImpl;
 
 
 import com.emosync.ai.AiStructuredOutput;
+import com.emosync.ai.CrisisDetector;
 import com.emosync.DTO.command.EmotionDiaryCreateDTO;
 import com.emosync.DTO.command.EmotionDiaryUpdateDTO;
 import com.emosync.DTO.query.EmotionDiaryQueryDTO;
@@ -14,7 +15,9 @@ import com.emosync.exception.BusinessException;
 import com.emosync.repository.EmotionDiaryRepository;
 import com.emosync.security.UserDetailsImpl;
 import com.emosync.service.AiAnalysisTaskService;
+import com.emosync.service.CrisisAlertService;
 import com.emosync.service.EmotionDiaryService;
+import com.emosync.service.EmotionTrendService;
 import com.emosync.service.convert.EmotionDiaryConvert;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -46,6 +49,9 @@ public class EmotionDiaryServiceImpl implements EmotionDiaryService {
     private final EmotionDiaryRepository emotionDiaryRepository;
     private final PsychologicalSupportServiceImpl psychologicalSupportService;
     private final AiAnalysisTaskService aiAnalysisTaskService;
+    private final CrisisDetector crisisDetector;
+    private final CrisisAlertService crisisAlertService;
+    private final EmotionTrendService emotionTrendService;
 
     /**
      * Get current authenticated UserDetailsImpl
@@ -72,14 +78,31 @@ public class EmotionDiaryServiceImpl implements EmotionDiaryService {
         EmotionDiary diary = (EmotionDiary) emotionDiaryRepository.findByUserIdAndDiaryDate(userId, createDTO.getDiaryDate())
                 .map(existing -> updateExistingDiary(existing, createDTO))
                 .orElseGet(() -> emotionDiaryRepository.save(EmotionDiaryConvert.createCommandToEntity(createDTO, userId)));
+        emotionTrendService.invalidateUser(userId);
 
         if (diary.getDiaryContent() != null && !diary.getDiaryContent().trim().isEmpty()) {
+            checkCrisis(diary, userId);
             performAiEmotionAnalysisAsync(diary.getId(), diary.getDiaryContent());
         }
 
         return EmotionDiaryConvert.entityToResponse(diary);
     }
 
+    /**
+     * Inline crisis phrase check on diary content, independent of the AI analysis
+     */
+    private void checkCrisis(EmotionDiary diary, Long userId) {
+        try {
+            CrisisDetector.Detection detection = crisisDetector.detect(diary.getDiaryContent());
+            if (crisisDetector.isAlert(detection)) {
+                crisisAlertService.raiseDiaryCrisis(diary.getId(), userId, detection.riskLevel(),
+                        "Crisis phrases detected: " + String.join(", ", detection.phrases()));
+            }
+        } catch (Exception e) {
+            log.error("Inline crisis check failed, diary ID: {}", diary.getId(), e);
+        }
+    }
+
     private EmotionDiary updateExistingDiary(EmotionDiary diary, EmotionDiaryCreateDTO dto) {
         diary.setMoodScore(dto.getMoodScore());
         diary.setDominantEmotion(dto.getDominantEmotion());
@@ -121,8 +144,10 @@ public class EmotionDiaryServiceImpl implements EmotionDiaryService {
         diary.setAiAnalysisUpdatedAt(null);
 
         emotionDiaryRepository.save(diary);
+        emotionTrendService.invalidateUser(diary.getUser().getId());
 
         if (diary.getDiaryContent() != null) {
+            checkCrisis(diary, diary.getUser().getId());
             performAiEmotionAnalysisAsync(diary.getId(), diary.getDiaryContent());
         }
 
@@ -192,6 +217,7 @@ public class EmotionDiaryServiceImpl implements EmotionDiaryService {
         }
 
         emotionDiaryRepository.delete(d);
+        emotionTrendService.invalidateUser(d.getUser().getId());
     }
 
     @Override
@@ -273,9 +299,9 @@ public class EmotionDiaryServiceImpl implements EmotionDiaryService {
                 }
                 analysisContent.append("Diary Content: ").append(diaryContent);
 
-                // Call AI analysis service
+                // Call AI analysis service; the local model is trained on raw diary text, so it predicts on that too
                 AiStructuredOutput.EmotionAnalysisResult analysisResult =
-                        psychologicalSupportService.analyzeUserEmotion(analysisContent.toString());
+                        psychologicalSupportService.analyzeUserEmotion(diaryContent, analysisContent.toString());
 
                 if (analysisResult != null) {
                     // Convert analysis result to JSON and save to database
@@ -340,6 +366,7 @@ public class EmotionDiaryServiceImpl implements EmotionDiaryService {
 
         EmotionDiary existing = emotionDiaryRepository.findById(id).orElseThrow(() -> new BusinessException("No diary found"));
         emotionDiaryRepository.delete(existing);
+        emotionTrendService.invalidateUser(existing.getUser().getId());
     }
 
     // @Override
@@ -455,9 +482,9 @@ public class EmotionDiaryServiceImpl implements EmotionDiaryService {
     }
 
     /**
-     * Calculate statistics data
+     * Calculate statistics from already loaded diaries (pure computation, no repository access)
      */
-    private EmotionDiaryStatisticsDTO calculateStatistics(List<EmotionDiary> diaries, Integer totalDays) {
+    public static EmotionDiaryStatisticsDTO calculateStatistics(List<EmotionDiary> diaries, Integer totalDays) {
         EmotionDiaryStatisticsDTO statistics = new EmotionDiaryStatisticsDTO();
 
         statistics.setTotalDays(totalDays);
@@ -549,7 +576,7 @@ public class EmotionDiaryServiceImpl implements EmotionDiaryService {
     /**
      * Set default statistics data
      */
-    private void setDefaultStatistics(EmotionDiaryStatisticsDTO statistics) {
+    private static void setDefaultStatistics(EmotionDiaryStatisticsDTO statistics) {
         statistics.setCompletionRate(BigDecimal.ZERO);
         statistics.setAverageMoodScore(BigDecimal.ZERO);
         statistics.setPositiveDays(0);
@@ -563,7 +590,7 @@ public class EmotionDiaryServiceImpl implements EmotionDiaryService {
     /**
      * Calculate mood score statistics
      */
-    private void calculateMoodStatistics(EmotionDiaryStatisticsDTO statistics, List<EmotionDiary> diaries) {
+    private static void calculateMoodStatistics(EmotionDiaryStatisticsDTO statistics, List<EmotionDiary> diaries) {
         List<Integer> moodScores = diaries.stream()
                 .map(EmotionDiary::getMoodScore)
                 .filter(Objects::nonNull)
@@ -588,7 +615,7 @@ public class EmotionDiaryServiceImpl implements EmotionDiaryService {
     /**
      * Calculate life metrics statistics
      */
-    private void calculateLifeIndicatorStatistics(EmotionDiaryStatisticsDTO statistics, List<EmotionDiary> diaries) {
+    private static void calculateLifeIndicatorStatistics(EmotionDiaryStatisticsDTO statistics, List<EmotionDiary> diaries) {
         List<Integer> sleepQualities = diaries.stream()
                 .map(EmotionDiary::getSleepQuality)
                 .filter(Objects::nonNull)
@@ -613,7 +640,7 @@ public class EmotionDiaryServiceImpl implements EmotionDiaryService {
     /**
      * Calculate emotion distribution
      */
-    private void calculateEmotionDistribution(EmotionDiaryStatisticsDTO statistics, List<EmotionDiary> diaries) {
+    private static void calculateEmotionDistribution(EmotionDiaryStatisticsDTO statistics, List<EmotionDiary> diaries) {
         Map<String, Integer> emotionDistribution = diaries.stream()
                 .filter(diary -> diary.getDominantEmotion() != null)
                 .collect(Collectors.groupingBy(
@@ -634,7 +661,7 @@ public class EmotionDiaryServiceImpl implements EmotionDiaryService {
     /**
      * Generate emotion trend data
      */
-    private void generateMoodTrend(EmotionDiaryStatisticsDTO statistics, List<EmotionDiary> diaries) {
+    private static void generateMoodTrend(EmotionDiaryStatisticsDTO statistics, List<EmotionDiary> diaries) {
         List<EmotionDiaryStatisticsDTO.MoodTrendData> trendData = diaries.stream()
                 .map(diary -> EmotionDiaryConvert.buildMoodTrendData(
                         diary.getDiaryDate().format(DateTimeFormatter.ofPattern("MM/dd")),
@@ -649,7 +676,7 @@ public class EmotionDiaryServiceImpl implements EmotionDiaryService {
     /**
      * Generate improvement suggestions
      */
-    private void generateSuggestions(EmotionDiaryStatisticsDTO statistics, List<EmotionDiary> diaries) {
+    private static void generateSuggestions(EmotionDiaryStatisticsDTO statistics, List<EmotionDiary> diaries) {
         List<String> suggestions = new ArrayList<>();
 
         BigDecimal avgMood = statistics.getAverageMoodScore();
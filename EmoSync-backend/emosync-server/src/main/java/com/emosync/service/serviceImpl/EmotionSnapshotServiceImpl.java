@@ -0,0 +1,122 @@
+package com.emosync.service.serviceImpl;
+
+import com.emosync.repository.ConsultationSessionRepository;
+import com.emosync.service.EmotionSnapshotService;
+import com.emosync.util.DateUtils;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EmotionSnapshotServiceImpl implements EmotionSnapshotService {
+
+    private final ConsultationSessionRepository consultationSessionRepository;
+
+    @Value("${consultation.emotion-snapshot.flush-interval-ms:500}")
+    private long flushIntervalMs;
+
+    @Value("${consultation.emotion-snapshot.max-attempts:5}")
+    private int maxAttempts;
+
+    /** Latest unwritten snapshot per session */
+    private final Map<Long, Snapshot> pending = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService flusher;
+
+    /**
+     * @param attempts failed writes of this snapshot so far
+     */
+    private record Snapshot(String analysis, LocalDateTime updatedAt, boolean crisis, int attempts) {
+
+        Snapshot retried() {
+            return new Snapshot(analysis, updatedAt, crisis, attempts + 1);
+        }
+
+        /**
+         * Newer snapshot wins, except that a normal snapshot never replaces a crisis one
+         */
+        static Snapshot merge(Snapshot current, Snapshot next) {
+            if (current.crisis() && !next.crisis()) {
+                return current;
+            }
+            return next.updatedAt().isBefore(current.updatedAt()) ? current : next;
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "emotion-snapshot-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+        flush();
+    }
+
+    @Override
+    public void submit(Long sessionId, String analysisJson) {
+        pending.merge(sessionId, new Snapshot(analysisJson, DateUtils.nowSeconds(), false, 0), Snapshot::merge);
+    }
+
+    @Override
+    public void submitCrisis(Long sessionId, String analysisJson) {
+        pending.merge(sessionId, new Snapshot(analysisJson, DateUtils.nowSeconds(), true, 0), Snapshot::merge);
+        flushSession(sessionId);
+    }
+
+    @Override
+    public void flush() {
+        for (Long sessionId : pending.keySet()) {
+            flushSession(sessionId);
+        }
+    }
+
+    private void flushSession(Long sessionId) {
+        Snapshot snapshot = pending.remove(sessionId);
+        if (snapshot == null) {
+            return;
+        }
+        try {
+            // The statement itself enforces last-write-wins and crisis precedence, so
+            // concurrent flushes of the same session cannot regress the stored snapshot
+            int updated = consultationSessionRepository.updateEmotionSnapshot(
+                    sessionId, snapshot.analysis(), snapshot.updatedAt(), snapshot.crisis());
+            if (updated == 0) {
+                log.debug("Emotion snapshot superseded or session missing, session ID: {}", sessionId);
+            }
+        } catch (TransientDataAccessException e) {
+            Snapshot retry = snapshot.retried();
+            if (retry.attempts() >= maxAttempts) {
+                log.error("Dropping emotion snapshot after {} attempts, session ID: {}, error: {}",
+                        retry.attempts(), sessionId, e.getMessage());
+                return;
+            }
+            log.warn("Failed to write emotion snapshot, retrying, session ID: {}, attempt: {}, error: {}",
+                    sessionId, retry.attempts(), e.getMessage());
+            // Retry on the next flush unless a newer snapshot arrived meanwhile
+            pending.merge(sessionId, retry, Snapshot::merge);
+        } catch (Exception e) {
+            // Not going to succeed on a later flush either
+            log.error("Dropping emotion snapshot, session ID: {}", sessionId, e);
+        }
+    }
+}
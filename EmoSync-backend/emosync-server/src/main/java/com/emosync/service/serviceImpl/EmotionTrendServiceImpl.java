@@ -0,0 +1,230 @@
+package com.emosync.service.serviceImpl;
+
+import com.emosync.ai.AiStructuredOutput;
+import com.emosync.entity.EmotionDiary;
+import com.emosync.repository.EmotionDiaryRepository;
+import com.emosync.service.EmotionTrendService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EmotionTrendServiceImpl implements EmotionTrendService {
+
+    private final EmotionDiaryRepository emotionDiaryRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${chat.emotion-trend-cache.enabled:true}")
+    private boolean cacheEnabled;
+
+    /** Safety net for diary writes that bypass the services (imports, manual SQL) */
+    @Value("${chat.emotion-trend-cache.ttl-minutes:30}")
+    private long ttlMinutes;
+
+    @Value("${chat.emotion-trend-cache.max-entries:10000}")
+    private int maxEntries;
+
+    private record Key(Long userId, int days) {
+    }
+
+    /**
+     * Cached result; startedAt is when its computation began (nanoTime), day the window end date
+     */
+    private record Entry(AiStructuredOutput.EmotionTrendResult result, long startedAt, LocalDate day) {
+    }
+
+    /** Least recently used entries are evicted first */
+    private final Map<Key, Entry> cache = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+            return size() > maxEntries;
+        }
+    };
+
+    /** Last diary write per user (nanoTime); entries whose computation started earlier are stale */
+    private final Map<Long, Long> invalidatedAt = new ConcurrentHashMap<>();
+
+    @Override
+    public AiStructuredOutput.EmotionTrendResult getTrend(Long userId, int days) {
+        if (!cacheEnabled) {
+            return computeTrend(userId, days);
+        }
+        Key key = new Key(userId, days);
+        LocalDate today = LocalDate.now();
+        Entry entry;
+        synchronized (cache) {
+            entry = cache.get(key);
+        }
+        if (entry != null && isFresh(entry, userId, today)) {
+            count("hit");
+            return entry.result();
+        }
+
+        count("miss");
+        long startedAt = System.nanoTime();
+        AiStructuredOutput.EmotionTrendResult result = computeTrend(userId, days);
+        if (!"ERROR".equals(result.trendDirection())) {
+            synchronized (cache) {
+                cache.put(key, new Entry(result, startedAt, today));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void invalidateUser(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        markInvalidated(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // A trend computed between now and the commit would still see the old diaries
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    markInvalidated(userId);
+                }
+            });
+        }
+    }
+
+    private void markInvalidated(Long userId) {
+        long now = System.nanoTime();
+        invalidatedAt.put(userId, now);
+        // Markers older than the TTL can no longer invalidate anything
+        if (invalidatedAt.size() > maxEntries) {
+            long expired = now - TimeUnit.MINUTES.toNanos(ttlMinutes);
+            invalidatedAt.values().removeIf(at -> at - expired < 0);
+        }
+    }
+
+    private boolean isFresh(Entry entry, Long userId, LocalDate today) {
+        if (!entry.day().equals(today)) {
+            return false;
+        }
+        long now = System.nanoTime();
+        if (now - entry.startedAt() > TimeUnit.MINUTES.toNanos(ttlMinutes)) {
+            return false;
+        }
+        Long invalidated = invalidatedAt.get(userId);
+        return invalidated == null || entry.startedAt() - invalidated > 0;
+    }
+
+    private void count(String result) {
+        Counter.builder("emosync.emotion.trend.cache")
+                .description("Emotion trend lookups served from cache or recomputed")
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Rank, average and half-split trend over the diaries in the window
+     */
+    private AiStructuredOutput.EmotionTrendResult computeTrend(Long userId, int days) {
+        try {
+            LocalDate endDate   = LocalDate.now();
+            LocalDate startDate = endDate.minusDays(days);
+
+            // Fetch diaries in range
+            List<EmotionDiary> diaries = emotionDiaryRepository
+                    .findByUserIdAndDiaryDateBetween(userId, startDate, endDate);
+
+            if (diaries.isEmpty()) {
+                return new AiStructuredOutput.EmotionTrendResult(
+                        userId, days,
+                        List.of(), "none",
+                        0, "NO_DATA", 0,
+                        "No diary entries found in the last " + days + " days.",
+                        Instant.now().toString()
+                );
+            }
+
+            // --- Dominant emotions (ranked by frequency) ---
+            Map<String, Long> emotionCount = diaries.stream()
+                    .filter(d -> d.getDominantEmotion() != null && !d.getDominantEmotion().isBlank())
+                    .collect(Collectors.groupingBy(EmotionDiary::getDominantEmotion, Collectors.counting()));
+
+            List<String> dominantEmotions = emotionCount.entrySet().stream()
+                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                    .map(Map.Entry::getKey)
+                    .limit(5)
+                    .collect(Collectors.toList());
+
+            String topEmotion = dominantEmotions.isEmpty() ? "neutral" : dominantEmotions.get(0);
+
+            // --- Average mood score (moodScore 1–10, map to riskLevel 0–3) ---
+            OptionalDouble avgMood = diaries.stream()
+                    .filter(d -> d.getMoodScore() != null)
+                    .mapToInt(EmotionDiary::getMoodScore)
+                    .average();
+
+            double avgMoodScore = avgMood.orElse(5.0);
+            int avgRiskLevel = moodScoreToRiskLevel(avgMoodScore);
+
+            // --- Trend: compare first half vs second half mood scores ---
+            int mid = diaries.size() / 2;
+            double firstHalfAvg  = diaries.subList(0, Math.max(mid, 1)).stream()
+                    .filter(d -> d.getMoodScore() != null)
+                    .mapToInt(EmotionDiary::getMoodScore).average().orElse(5.0);
+            double secondHalfAvg = diaries.subList(Math.max(mid, 1), diaries.size()).stream()
+                    .filter(d -> d.getMoodScore() != null)
+                    .mapToInt(EmotionDiary::getMoodScore).average().orElse(5.0);
+
+            String trend = secondHalfAvg > firstHalfAvg + 0.5 ? "IMPROVING"
+                         : secondHalfAvg < firstHalfAvg - 0.5 ? "WORSENING"
+                         : "STABLE";
+
+            String summary = String.format(
+                    "Over the past %d days, %s appears most frequently. " +
+                    "Average mood score is %.1f/10. Trend: %s.",
+                    days, topEmotion, avgMoodScore, trend);
+
+            log.info("Emotion trend — userId={}, topEmotion={}, trend={}, avgMood={}",
+                    userId, topEmotion, trend, avgMoodScore);
+
+            return new AiStructuredOutput.EmotionTrendResult(
+                    userId, days,
+                    dominantEmotions, topEmotion,
+                    avgRiskLevel, trend,
+                    diaries.size(), summary,
+                    Instant.now().toString()
+            );
+
+        } catch (Exception e) {
+            log.error("Failed to fetch emotion trend for userId={}", userId, e);
+            return new AiStructuredOutput.EmotionTrendResult(
+                    userId, days,
+                    List.of(), "error",
+                    0, "ERROR", 0,
+                    "Failed to retrieve trend: " + e.getMessage(),
+                    Instant.now().toString()
+            );
+        }
+    }
+
+    /** Convert mood score (1–10) to risk level (0–3) */
+    private int moodScoreToRiskLevel(double moodScore) {
+        if (moodScore >= 7) return 0;
+        if (moodScore >= 5) return 1;
+        if (moodScore >= 3) return 2;
+        return 3;
+    }
+}
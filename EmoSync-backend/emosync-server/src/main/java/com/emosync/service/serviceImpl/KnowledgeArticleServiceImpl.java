@@ -7,6 +7,7 @@ import com.emosync.DTO.response.ArticleResponseDTO;
 import com.emosync.DTO.response.ArticleSimpleResponseDTO;
 import com.emosync.DTO.response.ArticleStatisticsResponseDTO;
 import com.emosync.Result.PageResult;
+import com.emosync.config.BulkDeleteConfig;
 import com.emosync.entity.KnowledgeArticle;
 import com.emosync.entity.KnowledgeCategory;
 import com.emosync.entity.User;
@@ -16,6 +17,8 @@ import com.emosync.enumClass.CategoryStatus;
 import com.emosync.exception.BusinessException;
 import com.emosync.exception.ServiceException;
 import com.emosync.security.UserDetailsImpl;
+import com.emosync.service.ArticleAuditService;
+import com.emosync.service.CopingResourceService;
 import com.emosync.service.KnowledgeArticleService;
 import com.emosync.service.convert.ArticleConvert;
 import com.emosync.repository.KnowledgeArticleRepository;
@@ -50,6 +53,9 @@ public class KnowledgeArticleServiceImpl implements KnowledgeArticleService {
     private final KnowledgeCategoryRepository categoryRepository;
     private final UserRepository userRepository;
     private final UserFavoriteRepository favoriteRepository;
+    private final BulkDeleteConfig bulkDeleteConfig;
+    private final ArticleAuditService articleAuditService;
+    private final CopingResourceService copingResourceService;
 
     /** Check if current user has ROLE_2  */
     private boolean isAdmin() {
@@ -93,8 +99,13 @@ public class KnowledgeArticleServiceImpl implements KnowledgeArticleService {
 
             // Create entity
             KnowledgeArticle article = ArticleConvert.createCommandToEntity(createDTO, authorId);
+            if (article.getStatus() != null && (!ArticleStatus.isValidCode(article.getStatus())
+                    || ArticleStatus.fromCode(article.getStatus()).isAuditState())) {
+                throw new BusinessException("Invalid article status");
+            }
+            boolean audit = false;
             if (Objects.equals(createDTO.getStatus(), ArticleStatus.PUBLISHED.getCode())) {
-                article.setPublishedAt(LocalDateTime.now());
+                audit = requestPublication(article);
             }
 
             log.info("🔄 Converted article entity: title={}, contentLength={}",
@@ -102,6 +113,10 @@ public class KnowledgeArticleServiceImpl implements KnowledgeArticleService {
                     article.getContent() != null ? article.getContent().length() : 0);
 
             articleRepository.save(article);
+            copingResourceService.invalidate();
+            if (audit) {
+                articleAuditService.submit(article.getId());
+            }
 
             KnowledgeArticle saved = articleRepository.findById(article.getId())
                     .orElseThrow(() -> new ServiceException("Failed to save article"));
@@ -144,6 +159,7 @@ public class KnowledgeArticleServiceImpl implements KnowledgeArticleService {
 
             deleteRelatedFavorites(articleId);
             articleRepository.deleteById(articleId);
+            copingResourceService.invalidate();
             log.info("Knowledge article deleted successfully: {}", article.getTitle());
         } catch (BusinessException e) {
             throw e;
@@ -336,13 +352,15 @@ public class KnowledgeArticleServiceImpl implements KnowledgeArticleService {
                 throw new BusinessException("Current status does not allow publishing");
             }
 
-            KnowledgeArticle published = ArticleConvert.publishArticle(article);
-            article.setStatus(published.getStatus());
-            article.setPublishedAt(published.getPublishedAt());
-            article.setUpdatedAt(published.getUpdatedAt());
+            boolean audit = requestPublication(article);
             articleRepository.save(article);
-
-            log.info("Knowledge article published successfully: {}", article.getTitle());
+            copingResourceService.invalidate();
+            if (audit) {
+                articleAuditService.submit(articleId);
+                log.info("Knowledge article submitted for audit: {}", article.getTitle());
+            } else {
+                log.info("Knowledge article published successfully: {}", article.getTitle());
+            }
             return getArticleById(articleId, currentUserId);
         } catch (BusinessException e) {
             throw e;
@@ -374,6 +392,7 @@ public class KnowledgeArticleServiceImpl implements KnowledgeArticleService {
             article.setStatus(offlined.getStatus());
             article.setUpdatedAt(offlined.getUpdatedAt());
             articleRepository.save(article);
+            copingResourceService.invalidate();
 
             log.info("Knowledge article taken offline successfully: {}", article.getTitle());
             return getArticleById(articleId, currentUserId);
@@ -426,16 +445,36 @@ public class KnowledgeArticleServiceImpl implements KnowledgeArticleService {
             if (StringUtils.hasText(updateArticle.getTags())) {
                 existing.setTags(updateArticle.getTags());
             }
-            if (updateArticle.getStatus() != null) {
-                existing.setStatus(updateArticle.getStatus());
-                if (updateArticle.getStatus().equals(ArticleStatus.PUBLISHED.getCode())
-                        && existing.getPublishedAt() == null) {
-                    existing.setPublishedAt(LocalDateTime.now());
+
+            // Published or pending articles whose text changed go (back) through the audit
+            boolean textChanged = StringUtils.hasText(updateArticle.getTitle())
+                    || StringUtils.hasText(updateArticle.getSummary())
+                    || StringUtils.hasText(updateArticle.getContent());
+            Integer targetStatus = updateArticle.getStatus();
+            if (targetStatus == null && textChanged
+                    && (Objects.equals(existing.getStatus(), ArticleStatus.PUBLISHED.getCode())
+                    || Objects.equals(existing.getStatus(), ArticleStatus.PENDING_AUDIT.getCode())
+                    || Objects.equals(existing.getStatus(), ArticleStatus.PENDING_REVIEW.getCode()))) {
+                targetStatus = ArticleStatus.PUBLISHED.getCode();
+            }
+            boolean audit = false;
+            if (targetStatus != null) {
+                if (!ArticleStatus.isValidCode(targetStatus) || ArticleStatus.fromCode(targetStatus).isAuditState()) {
+                    throw new BusinessException("Invalid article status");
+                }
+                if (targetStatus.equals(ArticleStatus.PUBLISHED.getCode())) {
+                    audit = requestPublication(existing);
+                } else {
+                    existing.setStatus(targetStatus);
                 }
             }
 
             existing.setUpdatedAt(LocalDateTime.now());
             articleRepository.save(existing);
+            copingResourceService.invalidate();
+            if (audit) {
+                articleAuditService.submit(articleId);
+            }
 
             log.info("Knowledge article updated successfully: {}", existing.getTitle());
             return getArticleById(articleId, currentUserId);
@@ -461,20 +500,30 @@ public class KnowledgeArticleServiceImpl implements KnowledgeArticleService {
                 throw new BusinessException("No permission to update this article status");
             }
 
-            ArticleStatus targetStatus = ArticleStatus.fromCode(status);
-            if (targetStatus == null) {
+            if (!ArticleStatus.isValidCode(status) || ArticleStatus.fromCode(status).isAuditState()) {
                 throw new BusinessException("Invalid article status");
             }
 
-            article.setStatus(status);
-            article.setUpdatedAt(LocalDateTime.now());
-
-            if (status.equals(ArticleStatus.PUBLISHED.getCode()) && article.getPublishedAt() == null) {
-                article.setPublishedAt(LocalDateTime.now());
+            boolean audit = false;
+            boolean heldByAudit = Objects.equals(article.getStatus(), ArticleStatus.REJECTED.getCode())
+                    || Objects.equals(article.getStatus(), ArticleStatus.PENDING_REVIEW.getCode());
+            if (status.equals(ArticleStatus.PUBLISHED.getCode()) && !(isAdmin() && heldByAudit)) {
+                audit = requestPublication(article);
+            } else {
+                // Includes an admin approving an article held by the audit
+                article.setStatus(status);
+                if (status.equals(ArticleStatus.PUBLISHED.getCode()) && article.getPublishedAt() == null) {
+                    article.setPublishedAt(LocalDateTime.now());
+                }
             }
+            article.setUpdatedAt(LocalDateTime.now());
 
             articleRepository.save(article);
-            log.info("Article status updated successfully: articleId={}, status={}", articleId, status);
+            copingResourceService.invalidate();
+            if (audit) {
+                articleAuditService.submit(articleId);
+            }
+            log.info("Article status updated successfully: articleId={}, status={}", articleId, article.getStatus());
 
             return getArticleById(articleId, currentUserId);
         } catch (BusinessException e) {
@@ -485,6 +534,24 @@ public class KnowledgeArticleServiceImpl implements KnowledgeArticleService {
         }
     }
 
+    /**
+     * Publish the article directly, or move it to PENDING_AUDIT when the content audit is enabled;
+     * returns whether it must be submitted to the audit once saved
+     */
+    private boolean requestPublication(KnowledgeArticle article) {
+        if (!articleAuditService.isEnabled()) {
+            article.setStatus(ArticleStatus.PUBLISHED.getCode());
+            if (article.getPublishedAt() == null) {
+                article.setPublishedAt(LocalDateTime.now());
+            }
+            article.setUpdatedAt(LocalDateTime.now());
+            return false;
+        }
+        article.setStatus(ArticleStatus.PENDING_AUDIT.getCode());
+        article.setUpdatedAt(LocalDateTime.now());
+        return true;
+    }
+
     // ==================== Batch Delete ====================
 
     @Override
@@ -498,27 +565,28 @@ public class KnowledgeArticleServiceImpl implements KnowledgeArticleService {
             User currentUser = userRepository.findById(currentUserId)
                     .orElseThrow(() -> new BusinessException("User not found"));
 
+            List<String> distinctIds = ids.stream().distinct().toList();
             int deletedCount = 0;
-            for (String articleId : ids) {
-                try {
-                    KnowledgeArticle article = articleRepository.findById(articleId).orElse(null);
-                    if (article == null) {
-                        log.warn("Article not found, skipping deletion: articleId={}", articleId);
-                        continue;
-                    }
-
-                    if (!article.getAuthor().getId().equals(currentUserId) && !isAdmin()) {
-                        log.warn("No permission to delete article, skipping: articleId={}, userId={}", articleId, currentUserId);
-                        continue;
-                    }
-
-                    deleteRelatedFavorites(articleId);
-                    articleRepository.deleteById(articleId);
-                    deletedCount++;
-                    log.info("Article deleted successfully: articleId={}", articleId);
-                } catch (Exception ex) {
-                    log.error("Failed to delete article: articleId={}", articleId, ex);
+            int chunk = bulkDeleteConfig.getMaxIdsPerStatement();
+            for (int from = 0; from < distinctIds.size(); from += chunk) {
+                List<String> batch = distinctIds.subList(from, Math.min(from + chunk, distinctIds.size()));
+
+                // One permission query per batch instead of a findById per article
+                List<String> deletable = isAdmin()
+                        ? articleRepository.findExistingIds(batch)
+                        : articleRepository.findIdsByAuthor(batch, currentUserId);
+                if (deletable.size() < batch.size()) {
+                    log.warn("Articles not found or no permission, skipping: {}",
+                            batch.stream().filter(id -> !deletable.contains(id)).toList());
+                }
+                if (deletable.isEmpty()) {
+                    continue;
                 }
+
+                // Set-based deletes: favorites first, then the articles
+                favoriteRepository.deleteByArticleIds(deletable);
+                deletedCount += articleRepository.deleteByIds(deletable);
+                copingResourceService.invalidate();
             }
 
             if (deletedCount == 0) {
@@ -656,7 +724,7 @@ public class KnowledgeArticleServiceImpl implements KnowledgeArticleService {
 
 
     private void deleteRelatedFavorites(String articleId) {
-        favoriteRepository.deleteByKnowledgeArticle_Id(articleId);
+        favoriteRepository.deleteByArticleIds(List.of(articleId));
     }
 
     private Map<String, Integer> getArticleFavoriteCountMap(List<String> articleIds) {
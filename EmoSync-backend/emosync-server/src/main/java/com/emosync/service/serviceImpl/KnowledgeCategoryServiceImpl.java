@@ -9,6 +9,7 @@ import com.emosync.entity.KnowledgeCategory;
 import com.emosync.exception.BusinessException;
 import com.emosync.repository.KnowledgeArticleRepository;
 import com.emosync.repository.KnowledgeCategoryRepository;
+import com.emosync.service.CopingResourceService;
 import com.emosync.service.KnowledgeCategoryService;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.Predicate;
@@ -33,6 +34,7 @@ import java.util.stream.Collectors;
 public class KnowledgeCategoryServiceImpl implements KnowledgeCategoryService {
     private final KnowledgeCategoryRepository knowledgeCategoryRepository;
     private final KnowledgeArticleRepository articleRepository;
+    private final CopingResourceService copingResourceService;
 
     @Override
     public CategoryResponseDTO createCategory(CategoryCreateDTO createDTO) {
@@ -49,6 +51,7 @@ public class KnowledgeCategoryServiceImpl implements KnowledgeCategoryService {
                 .build();
 
         knowledgeCategoryRepository.save(category);
+        copingResourceService.invalidate();
 
         log.info("Category created successfully: {}", category.getCategoryName());
 
@@ -80,6 +83,7 @@ public class KnowledgeCategoryServiceImpl implements KnowledgeCategoryService {
 
         existing.setUpdatedAt(LocalDateTime.now());
         knowledgeCategoryRepository.save(existing);
+        copingResourceService.invalidate();
 
         Integer articleCount = Math.toIntExact(articleRepository.countByCategory_Id(existing.getId()));
 
@@ -100,6 +104,7 @@ public class KnowledgeCategoryServiceImpl implements KnowledgeCategoryService {
         }
 
         knowledgeCategoryRepository.delete(category);
+        copingResourceService.invalidate();
 
         log.info("Category deleted successfully ID={}", categoryId);
     }
@@ -176,6 +181,7 @@ public class KnowledgeCategoryServiceImpl implements KnowledgeCategoryService {
         Integer status = oldStatus == 1 ? 0 : 1;
         knowledgeCategory.setStatus(status);
         knowledgeCategoryRepository.save(knowledgeCategory);
+        copingResourceService.invalidate();
 
     }
 
@@ -0,0 +1,391 @@
+package com.emosync.service.serviceImpl;
+
+import com.emosync.config.MessageArchiveConfig;
+import com.emosync.entity.ConsultationMessage;
+import com.emosync.entity.ConsultationSession;
+import com.emosync.entity.MessageArchiveBlock;
+import com.emosync.exception.ServiceException;
+import com.emosync.repository.ConsultationMessageRepository;
+import com.emosync.repository.ConsultationSessionRepository;
+import com.emosync.repository.MessageArchiveBlockRepository;
+import com.emosync.service.MessageArchiveService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MessageArchiveServiceImpl implements MessageArchiveService {
+
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    private static final Comparator<ConsultationMessage> CHRONOLOGICAL =
+            Comparator.comparing(ConsultationMessage::getCreatedAt).thenComparing(ConsultationMessage::getId);
+
+    private final MessageArchiveConfig messageArchiveConfig;
+    private final MessageArchiveBlockRepository messageArchiveBlockRepository;
+    private final ConsultationMessageRepository consultationMessageRepository;
+    private final ConsultationSessionRepository consultationSessionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    /** Guards segment files together with the index rows that reference them */
+    private final Object segmentLock = new Object();
+
+    /**
+     * Serialized form of an archived message
+     */
+    public record ArchivedMessage(Long id, Integer senderType, Integer messageType, String content,
+                                  String emotionTag, String aiModel, LocalDateTime createdAt) {
+    }
+
+    // ==================== Archive ====================
+
+    @Override
+    public int archiveMessagesBefore(LocalDateTime cutoff) {
+        int archived = 0;
+        long afterId = 0;
+        while (true) {
+            List<Object[]> candidates = consultationSessionRepository.findArchiveCandidates(
+                    afterId, cutoff, PageRequest.of(0, messageArchiveConfig.getSessionBatchSize()));
+            if (candidates.isEmpty()) {
+                break;
+            }
+            for (Object[] row : candidates) {
+                Long sessionId = (Long) row[0];
+                Long userId = (Long) row[1];
+                afterId = sessionId;
+                try {
+                    archived += archiveSession(sessionId, userId, cutoff);
+                } catch (Exception e) {
+                    log.error("Failed to archive messages, session ID: {}", sessionId, e);
+                }
+            }
+        }
+        return archived;
+    }
+
+    private int archiveSession(Long sessionId, Long userId, LocalDateTime cutoff) throws IOException {
+        int archived = 0;
+        while (true) {
+            List<ConsultationMessage> messages = consultationMessageRepository.findArchivable(
+                    sessionId, cutoff, PageRequest.of(0, messageArchiveConfig.getMaxMessagesPerRound()));
+            if (messages.isEmpty()) {
+                return archived;
+            }
+
+            // One block per month, appended to that month's segment of the user
+            Map<YearMonth, List<ConsultationMessage>> byMonth = new LinkedHashMap<>();
+            for (ConsultationMessage message : messages) {
+                byMonth.computeIfAbsent(YearMonth.from(message.getCreatedAt()), m -> new ArrayList<>()).add(message);
+            }
+            for (Map.Entry<YearMonth, List<ConsultationMessage>> entry : byMonth.entrySet()) {
+                archived += archiveBlock(sessionId, userId, entry.getKey(), entry.getValue());
+            }
+
+            if (messages.size() < messageArchiveConfig.getMaxMessagesPerRound()) {
+                return archived;
+            }
+        }
+    }
+
+    private int archiveBlock(Long sessionId, Long userId, YearMonth month, List<ConsultationMessage> messages) throws IOException {
+        List<ArchivedMessage> payload = messages.stream()
+                .map(m -> new ArchivedMessage(m.getId(), m.getSenderType(), m.getMessageType(), m.getContent(),
+                        m.getEmotionTag(), m.getAiModel(), m.getCreatedAt()))
+                .toList();
+        byte[] bytes = compress(payload);
+
+        List<Long> ids = messages.stream().map(ConsultationMessage::getId).toList();
+        // Held until the index row is committed, so a concurrent delete never removes a segment
+        // that is about to be referenced
+        synchronized (segmentLock) {
+            // File first (fsynced), then index + delete in one transaction: a crash in between
+            // only leaves unreferenced bytes at the end of the segment
+            long offset = append(segmentPath(userId, month), bytes);
+
+            MessageArchiveBlock block = new MessageArchiveBlock();
+            block.setSessionId(sessionId);
+            block.setUserId(userId);
+            block.setSegmentMonth(month.toString());
+            block.setFileOffset(offset);
+            block.setByteLength(bytes.length);
+            block.setMessageCount(messages.size());
+            block.setFirstCreatedAt(messages.get(0).getCreatedAt());
+            block.setLastCreatedAt(messages.get(messages.size() - 1).getCreatedAt());
+            block.setArchivedAt(LocalDateTime.now());
+
+            transactionTemplate.executeWithoutResult(status -> {
+                messageArchiveBlockRepository.save(block);
+                consultationMessageRepository.deleteByIds(ids);
+            });
+        }
+        return messages.size();
+    }
+
+    // ==================== Read ====================
+
+    @Override
+    public List<ConsultationMessage> getArchivedMessages(Long sessionId) {
+        List<MessageArchiveBlock> blocks = messageArchiveBlockRepository.findBySessionIdOrdered(sessionId);
+        if (blocks.isEmpty()) {
+            return List.of();
+        }
+
+        ConsultationSession session = new ConsultationSession();
+        session.setId(sessionId);
+
+        List<ConsultationMessage> messages = new ArrayList<>();
+        for (MessageArchiveBlock block : blocks) {
+            for (ArchivedMessage archived : readBlock(block)) {
+                messages.add(toMessage(archived, session));
+            }
+        }
+        messages.sort(CHRONOLOGICAL);
+        return messages;
+    }
+
+    @Override
+    public List<ConsultationMessage> getArchivedMessagesBefore(Long sessionId, LocalDateTime beforeCreatedAt,
+                                                               Long beforeId, int limit) {
+        List<MessageArchiveBlock> blocks =
+                messageArchiveBlockRepository.findBySessionIdStartingBefore(sessionId, beforeCreatedAt);
+        if (blocks.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        ConsultationSession session = new ConsultationSession();
+        session.setId(sessionId);
+
+        List<ConsultationMessage> messages = new ArrayList<>();
+        for (MessageArchiveBlock block : blocks) {
+            // Blocks come newest first; once the page is full, a block ending before its oldest
+            // message cannot contribute anything newer
+            if (messages.size() >= limit
+                    && block.getLastCreatedAt().isBefore(messages.get(limit - 1).getCreatedAt())) {
+                break;
+            }
+            for (ArchivedMessage archived : readBlock(block)) {
+                ConsultationMessage message = toMessage(archived, session);
+                if (beforeCreatedAt == null || isBefore(message, beforeCreatedAt, beforeId)) {
+                    messages.add(message);
+                }
+            }
+            messages.sort(CHRONOLOGICAL.reversed());
+        }
+        return messages.size() > limit ? new ArrayList<>(messages.subList(0, limit)) : messages;
+    }
+
+    private static boolean isBefore(ConsultationMessage message, LocalDateTime createdAt, Long id) {
+        int byTime = message.getCreatedAt().compareTo(createdAt);
+        return byTime < 0 || (byTime == 0 && message.getId() < id);
+    }
+
+    private ConsultationMessage toMessage(ArchivedMessage archived, ConsultationSession session) {
+        ConsultationMessage message = ConsultationMessage.builder()
+                .id(archived.id())
+                .senderType(archived.senderType())
+                .messageType(archived.messageType())
+                .content(archived.content())
+                .emotionTag(archived.emotionTag())
+                .aiModel(archived.aiModel())
+                .session(session)
+                .build();
+        message.setCreatedAt(archived.createdAt());
+        return message;
+    }
+
+    @Override
+    public boolean hasArchivedMessages(Long sessionId) {
+        return messageArchiveBlockRepository.existsBySessionId(sessionId);
+    }
+
+    @Override
+    public long countArchivedMessages(Long sessionId) {
+        return messageArchiveBlockRepository.sumMessageCountBySessionId(sessionId);
+    }
+
+    // ==================== Delete ====================
+
+    @Override
+    public void deleteSessionArchive(Long sessionId) {
+        List<MessageArchiveBlock> blocks = messageArchiveBlockRepository.findBySessionId(sessionId);
+        if (blocks.isEmpty()) {
+            return;
+        }
+
+        // One block per segment file the session has data in
+        Map<String, MessageArchiveBlock> segments = new LinkedHashMap<>();
+        for (MessageArchiveBlock block : blocks) {
+            segments.putIfAbsent(block.getUserId() + "/" + block.getSegmentMonth(), block);
+        }
+
+        synchronized (segmentLock) {
+            // Content goes first, so a failure before the rows are dropped never leaves readable messages behind
+            for (MessageArchiveBlock block : blocks) {
+                wipeBlock(block);
+            }
+            messageArchiveBlockRepository.deleteBySessionId(sessionId);
+        }
+
+        // Rows dropped inside a caller's transaction only disappear for other readers on commit
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deleteUnreferencedSegments(segments.values());
+                }
+            });
+        } else {
+            deleteUnreferencedSegments(segments.values());
+        }
+    }
+
+    @Override
+    public void deleteUserArchive(Long userId) {
+        synchronized (segmentLock) {
+            messageArchiveBlockRepository.deleteByUserId(userId);
+
+            Path userDir = Paths.get(messageArchiveConfig.getPath(), String.valueOf(userId));
+            if (!Files.exists(userDir)) {
+                return;
+            }
+            try (Stream<Path> files = Files.walk(userDir)) {
+                for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.deleteIfExists(path);
+                }
+            } catch (IOException e) {
+                log.warn("Failed to delete archive segments, user ID: {}, error: {}", userId, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Remove segment files that no index row references anymore
+     *
+     * @param segments one block per segment, identifying its user and month
+     */
+    private void deleteUnreferencedSegments(Collection<MessageArchiveBlock> segments) {
+        synchronized (segmentLock) {
+            for (MessageArchiveBlock block : segments) {
+                if (messageArchiveBlockRepository.existsByUserIdAndSegmentMonth(block.getUserId(), block.getSegmentMonth())) {
+                    continue;
+                }
+                Path segment = segmentPath(block.getUserId(), YearMonth.parse(block.getSegmentMonth()));
+                try {
+                    Files.deleteIfExists(segment);
+                } catch (IOException e) {
+                    log.warn("Failed to delete archive segment {}, error: {}", segment, e.getMessage());
+                }
+            }
+        }
+    }
+
+    // ==================== Segment files ====================
+
+    private Path segmentPath(Long userId, YearMonth month) {
+        return Paths.get(messageArchiveConfig.getPath(), String.valueOf(userId), month + SEGMENT_SUFFIX);
+    }
+
+    /**
+     * Append a block to a segment and return its offset
+     */
+    private synchronized long append(Path segment, byte[] bytes) throws IOException {
+        Files.createDirectories(segment.getParent());
+        try (FileChannel channel = FileChannel.open(segment,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            long offset = channel.size();
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+            return offset;
+        }
+    }
+
+    /**
+     * Overwrite a block's bytes with zeros and fsync, caller must hold the segment lock
+     */
+    private void wipeBlock(MessageArchiveBlock block) {
+        Path segment = segmentPath(block.getUserId(), YearMonth.parse(block.getSegmentMonth()));
+        if (!Files.exists(segment)) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            ByteBuffer zeros = ByteBuffer.allocate(block.getByteLength());
+            long position = block.getFileOffset();
+            while (zeros.hasRemaining()) {
+                position += channel.write(zeros, position);
+            }
+            channel.force(true);
+        } catch (IOException e) {
+            log.error("Failed to wipe archive block, block ID: {}, segment: {}", block.getId(), segment, e);
+            throw new ServiceException("Failed to delete archived messages");
+        }
+    }
+
+    private List<ArchivedMessage> readBlock(MessageArchiveBlock block) {
+        Path segment = segmentPath(block.getUserId(), YearMonth.parse(block.getSegmentMonth()));
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(block.getByteLength());
+            long position = block.getFileOffset();
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer, position);
+                if (read < 0) {
+                    throw new IOException("Unexpected end of segment " + segment);
+                }
+                position += read;
+            }
+            return decompress(buffer.array());
+        } catch (IOException e) {
+            log.error("Failed to read archive block, block ID: {}, segment: {}", block.getId(), segment, e);
+            throw new ServiceException("Failed to read archived messages");
+        }
+    }
+
+    private byte[] compress(List<ArchivedMessage> payload) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream gzip = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(gzip, payload);
+        }
+        return bytes.toByteArray();
+    }
+
+    private List<ArchivedMessage> decompress(byte[] bytes) throws IOException {
+        try (InputStream gzip = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return objectMapper.readValue(gzip, new TypeReference<List<ArchivedMessage>>() {
+            });
+        }
+    }
+}
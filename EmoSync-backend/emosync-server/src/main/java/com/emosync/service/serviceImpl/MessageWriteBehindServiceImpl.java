@@ -0,0 +1,432 @@
+package com.emosync.service.serviceImpl;
+
+import com.emosync.config.MessageWriteBehindConfig;
+import com.emosync.entity.ConsultationSession;
+import com.emosync.exception.ServiceException;
+import com.emosync.repository.ConsultationMessageRepository;
+import com.emosync.repository.ConsultationSessionRepository;
+import com.emosync.service.ConsultationMessageService;
+import com.emosync.service.MessageWriteBehindService;
+import com.emosync.util.DateUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MessageWriteBehindServiceImpl implements MessageWriteBehindService {
+
+    private static final String INSERT_SQL = "INSERT INTO consultation_message "
+            + "(session_id, sender_type, message_type, content, emotion_tag, ai_model, created_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String JOURNAL_SUFFIX = ".journal";
+
+    private final MessageWriteBehindConfig messageWriteBehindConfig;
+    private final ConsultationMessageService consultationMessageService;
+    private final ConsultationMessageRepository consultationMessageRepository;
+    private final ConsultationSessionRepository consultationSessionRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicLong journalSequence = new AtomicLong();
+    private Writer[] writers;
+
+    /**
+     * Message waiting to be inserted; also the journal record format
+     */
+    public record PendingMessage(Long sessionId, Integer senderType, String content,
+                                 String emotionTag, String aiModel, LocalDateTime createdAt) {
+    }
+
+    private record Entry(PendingMessage message, CompletableFuture<Void> persisted) {
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!messageWriteBehindConfig.isEnabled()) {
+            return;
+        }
+        if (messageWriteBehindConfig.isJournalEnabled()) {
+            replayJournals();
+        }
+        writers = new Writer[Math.max(1, messageWriteBehindConfig.getWriters())];
+        for (int i = 0; i < writers.length; i++) {
+            writers[i] = new Writer(i);
+            writers[i].thread.start();
+        }
+        log.info("Chat message write-behind started, writers: {}, batch size: {}, journal: {}",
+                writers.length, messageWriteBehindConfig.getBatchSize(), messageWriteBehindConfig.isJournalEnabled());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (writers == null) {
+            return;
+        }
+        // Writers drain their queues before exiting
+        for (Writer writer : writers) {
+            writer.running = false;
+        }
+        for (Writer writer : writers) {
+            try {
+                writer.thread.join(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        log.info("Chat message write-behind stopped, unflushed messages: {}", pending.get());
+    }
+
+    @Override
+    public CompletableFuture<Void> saveUserMessage(Long sessionId, String content, String emotionTag) {
+        if (writers == null) {
+            consultationMessageService.saveUserMessage(sessionId, content, emotionTag);
+            return CompletableFuture.completedFuture(null);
+        }
+        // createdAt is journaled, so it must already equal the stored value for replay
+        return enqueue(new PendingMessage(sessionId, 1, content == null ? "" : content, emotionTag, null,
+                DateUtils.nowSeconds()));
+    }
+
+    @Override
+    public CompletableFuture<Void> saveAiMessage(Long sessionId, String content, String aiModel) {
+        if (writers == null) {
+            consultationMessageService.saveAiMessage(sessionId, content, aiModel);
+            return CompletableFuture.completedFuture(null);
+        }
+        return enqueue(new PendingMessage(sessionId, 2, content, null, aiModel, DateUtils.nowSeconds()));
+    }
+
+    @Override
+    public int getPendingCount() {
+        return pending.get();
+    }
+
+    private CompletableFuture<Void> enqueue(PendingMessage message) {
+        // A session always maps to the same writer, so its messages keep their order
+        return writers[Math.floorMod(message.sessionId(), writers.length)].enqueue(message);
+    }
+
+    // ==================== Writer ====================
+
+    private final class Writer implements Runnable {
+
+        private final int index;
+        private final Thread thread;
+        private final BlockingQueue<Entry> queue = new LinkedBlockingQueue<>();
+        private final Semaphore capacity = new Semaphore(messageWriteBehindConfig.getMaxPending());
+        private final Object lock = new Object();
+        private volatile boolean running = true;
+
+        /** Journal of the messages queued since the last flush (guarded by lock) */
+        private FileChannel journal;
+        private Path journalFile;
+
+        private Writer(int index) {
+            this.index = index;
+            this.thread = new Thread(this, "chat-write-behind-" + (index + 1));
+            this.thread.setDaemon(true);
+        }
+
+        private CompletableFuture<Void> enqueue(PendingMessage message) {
+            try {
+                if (!capacity.tryAcquire(messageWriteBehindConfig.getEnqueueTimeoutMs(), TimeUnit.MILLISECONDS)) {
+                    throw new ServiceException("Chat message queue is full, please try again later");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServiceException("Interrupted while queueing chat message");
+            }
+
+            Entry entry = new Entry(message, new CompletableFuture<>());
+            synchronized (lock) {
+                if (messageWriteBehindConfig.isJournalEnabled()) {
+                    try {
+                        appendJournal(message);
+                    } catch (IOException e) {
+                        capacity.release();
+                        log.error("Failed to journal chat message, session ID: {}", message.sessionId(), e);
+                        throw new ServiceException("Failed to save chat message");
+                    }
+                }
+                queue.add(entry);
+            }
+            pending.incrementAndGet();
+            return entry.persisted();
+        }
+
+        @Override
+        public void run() {
+            long flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(messageWriteBehindConfig.getFlushIntervalMs());
+            int batchSize = Math.max(1, messageWriteBehindConfig.getBatchSize());
+
+            while (running || !queue.isEmpty()) {
+                try {
+                    Entry first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    List<Entry> batch = new ArrayList<>();
+                    batch.add(first);
+
+                    // Flush on a full batch or after the flush interval, whichever comes first
+                    long deadline = System.nanoTime() + flushIntervalNanos;
+                    while (batch.size() < batchSize && running) {
+                        long remaining = deadline - System.nanoTime();
+                        Entry next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                        if (next == null) {
+                            break;
+                        }
+                        batch.add(next);
+                    }
+
+                    // Take everything the current journal covers, so the journal can go once it is committed
+                    Path sealedJournal;
+                    synchronized (lock) {
+                        queue.drainTo(batch);
+                        sealedJournal = sealJournal();
+                    }
+                    capacity.release(batch.size());
+
+                    flush(batch, batchSize, sealedJournal);
+
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (Exception e) {
+                    log.error("Chat message writer {} failed", thread.getName(), e);
+                }
+            }
+        }
+
+        private void flush(List<Entry> batch, int batchSize, Path sealedJournal) {
+            boolean durable = true;
+            for (int from = 0; from < batch.size(); from += batchSize) {
+                durable &= persist(batch.subList(from, Math.min(batch.size(), from + batchSize)));
+            }
+            pending.addAndGet(-batch.size());
+
+            // Keep the journal of a batch that could not be committed, it is replayed on the next start
+            if (sealedJournal != null && durable) {
+                try {
+                    Files.deleteIfExists(sealedJournal);
+                } catch (IOException e) {
+                    log.warn("Failed to delete chat message journal {}: {}", sealedJournal, e.getMessage());
+                }
+            }
+        }
+
+        private void appendJournal(PendingMessage message) throws IOException {
+            if (journal == null) {
+                Path directory = Paths.get(messageWriteBehindConfig.getJournalPath());
+                Files.createDirectories(directory);
+                journalFile = directory.resolve(String.format("%013d-%d-%d%s",
+                        System.currentTimeMillis(), index, journalSequence.incrementAndGet(), JOURNAL_SUFFIX));
+                journal = FileChannel.open(journalFile,
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            }
+            ByteBuffer buffer = ByteBuffer.wrap((objectMapper.writeValueAsString(message) + "\n")
+                    .getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                journal.write(buffer);
+            }
+            if (messageWriteBehindConfig.isJournalFsync()) {
+                journal.force(false);
+            }
+        }
+
+        private Path sealJournal() {
+            if (journal == null) {
+                return null;
+            }
+            Path sealed = journalFile;
+            try {
+                journal.close();
+            } catch (IOException e) {
+                log.warn("Failed to close chat message journal {}: {}", sealed, e.getMessage());
+            }
+            journal = null;
+            journalFile = null;
+            return sealed;
+        }
+    }
+
+    // ==================== Persistence ====================
+
+    /**
+     * Insert one batch; returns false if some message could not be committed for a reason
+     * other than its session having been deleted
+     */
+    private boolean persist(List<Entry> chunk) {
+        List<PendingMessage> messages = chunk.stream().map(Entry::message).toList();
+        int attempts = Math.max(1, messageWriteBehindConfig.getMaxRetries());
+        for (int attempt = 1; attempt <= attempts; attempt++) {
+            try {
+                insert(messages);
+                chunk.forEach(entry -> entry.persisted().complete(null));
+                return true;
+            } catch (DataIntegrityViolationException e) {
+                // A session was deleted meanwhile, retrying the whole batch cannot help
+                break;
+            } catch (Exception e) {
+                log.warn("Chat message batch insert failed, attempt: {}, messages: {}, error: {}",
+                        attempt, messages.size(), e.getMessage());
+                if (attempt < attempts && !sleepQuietly(100L * attempt)) {
+                    break;
+                }
+            }
+        }
+
+        // Row by row, so one bad message does not take the rest of the batch with it
+        boolean durable = true;
+        for (Entry entry : chunk) {
+            try {
+                insert(List.of(entry.message()));
+                entry.persisted().complete(null);
+            } catch (DataIntegrityViolationException e) {
+                log.warn("Dropping chat message of a deleted session, session ID: {}", entry.message().sessionId());
+                entry.persisted().completeExceptionally(e);
+            } catch (Exception e) {
+                log.error("Failed to persist chat message, session ID: {}", entry.message().sessionId(), e);
+                entry.persisted().completeExceptionally(e);
+                durable = false;
+            }
+        }
+        return durable;
+    }
+
+    /**
+     * JDBC batch insert plus one statistics update per session, in one transaction
+     */
+    private void insert(List<PendingMessage> messages) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_SQL, messages, messages.size(), (ps, message) -> {
+                ps.setLong(1, message.sessionId());
+                ps.setInt(2, message.senderType());
+                ps.setInt(3, 1);
+                ps.setString(4, message.content());
+                ps.setString(5, message.emotionTag());
+                ps.setString(6, message.aiModel());
+                ps.setTimestamp(7, Timestamp.valueOf(message.createdAt()));
+            });
+
+            Map<Long, List<PendingMessage>> bySession = new LinkedHashMap<>();
+            for (PendingMessage message : messages) {
+                bySession.computeIfAbsent(message.sessionId(), id -> new ArrayList<>()).add(message);
+            }
+            bySession.forEach((sessionId, sessionMessages) -> {
+                PendingMessage last = sessionMessages.get(sessionMessages.size() - 1);
+                String emotionTag = sessionMessages.stream()
+                        .map(PendingMessage::emotionTag)
+                        .filter(tag -> tag != null && !tag.isEmpty())
+                        .findFirst()
+                        .orElse(null);
+                consultationSessionRepository.recordMessages(sessionId, sessionMessages.size(),
+                        last.createdAt(), ConsultationSession.previewOf(last.content()), emotionTag);
+            });
+        });
+    }
+
+    private static boolean sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // ==================== Journal replay ====================
+
+    /**
+     * Insert messages from journals left by a previous run; messages that made it to the
+     * database before the crash are skipped
+     */
+    private void replayJournals() {
+        Path directory = Paths.get(messageWriteBehindConfig.getJournalPath());
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        List<Path> journals;
+        try (Stream<Path> files = Files.list(directory)) {
+            journals = files.filter(path -> path.getFileName().toString().endsWith(JOURNAL_SUFFIX))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            log.error("Failed to list chat message journals in {}", directory, e);
+            return;
+        }
+
+        for (Path journal : journals) {
+            try {
+                List<Entry> missing = new ArrayList<>();
+                for (String line : Files.readAllLines(journal, StandardCharsets.UTF_8)) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    PendingMessage message;
+                    try {
+                        message = objectMapper.readValue(line, PendingMessage.class);
+                    } catch (JsonProcessingException e) {
+                        // Torn last record of a crash in the middle of an append
+                        log.warn("Skipping unreadable record in chat message journal {}", journal.getFileName());
+                        continue;
+                    }
+                    if (!consultationMessageRepository.existsIdentical(message.sessionId(), message.senderType(),
+                            message.createdAt(), message.content())) {
+                        missing.add(new Entry(message, new CompletableFuture<>()));
+                    }
+                }
+
+                boolean durable = true;
+                int batchSize = Math.max(1, messageWriteBehindConfig.getBatchSize());
+                for (int from = 0; from < missing.size(); from += batchSize) {
+                    durable &= persist(missing.subList(from, Math.min(missing.size(), from + batchSize)));
+                }
+                if (durable) {
+                    Files.delete(journal);
+                }
+                log.info("Replayed chat message journal {}, restored messages: {}", journal.getFileName(), missing.size());
+
+            } catch (Exception e) {
+                log.error("Failed to replay chat message journal {}", journal, e);
+            }
+        }
+    }
+}
@@ -3,10 +3,16 @@ package com.emosync.service.serviceImpl;
 import com.emosync.DTO.command.ConsultationSessionCreateDTO;
 import com.emosync.DTO.response.ConsultationMessageResponseDTO;
 import com.emosync.ai.AiStructuredOutput;
+import com.emosync.ai.CrisisDetector;
+import com.emosync.ai.EmotionPreClassifier;
+import com.emosync.ai.LocalEmotionModel;
 import com.emosync.ai.PromptManager;
 import com.emosync.entity.ConsultationSession;
+import com.emosync.service.ChatContextPrefetchService;
 import com.emosync.service.ConsultationMessageService;
 import com.emosync.service.ConsultationSessionService;
+import com.emosync.service.CrisisAlertService;
+import com.emosync.service.MessageWriteBehindService;
 import com.emosync.service.PsychologicalSupportService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -17,13 +23,15 @@ import org.springframework.ai.chat.messages.AssistantMessage;
 import org.springframework.ai.chat.messages.Message;
 import org.springframework.ai.chat.messages.SystemMessage;
 import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.chat.model.ChatModel;
 import org.springframework.ai.chat.model.ChatResponse;
 import org.springframework.ai.chat.prompt.Prompt;
-import org.springframework.ai.openai.OpenAiChatModel;
 import org.springframework.ai.openai.OpenAiChatOptions;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
 
 import java.time.Instant;
 import java.util.ArrayList;
@@ -44,9 +52,9 @@ public class PsychologicalSupportServiceImpl implements PsychologicalSupportServ
     private String model;
 
     /**
-     * Spring AI OpenAI Chat Model (Inject OpenAiChatModel directly)
+     * Spring AI Chat Model (OpenAI, or the local stub under the "stub-llm" profile)
      */
-    private final OpenAiChatModel openAiChatModel;
+    private final ChatModel chatModel;
 
     /**
      * Conversation memory for Spring AI
@@ -63,6 +71,36 @@ public class PsychologicalSupportServiceImpl implements PsychologicalSupportServ
      */
     private final ConsultationMessageService consultationMessageService;
 
+    /**
+     * Batched background writer for chat turn messages
+     */
+    private final MessageWriteBehindService messageWriteBehindService;
+
+    /**
+     * Local lexicon classifier deciding whether a message needs LLM emotion analysis
+     */
+    private final EmotionPreClassifier emotionPreClassifier;
+
+    /**
+     * Inline crisis phrase scan, independent of the LLM
+     */
+    private final CrisisDetector crisisDetector;
+
+    /**
+     * Crisis flag persistence and alerting
+     */
+    private final CrisisAlertService crisisAlertService;
+
+    /**
+     * Naive Bayes emotion model distilled from past AI analyses (first pass / fallback)
+     */
+    private final LocalEmotionModel localEmotionModel;
+
+    /**
+     * Parallel fetch of trend, diary highlights and resources for the first reply
+     */
+    private final ChatContextPrefetchService chatContextPrefetchService;
+
     /**
      * Jackson mapper for JSON construction
      */
@@ -76,16 +114,8 @@ public class PsychologicalSupportServiceImpl implements PsychologicalSupportServ
         log.info("Starting new psychological support session, userId={}", userId);
 
         try {
-            // 1. Create session record in database
-            ConsultationSession dbSession =
-                    consultationSessionService.createSession(userId, createDTO);
-
-            // 2. Save initial user message to database
-            consultationMessageService.saveUserMessage(
-                    dbSession.getId(),
-                    createDTO.getInitialMessage(),
-                    null
-            );
+            // 1-2. Create session record and save the initial user message
+            ConsultationSession dbSession = createChatSession(userId, createDTO);
 
             // 3. Build session and conversation IDs
             String sessionId = "session_" + dbSession.getId();
@@ -127,133 +157,182 @@ public class PsychologicalSupportServiceImpl implements PsychologicalSupportServ
     }
 
     /**
-     * ✅ Streaming psychological support chat - using OpenAiChatModel
+     * Create the session record and save the initial user message (not added to ChatMemory)
+     */
+    public ConsultationSession createChatSession(Long userId, ConsultationSessionCreateDTO createDTO) {
+        // 1. Create session record in database
+        ConsultationSession dbSession =
+                consultationSessionService.createSession(userId, createDTO);
+
+        // 1.1 Fetch the first reply's context while the rest of the setup runs
+        chatContextPrefetchService.prefetch(dbSession.getId(), userId, createDTO.getInitialMessage());
+
+        // 2. Save initial user message to database
+        consultationMessageService.saveUserMessage(
+                dbSession.getId(),
+                createDTO.getInitialMessage(),
+                null
+        );
+        return dbSession;
+    }
+
+    /**
+     * Streaming chat turn for a session the caller already loaded and checked ownership of;
+     * the entity is reused for the whole turn instead of being read again
      */
-    public Flux<String> streamPsychologicalChat(String sessionId, String userMessage) {
+    public Flux<String> streamPsychologicalChat(ConsultationSession dbSession, String userMessage) {
+        String sessionId = "session_" + dbSession.getId();
         log.info("Starting streaming psychological chat, sessionId={}, message={}",
                 sessionId, userMessage);
 
         return Flux.create(sink -> {
             try {
-                // 1. Validate session
-                Long dbSessionId = extractSessionId(sessionId);
-                if (dbSessionId == null) {
-                    sink.error(new RuntimeException("Invalid sessionId format"));
-                    return;
-                }
+                // Save user message (avoid duplicates)
+                saveUserMessageIfNeeded(dbSession, userMessage);
 
-                ConsultationSession dbSession =
-                        consultationSessionService.getSessionById(dbSessionId);
-                if (dbSession == null) {
-                    sink.error(new RuntimeException("Session not found"));
-                    return;
-                }
+                streamReply(dbSession, sessionId, userMessage, sink);
 
-                // 2. Generate conversationId
-                String conversationId = generateConversationId(sessionId);
+            } catch (Exception e) {
+                log.error("Failed to start streaming", e);
+                sink.error(e);
+            }
+        });
+    }
 
-                // 3. Save user message (avoid duplicates)
-                saveUserMessageIfNeeded(dbSessionId, userMessage);
+    /**
+     * Stream the first reply of a session created by {@link #createChatSession}; the initial
+     * message is already saved, so no session lookup or duplicate check is needed
+     */
+    public Flux<String> streamFirstReply(ConsultationSession dbSession, String userMessage) {
+        String sessionId = "session_" + dbSession.getId();
+        log.info("Starting first reply stream, sessionId={}", sessionId);
 
-                // 4. Asynchronous emotion analysis
-                CompletableFuture.runAsync(() ->
-                        runAsyncEmotionAnalysis(dbSessionId, userMessage)
-                );
+        return Flux.create(sink -> {
+            try {
+                streamReply(dbSession, sessionId, userMessage, sink);
+            } catch (Exception e) {
+                log.error("Failed to start streaming", e);
+                sink.error(e);
+            }
+        });
+    }
 
-                // 5. ✅ Get historical messages from ChatMemory
-                List<Message> historyMessages = chatMemory.get(conversationId);
+    /**
+     * Build the prompt for a saved user message and stream the model reply into the sink
+     */
+    private void streamReply(ConsultationSession dbSession, String sessionId, String userMessage,
+                             FluxSink<String> sink) {
+        Long dbSessionId = dbSession.getId();
 
-                // 6. ✅ Build complete message list
-                List<Message> allMessages = new ArrayList<>();
+        // 3. Generate conversationId
+        String conversationId = generateConversationId(sessionId);
 
-                // Add system prompt
-                allMessages.add(new SystemMessage(
-                        PromptManager.PSYCHOLOGICAL_SUPPORT_SYSTEM_PROMPT
-                ));
+        // 3.1 Inline crisis check: flags the session immediately, whatever the LLM does later
+        checkCrisis(dbSession, userMessage);
 
-                // Add historical messages
-                if (historyMessages != null && !historyMessages.isEmpty()) {
-                    allMessages.addAll(historyMessages);
-                }
+        // 4. Asynchronous emotion analysis
+        CompletableFuture.runAsync(() ->
+                runAsyncEmotionAnalysis(dbSessionId, userMessage)
+        );
 
-                // Add current user message
-                allMessages.add(new UserMessage(userMessage));
-
-                // 7. Save user message to ChatMemory
-                chatMemory.add(conversationId, List.of(new UserMessage(userMessage)));
-
-                // 8. ✅ Create Prompt object
-                Prompt prompt = new Prompt(allMessages,
-                        OpenAiChatOptions.builder()
-                                .model(model)  // or your configured model
-                                .temperature(PROMPT_TEMPERATURE)
-                                .maxTokens(MAX_TOKENS)
-                                .build()
-                );
-
-                // 9. ✅ Use OpenAiChatModel for streaming call
-                StringBuilder fullResponse = new StringBuilder();
-
-                openAiChatModel.stream(prompt)
-                        .flatMap(chatResponse -> {
-                            // Extract content from ChatResponse
-                            if (chatResponse.getResults() != null &&
-                                    chatResponse.getResult().getOutput() != null) {
-                                String content = chatResponse.getResult()
-                                        .getOutput()
-                                        .getText();
-                                if (content != null && !content.isEmpty()) {
-                                    return Flux.just(content);
-                                }
-
-                            }
-                            return Flux.empty();
-                        })
-                        .doOnNext(fragment -> {
-                            fullResponse.append(fragment);
-                            sink.next(fragment);
-                        })
-                        .doOnError(error -> {
-                            log.error("Streaming error", error);
-                            sink.error(error);
-                        })
-                        .doOnComplete(() -> {
-                            String fullReply = fullResponse.toString();
-
-                            // Asynchronously save to database
-                            CompletableFuture.runAsync(() -> {
-                                try {
-                                    consultationMessageService.saveAiMessage(
-                                            dbSessionId, fullReply, "openai"
-                                    );
-                                    log.info("AI reply saved to DB, length={}",
-                                            fullReply.length());
-                                } catch (Exception e) {
-                                    log.warn("Failed to save AI reply", e);
-                                }
-                            });
-
-                            // Synchronously add to ChatMemory
-                            try {
-                                chatMemory.add(
-                                        conversationId,
-                                        List.of(new AssistantMessage(fullReply))
-                                );
-                                log.info("AI reply added to ChatMemory");
-                            } catch (Exception e) {
-                                log.warn("Failed to add to ChatMemory", e);
-                            }
-
-                            sink.complete();
-                            log.info("Stream completed, sessionId={}", sessionId);
-                        })
-                        .subscribe();
+        // 5. ✅ Get historical messages from ChatMemory
+        List<Message> historyMessages = chatMemory.get(conversationId);
 
-            } catch (Exception e) {
-                log.error("Failed to start streaming", e);
-                sink.error(e);
-            }
-        });
+        // 6. ✅ Build complete message list
+        List<Message> allMessages = new ArrayList<>();
+
+        // Add system prompt
+        allMessages.add(new SystemMessage(
+                PromptManager.PSYCHOLOGICAL_SUPPORT_SYSTEM_PROMPT
+        ));
+
+        // Add the context prefetched at session start (first reply only)
+        String prefetchedContext = chatContextPrefetchService.takeContext(dbSessionId);
+        if (prefetchedContext != null) {
+            allMessages.add(new SystemMessage(prefetchedContext));
+        }
+
+        // Add historical messages
+        if (historyMessages != null && !historyMessages.isEmpty()) {
+            allMessages.addAll(historyMessages);
+        }
+
+        // Add current user message
+        allMessages.add(new UserMessage(userMessage));
+
+        // 7. Save user message to ChatMemory
+        chatMemory.add(conversationId, List.of(new UserMessage(userMessage)));
+
+        // 8. ✅ Create Prompt object
+        Prompt prompt = new Prompt(allMessages,
+                OpenAiChatOptions.builder()
+                        .model(model)  // or your configured model
+                        .temperature(PROMPT_TEMPERATURE)
+                        .maxTokens(MAX_TOKENS)
+                        .build()
+        );
+
+        // 9. ✅ Use ChatModel for streaming call
+        StringBuilder fullResponse = new StringBuilder();
+
+        Disposable upstream = chatModel.stream(prompt)
+                .flatMap(chatResponse -> {
+                    // Extract content from ChatResponse
+                    if (chatResponse.getResults() != null &&
+                            chatResponse.getResult().getOutput() != null) {
+                        String content = chatResponse.getResult()
+                                .getOutput()
+                                .getText();
+                        if (content != null && !content.isEmpty()) {
+                            return Flux.just(content);
+                        }
+
+                    }
+                    return Flux.empty();
+                })
+                .doOnNext(fragment -> {
+                    fullResponse.append(fragment);
+                    sink.next(fragment);
+                })
+                .doOnError(error -> {
+                    log.error("Streaming error", error);
+                    sink.error(error);
+                })
+                .doOnComplete(() -> {
+                    String fullReply = fullResponse.toString();
+
+                    // Queue for the batched database writer
+                    try {
+                        messageWriteBehindService.saveAiMessage(dbSessionId, fullReply, "openai")
+                                .whenComplete((ignored, error) -> {
+                                    if (error != null) {
+                                        log.warn("Failed to save AI reply", error);
+                                    } else {
+                                        log.info("AI reply saved to DB, length={}",
+                                                fullReply.length());
+                                    }
+                                });
+                    } catch (Exception e) {
+                        log.warn("Failed to save AI reply", e);
+                    }
+
+                    // Synchronously add to ChatMemory
+                    try {
+                        chatMemory.add(
+                                conversationId,
+                                List.of(new AssistantMessage(fullReply))
+                        );
+                        log.info("AI reply added to ChatMemory");
+                    } catch (Exception e) {
+                        log.warn("Failed to add to ChatMemory", e);
+                    }
+
+                    sink.complete();
+                    log.info("Stream completed, sessionId={}", sessionId);
+                })
+                .subscribe();
+        // A client that disconnects cancels the provider stream too, not only its own subscription
+        sink.onDispose(upstream);
     }
 
     /**
@@ -276,6 +355,8 @@ public class PsychologicalSupportServiceImpl implements PsychologicalSupportServ
                 return false;
             }
 
+            chatContextPrefetchService.discard(dbSessionId);
+
             String conversationId = generateConversationId(sessionId);
             try {
                 chatMemory.clear(conversationId);
@@ -320,9 +401,23 @@ public class PsychologicalSupportServiceImpl implements PsychologicalSupportServ
      * Save user message if not duplicate
      */
     public void saveUserMessageIfNeeded(Long dbSessionId, String userMessage) {
+        ConsultationSession dbSession = consultationSessionService.getSessionById(dbSessionId);
+        if (dbSession == null) {
+            log.warn("Session not found, user message not saved, session ID: {}", dbSessionId);
+            return;
+        }
+        saveUserMessageIfNeeded(dbSession, userMessage);
+    }
+
+    /**
+     * Save user message if not duplicate, reading the count from the already loaded session
+     */
+    private void saveUserMessageIfNeeded(ConsultationSession dbSession, String userMessage) {
+        Long dbSessionId = dbSession.getId();
         try {
-            Integer messageCount =
-                    consultationMessageService.getMessageCountBySessionId(dbSessionId);
+            Integer messageCount = dbSession.hasMessageStats()
+                    ? dbSession.getMessageCount()
+                    : consultationMessageService.getMessageCountBySessionId(dbSessionId);
             boolean isInitialMessage = false;
 
             if (messageCount == 1) {
@@ -337,14 +432,31 @@ public class PsychologicalSupportServiceImpl implements PsychologicalSupportServ
             }
 
             if (!isInitialMessage) {
-                consultationMessageService.saveUserMessage(dbSessionId, userMessage, null);
-                log.info("User message saved to DB");
+                messageWriteBehindService.saveUserMessage(dbSessionId, userMessage, null);
+                log.info("User message queued for DB");
             }
         } catch (Exception e) {
             log.warn("Failed to save user message to DB", e);
         }
     }
 
+    /**
+     * Raise a crisis flag when the message matches a high-risk crisis phrase
+     */
+    private void checkCrisis(ConsultationSession dbSession, String userMessage) {
+        try {
+            CrisisDetector.Detection detection = crisisDetector.detect(userMessage);
+            if (crisisDetector.isAlert(detection)) {
+                Long userId = dbSession.getUser() != null ? dbSession.getUser().getId() : null;
+                crisisAlertService.raiseSessionCrisis(dbSession.getId(), userId, detection.riskLevel(),
+                        "Crisis phrases detected: " + String.join(", ", detection.phrases()),
+                        CrisisAlertService.SOURCE_DETECTOR);
+            }
+        } catch (Exception e) {
+            log.error("Inline crisis check failed, sessionId={}", dbSession.getId(), e);
+        }
+    }
+
     /**
      * Default emotion analysis result
      */
@@ -369,8 +481,21 @@ public class PsychologicalSupportServiceImpl implements PsychologicalSupportServ
      * Quick emotion analysis using LLM
      */
     public AiStructuredOutput.EmotionAnalysisResult analyzeUserEmotion(String content) {
+        return analyzeUserEmotion(content, content);
+    }
+
+    @Override
+    public AiStructuredOutput.EmotionAnalysisResult analyzeUserEmotion(String modelText, String content) {
         log.info("Starting quick emotion analysis");
 
+        // Confident low-risk texts can be answered by the local model without an LLM call
+        LocalEmotionModel.Prediction localPrediction = localEmotionModel.predict(modelText);
+        if (localPrediction != null && localEmotionModel.acceptFirstPass(localPrediction)) {
+            log.info("Emotion analysis answered locally: emotion={}, riskLevel={}",
+                    localPrediction.emotion().getEmotionName(), localPrediction.riskLevel());
+            return localPrediction.toResult();
+        }
+
         try {
             List<Message> messages = new ArrayList<>();
             messages.add(new SystemMessage(PromptManager.EMOTION_ANALYSIS_SYSTEM_PROMPT));
@@ -380,7 +505,7 @@ public class PsychologicalSupportServiceImpl implements PsychologicalSupportServ
 
             Prompt prompt = new Prompt(messages);
 
-            ChatResponse response = openAiChatModel.call(prompt);
+            ChatResponse response = chatModel.call(prompt);
             String resultJson = response.getResult().getOutput().getText();
             String cleanedJson = cleanJsonString(resultJson);
             log.debug("Cleaned emotion JSON: {}", cleanedJson);
@@ -391,8 +516,15 @@ public class PsychologicalSupportServiceImpl implements PsychologicalSupportServ
 
             log.info("Emotion analysis done: emotion={}, riskLevel={}",
                     result.primaryEmotion(), result.riskLevel());
+            if (localPrediction != null) {
+                localEmotionModel.recordAgreement(localPrediction, result);
+            }
             return result;
         } catch (Exception e) {
+            if (localPrediction != null) {
+                log.error("Emotion analysis failed, using local model prediction", e);
+                return localPrediction.toResult();
+            }
             log.error("Emotion analysis failed, using default result", e);
             return getDefaultEmotionAnalysis();
         }
@@ -405,8 +537,16 @@ public class PsychologicalSupportServiceImpl implements PsychologicalSupportServ
         try {
             log.info("Running async emotion analysis, sessionId={}", dbSessionId);
 
+            // Small talk keeps the previous snapshot, clear cases are scored locally, the rest goes to the LLM
+            EmotionPreClassifier.PreClassification classification = emotionPreClassifier.route(userMessage);
+            if (classification.route() == EmotionPreClassifier.Route.SKIP) {
+                log.info("Emotion analysis skipped, no emotional content, sessionId={}", dbSessionId);
+                return;
+            }
             AiStructuredOutput.EmotionAnalysisResult emotionAnalysis =
-                    analyzeUserEmotion(userMessage);
+                    classification.route() == EmotionPreClassifier.Route.LOCAL
+                            ? classification.result()
+                            : analyzeUserEmotion(userMessage);
 
             // Build JSON using Jackson
             ObjectNode node = objectMapper.createObjectNode();
@@ -450,8 +590,12 @@ public class PsychologicalSupportServiceImpl implements PsychologicalSupportServ
         }
     }
 
-    // Clean markdown code blocks, backticks, etc., keep pure JSON
     public String cleanJsonString(String text) {
+        return stripJsonMarkup(text);
+    }
+
+    // Clean markdown code blocks, backticks, etc., keep pure JSON
+    public static String stripJsonMarkup(String text) {
         if (text == null) return "";
 
         return text
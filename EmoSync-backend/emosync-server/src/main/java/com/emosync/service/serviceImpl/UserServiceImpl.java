@@ -6,8 +6,10 @@ import com.emosync.DTO.response.UserDetailResponseDTO;
 import com.emosync.DTO.response.UserLoginResponseDTO;
 import com.emosync.Result.PageResult;
 import com.emosync.entity.User;
+import com.emosync.enumClass.UserStatus;
 import com.emosync.exception.BusinessException;
 import com.emosync.repository.UserRepository;
+import com.emosync.service.BulkDeleteService;
 import com.emosync.service.UserService;
 import com.emosync.service.convert.UserConvert;
 import com.emosync.util.JwtTokenUtils;
@@ -36,6 +38,7 @@ public class UserServiceImpl implements UserService {
     @Resource
     private UserRepository userRepository;
     private final JwtTokenUtils jwtTokenUtils;
+    private final BulkDeleteService bulkDeleteService;
 
     private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
 
@@ -264,6 +267,12 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public void deleteUser(Long id) {
-        userRepository.deleteById(id);
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new BusinessException("User not found"));
+
+        // Disable immediately, then purge the history in chunks in the background
+        user.setStatus(UserStatus.DISABLED.getCode());
+        userRepository.save(user);
+        bulkDeleteService.purgeUserAsync(id);
     }
 }
@@ -68,6 +68,7 @@ CREATE TABLE `consultation_message`  (
   `created_at` datetime NULL DEFAULT CURRENT_TIMESTAMP,
   PRIMARY KEY (`id`) USING BTREE,
   INDEX `idx_session_message`(`session_id` ASC, `created_at` ASC) USING BTREE,
+  FULLTEXT INDEX `ft_message_content`(`content`) WITH PARSER `ngram`,
   CONSTRAINT `consultation_message_ibfk_1` FOREIGN KEY (`session_id`) REFERENCES `consultation_session` (`id`) ON DELETE CASCADE ON UPDATE RESTRICT
 ) ENGINE = InnoDB AUTO_INCREMENT = 104 CHARACTER SET = utf8mb4 COLLATE = utf8mb4_unicode_ci COMMENT = 'Consultation Message Table' ROW_FORMAT = Dynamic;
 
@@ -92,16 +93,22 @@ CREATE TABLE `consultation_session`  (
   `started_at` datetime NULL DEFAULT CURRENT_TIMESTAMP,
   `last_emotion_analysis` json NULL COMMENT 'Last emotion analysis result (JSON format)',
   `last_emotion_updated_at` datetime NULL DEFAULT NULL COMMENT 'Last emotion analysis update time',
+  `message_count` int NULL DEFAULT NULL COMMENT 'Number of messages (NULL: not yet computed by the counter repair job)',
+  `last_message_at` datetime NULL DEFAULT NULL COMMENT 'Time of the newest message',
+  `last_message_preview` varchar(200) CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci NULL DEFAULT NULL COMMENT 'Preview of the newest message',
+  `top_emotion_tag` varchar(50) CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci NULL DEFAULT NULL COMMENT 'First emotion tag seen in the session',
+  `deleted_at` datetime NULL DEFAULT NULL COMMENT 'Time the session was queued for background deletion (NULL: active)',
   PRIMARY KEY (`id`) USING BTREE,
   INDEX `idx_user_session`(`user_id` ASC, `started_at` ASC) USING BTREE,
   INDEX `idx_last_emotion_updated_at`(`last_emotion_updated_at` ASC) USING BTREE,
+  INDEX `idx_deleted_at`(`deleted_at` ASC) USING BTREE,
   CONSTRAINT `consultation_session_ibfk_1` FOREIGN KEY (`user_id`) REFERENCES `user` (`id`) ON DELETE CASCADE ON UPDATE RESTRICT
 ) ENGINE = InnoDB AUTO_INCREMENT = 18 CHARACTER SET = utf8mb4 COLLATE = utf8mb4_unicode_ci COMMENT = 'Consultation Session Table' ROW_FORMAT = Dynamic;
 
 -- ----------------------------
 -- Records of consultation_session
 -- ----------------------------
-INSERT INTO `consultation_session` VALUES (17, 2, 'Warm Assistant - 9/11/2025, 2:11:52 PM', '2025-11-14 14:11:53', '{\"icon\": \"🤔\", \"label\": \"Curiosity\", \"keywords\": [\"advice\", \"curiosity\", \"preparation\", \"planning\", \"consultation\"], \"riskLevel\": 0, \"timestamp\": 1719216000000, \"isNegative\": false, \"suggestion\": \"Glad to provide graduate school advice for you\", \"emotionScore\": 45, \"primaryEmotion\": \"Thinking\", \"riskDescription\": \"Emotionally stable\", \"improvementSuggestions\": [\"List specific problem items\", \"Consult senior student experience\", \"Plan research direction\", \"Create study plan\"]}', '2025-11-14 14:12:35');
+INSERT INTO `consultation_session` VALUES (17, 2, 'Warm Assistant - 9/11/2025, 2:11:52 PM', '2025-11-14 14:11:53', '{\"icon\": \"🤔\", \"label\": \"Curiosity\", \"keywords\": [\"advice\", \"curiosity\", \"preparation\", \"planning\", \"consultation\"], \"riskLevel\": 0, \"timestamp\": 1719216000000, \"isNegative\": false, \"suggestion\": \"Glad to provide graduate school advice for you\", \"emotionScore\": 45, \"primaryEmotion\": \"Thinking\", \"riskDescription\": \"Emotionally stable\", \"improvementSuggestions\": [\"List specific problem items\", \"Consult senior student experience\", \"Plan research direction\", \"Create study plan\"]}', '2025-11-14 14:12:35', NULL, NULL, NULL, NULL, NULL);
 
 -- ----------------------------
 -- Table structure for emotion_diary
@@ -218,6 +225,26 @@ INSERT INTO `knowledge_category` VALUES (2, 0, 'Emotion Management', NULL, 'Emot
 INSERT INTO `knowledge_category` VALUES (3, 0, 'Stress Relief', NULL, 'Stress source analysis and relief methods', 20, 1, '2025-11-04 12:50:03', '2025-11-13 11:48:16');
 INSERT INTO `knowledge_category` VALUES (4, 0, 'Interpersonal Relationships', NULL, 'Interpersonal communication and relationship handling', 10, 1, '2025-11-04 12:50:03', '2025-11-13 11:48:16');
 
+-- ----------------------------
+-- Table structure for message_archive_block
+-- ----------------------------
+DROP TABLE IF EXISTS `message_archive_block`;
+CREATE TABLE `message_archive_block`  (
+  `id` bigint NOT NULL AUTO_INCREMENT COMMENT 'Block ID',
+  `session_id` bigint NOT NULL COMMENT 'Session ID',
+  `user_id` bigint NOT NULL COMMENT 'User ID',
+  `segment_month` varchar(7) CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci NOT NULL COMMENT 'Segment month (yyyy-MM)',
+  `file_offset` bigint NOT NULL COMMENT 'Block offset in the segment file',
+  `byte_length` int NOT NULL COMMENT 'Compressed block length',
+  `message_count` int NOT NULL COMMENT 'Messages in the block',
+  `first_created_at` datetime NULL DEFAULT NULL COMMENT 'Creation time of the first message',
+  `last_created_at` datetime NULL DEFAULT NULL COMMENT 'Creation time of the last message',
+  `archived_at` datetime NULL DEFAULT NULL COMMENT 'Archive time',
+  PRIMARY KEY (`id`) USING BTREE,
+  INDEX `idx_archive_session`(`session_id` ASC, `first_created_at` ASC) USING BTREE,
+  INDEX `idx_archive_user`(`user_id` ASC) USING BTREE
+) ENGINE = InnoDB AUTO_INCREMENT = 1 CHARACTER SET = utf8mb4 COLLATE = utf8mb4_unicode_ci COMMENT = 'Message Archive Block Index Table' ROW_FORMAT = Dynamic;
+
 -- ----------------------------
 -- Table structure for sys_file_info
 -- ----------------------------